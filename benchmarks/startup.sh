@@ -0,0 +1,73 @@
+#!/usr/bin/env bash
+# Startup and first-script latency of the CLI: how long -h takes to exit, and how long until the first line
+# samples/test.glang prints arrives. Compares the plain jar, the jar with the class data sharing archive and
+# the native executable, variants that were not built are skipped:
+#   mvn -P cds package           (target/glang.jsa)
+#   mvn -P native package        (JAVA_HOME must be GraalVM for JDK 21)
+# Usage: benchmarks/startup.sh [runs]
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+RUNS=${1:-20}
+JAR=$PWD/target/glang-interpreter-1.0.jar
+ARCHIVE=$PWD/target/glang.jsa
+NATIVE=$PWD/target/glang
+JAVA=${JAVA_HOME:+$JAVA_HOME/bin/}java
+
+# The sample reads Data.txt and appends to test.txt, so it runs in a scratch directory
+WORK=$(mktemp -d)
+trap 'rm -rf "$WORK"' EXIT
+cp samples/test.glang Data.txt "$WORK"
+cd "$WORK"
+
+# Milliseconds until the command exits
+startup() {
+    local start end
+    start=$(date +%s%N)
+    "$@" -h > /dev/null
+    end=$(date +%s%N)
+    echo $(((end - start) / 1000000))
+}
+
+# Milliseconds until the second line, the first one the program prints after <PROGRAM OUTPUT>
+first_output() {
+    local start end
+    start=$(date +%s%N)
+    "$@" -f test.glang 2>/dev/null | head -n 2 > /dev/null
+    end=$(date +%s%N)
+    echo $(((end - start) / 1000000))
+}
+
+# Median and minimum of the numbers on stdin
+summary() {
+    local sorted
+    sorted=$(sort -n)
+    printf 'median %4d ms   min %4d ms' "$(echo "$sorted" | sed -n "$(((RUNS + 1) / 2))p")" "$(echo "$sorted" | head -n 1)"
+}
+
+measure() {
+    local name=$1
+    shift
+    local startups=() outputs=()
+    for ((i = 0; i < RUNS; i++)); do
+        startups+=("$(startup "$@")")
+        outputs+=("$(first_output "$@")")
+        : > test.txt
+    done
+    printf '%-8s startup %s   first output %s   (%d runs)\n' "$name" \
+        "$(printf '%s\n' "${startups[@]}" | summary)" "$(printf '%s\n' "${outputs[@]}" | summary)" "$RUNS"
+}
+
+[[ -f $JAR ]] || { echo "Missing $JAR, run mvn package first" >&2; exit 1; }
+measure jar "$JAVA" -jar "$JAR"
+# The JVM ignores an archive built for another jar, as bin/glang does
+if [[ -f $ARCHIVE && $ARCHIVE -nt $JAR ]]; then
+    measure cds "$JAVA" -XX:SharedArchiveFile="$ARCHIVE" -jar "$JAR"
+else
+    echo "cds      skipped, $ARCHIVE not built for the current jar (mvn -P cds package)"
+fi
+if [[ -x $NATIVE ]]; then
+    measure native "$NATIVE"
+else
+    echo "native   skipped, $NATIVE not built (mvn -P native package)"
+fi
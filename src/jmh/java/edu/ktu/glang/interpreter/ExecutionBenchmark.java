@@ -0,0 +1,102 @@
+package edu.ktu.glang.interpreter;
+
+import edu.ktu.glang.interpreter.node.ProgramNode;
+import org.antlr.v4.runtime.CharStreams;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutionBenchmark {
+
+    private static final int ITERATIONS = 100_000;
+
+    private static final String FOR_LOOP = """
+            int sum = 0;
+            for (int i = 0; i < %d; i++) {
+                sum += 1;
+            }
+            print(sum);
+            """.formatted(ITERATIONS);
+
+    private static final String FIBONACCI = """
+            @nomemo
+            func fib(n) {
+                if (n < 2) {
+                    return n;
+                }
+                return fib(n - 1) + fib(n - 2);
+            }
+            print(fib(25));
+            """;
+
+    private static final int CALLS = 1000;
+
+    // Each call nests 100 or 1,000 frames deep, below and past what the calling thread holds itself
+    private static final String RECURSION = """
+            @nomemo
+            func depth(n) {
+                if (n == 0) {
+                    return 0;
+                }
+                return 1 + depth(n - 1);
+            }
+            int total = 0;
+            for (int i = 0; i < %d; i++) {
+                total = total + depth(%d);
+            }
+            print(total);
+            """;
+
+    private ProgramNode forLoop;
+    private ProgramNode fibonacci;
+    private ProgramNode recursion100;
+    private ProgramNode recursion1000;
+
+    @Setup
+    public void setUp() {
+        forLoop = compile(FOR_LOOP);
+        fibonacci = compile(FIBONACCI);
+        recursion100 = compile(RECURSION.formatted(CALLS, 100));
+        recursion1000 = compile(RECURSION.formatted(CALLS, 1000));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITERATIONS)
+    public String forLoopIteration() {
+        return execute(forLoop);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public String recursiveFib25() {
+        return execute(fibonacci);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CALLS)
+    public String recursionDepth100() {
+        return execute(recursion100);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CALLS)
+    public String recursionDepth1000() {
+        return execute(recursion1000);
+    }
+
+    static ProgramNode compile(String source) {
+        return new ProgramCompiler(new SymbolTable()).compile(GLangInterpreter.parse(CharStreams.fromString(source)));
+    }
+
+    static String execute(ProgramNode program) {
+        SymbolTable symbolTable = new SymbolTable();
+        symbolTable.bind(program.getGlobals());
+        return new InterpreterVisitor(symbolTable).execute(program);
+    }
+}
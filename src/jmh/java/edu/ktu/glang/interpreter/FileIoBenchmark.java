@@ -0,0 +1,76 @@
+package edu.ktu.glang.interpreter;
+
+import edu.ktu.glang.interpreter.node.ProgramNode;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileIoBenchmark {
+
+    private static final int LINES = 1000;
+
+    @Param({"LINE", "SIZE", "END"})
+    private String flushPolicy;
+
+    private Path directory;
+    private Path output;
+    private ProgramNode printf;
+    private ProgramNode readf;
+
+    @Setup
+    public void setUp() throws IOException {
+        System.setProperty("glang.printf.flush", flushPolicy);
+        directory = Files.createTempDirectory("glang-io");
+        output = directory.resolve("out.txt");
+        Path input = directory.resolve("in.txt");
+        Files.writeString(input, "first line\nsecond line\n");
+
+        printf = ExecutionBenchmark.compile("""
+                for (int i = 0; i < %d; i++) {
+                    printf("%s", i);
+                }
+                """.formatted(LINES, path(output)));
+        readf = ExecutionBenchmark.compile("""
+                string line = readf("%s");
+                """.formatted(path(input)));
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() throws IOException {
+        Files.deleteIfExists(output);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(LINES)
+    public String printfLine() {
+        return ExecutionBenchmark.execute(printf);
+    }
+
+    @Benchmark
+    public String readfLine() {
+        return ExecutionBenchmark.execute(readf);
+    }
+
+    private static String path(Path path) {
+        return path.toAbsolutePath().toString().replace('\\', '/');
+    }
+}
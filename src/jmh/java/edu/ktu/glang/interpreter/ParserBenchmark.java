@@ -0,0 +1,90 @@
+package edu.ktu.glang.interpreter;
+
+import edu.ktu.glang.GLangLexer;
+import edu.ktu.glang.GLangParser;
+import edu.ktu.glang.interpreter.node.ProgramNode;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.CommonTokenStream;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+
+    // 10 lines covering declarations, loops, conditions, functions and records
+    private static final String BLOCK = """
+            func add%1$d(a, b) { int c%1$d = a + b * 2; return c%1$d; }
+            int x%1$d = add%1$d(1, 2);
+            string s%1$d = "text";
+            for (int i%1$d = 0; i%1$d < 10; i%1$d++) { x%1$d += 1; }
+            if (x%1$d >= 3) { print(x%1$d); } else { print(s%1$d); }
+            switch (x%1$d) { case 1: print(1); default: print(2); }
+            users%1$d = [{ name = "Alice", age = 25 }, { name = "Bob", age = 30 }];
+            let rules%1$d = [{ type = "string", property = "name", value = "Alice" }];
+            let result%1$d = ZenFilter(users%1$d, rules%1$d);
+            print(result%1$d);
+            """;
+
+    @Param({"1000", "10000"})
+    private int lines;
+
+    private String source;
+    private Path directory;
+    private Path precompiled;
+
+    @Setup
+    public void setUp() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < lines / 10; i++) {
+            builder.append(BLOCK.formatted(i));
+        }
+        source = builder.toString();
+
+        directory = Files.createTempDirectory("glang-parser");
+        Path file = Files.writeString(directory.resolve("generated.glang"), source);
+        precompiled = ProgramFile.pathOf(file);
+        ProgramFile.write(compile(), file, precompiled);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (var files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public int lex() {
+        CommonTokenStream tokens = new CommonTokenStream(new GLangLexer(CharStreams.fromString(source)));
+        tokens.fill();
+        return tokens.size();
+    }
+
+    @Benchmark
+    public GLangParser.ProgramContext parse() {
+        return GLangInterpreter.parse(CharStreams.fromString(source));
+    }
+
+    // Parsing and lowering, which running a .glc file skips
+    @Benchmark
+    public ProgramNode compile() {
+        return new ProgramCompiler(new SymbolTable()).compile(GLangInterpreter.parse(CharStreams.fromString(source)));
+    }
+
+    @Benchmark
+    public ProgramNode loadPrecompiled() throws IOException {
+        return ProgramFile.read(precompiled);
+    }
+}
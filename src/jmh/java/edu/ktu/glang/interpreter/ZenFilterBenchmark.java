@@ -0,0 +1,65 @@
+package edu.ktu.glang.interpreter;
+
+import edu.ktu.glang.interpreter.record.RecordArray;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ZenFilterBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int records;
+
+    @Param({"scan", "parallel", "indexed", "columnar"})
+    private String mode;
+
+    private List<Map<String, Object>> users;
+    private List<Map<String, Object>> rules;
+    private InterpreterVisitor interpreter;
+
+    @Setup
+    public void setUp() {
+        users = new GLangArray<>(records);
+        for (int i = 0; i < records; i++) {
+            Map<String, Object> user = new HashMap<>();
+            user.put("name", "User" + (i % 1000));
+            user.put("age", 18 + i % 60);
+            user.put("active", i % 2 == 0);
+            users.add(user);
+        }
+        if (mode.equals("columnar")) {
+            Object[][] columns = new Object[3][records];
+            for (int i = 0; i < records; i++) {
+                columns[0][i] = users.get(i).get("name");
+                columns[1][i] = users.get(i).get("age");
+                columns[2][i] = users.get(i).get("active");
+            }
+            users = RecordArray.of(new String[]{"name", "age", "active"}, columns);
+        }
+        rules = List.of(
+                rule("int", "age", "30"),
+                rule("bool", "active", "true"),
+                rule("string", "name", "user12"));
+        interpreter = new InterpreterVisitor(new SymbolTable());
+        interpreter.getZenFilter().setIndexThreshold(mode.equals("indexed") ? 0 : Integer.MAX_VALUE);
+        interpreter.getZenFilter().setParallelThreshold(mode.equals("parallel") ? 0 : Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> filter() {
+        return interpreter.zenFilter(users, rules);
+    }
+
+    private static Map<String, Object> rule(String type, String property, String value) {
+        return Map.of("type", type, "property", property, "value", value);
+    }
+}
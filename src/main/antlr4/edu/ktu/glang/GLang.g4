@@ -15,6 +15,7 @@ statement
  | ifStatement
  | printStatement ';'
  | forLoop
+ | forEachLoop
  | switchStatement
  | increment ';'
  | functionCall ';'
@@ -30,7 +31,7 @@ statement
  printFileStatement : PRINTFILE '('STRING','expression')' ;
 
 
-readfStatement : TYPE ID '=' READF '(' STRING ')' | ID '=' READF '(' STRING ')';
+readfStatement : TYPE ID '=' READF '(' STRING (',' STRING)? ')' | ID '=' READF '(' STRING (',' STRING)? ')';
 
 READF : 'readf';
  
@@ -68,9 +69,11 @@ printStatement : PRINT '(' expression ')' ;
 //--------------------------------------------
 
 functionDeclaration
- : 'func' ID '(' paramList? ')' functionBody
+ : annotation* 'func' ID '(' paramList? ')' functionBody
  ;
 
+annotation : '@' ID ;
+
 paramList : ID (',' ID)* ;
 
 functionBody : '{' statement* '}' ; //TODO cannot return from the middle of the function
@@ -95,6 +98,8 @@ forLoop
 initialization: variableDeclaration | assignment ;
 condition: expression relationOp expression ;
 increment: ID ('++' | '--' | ('=' ID intAddOp INT) | ('+=' INT) | ('-=' INT)) ;
+
+forEachLoop : 'for' '(' TYPE? ID ':' expression ')' '{' statement* '}' ;
 //-------------------------------------------
 switchStatement: 'switch' '(' expression ')' '{' caseStatement* defaultStatement? '}';
 
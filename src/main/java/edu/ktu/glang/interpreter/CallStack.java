@@ -0,0 +1,204 @@
+package edu.ktu.glang.interpreter;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+import edu.ktu.glang.interpreter.exception.GLangException;
+import edu.ktu.glang.interpreter.node.FunctionNode;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Frames of the function calls in progress, kept on the heap. Nested calls still recurse on JVM stacks, but
+ * recursion is limited by a frame budget ({@code glang.maxFrames}) rather than by the stack of the calling
+ * thread: once that thread holds {@code glang.callerFrames} nested calls (by default, a number that fits in
+ * the {@code -Xss} thread stack size), the next call continues on a segment thread with a large stack of its
+ * own while the calling thread waits. Segment threads are pooled, so deep calls repeated by a program do not
+ * start a thread each, and there are at most {@code glang.segmentThreads} of them.
+ */
+public class CallStack {
+
+    // Nested calls any thread runs itself; the stack size is only looked up for programs nesting deeper
+    private static final int MIN_CALLER_FRAMES = 32;
+    private static final int SEGMENT_FRAMES = 8192;
+    private static final long SEGMENT_STACK_SIZE = 64L * 1024 * 1024;
+    private static final int SEGMENT_THREADS = Integer.getInteger("glang.segmentThreads", 64);
+
+    // Idle segment threads are kept for a while and end on their own
+    private static final ExecutorService SEGMENTS = new ThreadPoolExecutor(0, SEGMENT_THREADS,
+            30, TimeUnit.SECONDS, new SynchronousQueue<>(), task -> {
+        Thread thread = new Thread(null, task, "glang-stack", SEGMENT_STACK_SIZE);
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private GLangScope[] frames = new GLangScope[16];
+    private int depth;
+    // Depth at which the current thread started holding frames
+    private int segmentStart;
+    private volatile int maxDepth = Integer.getInteger("glang.maxFrames", 100_000);
+
+    public void push(GLangScope frame, String name) {
+        if (depth == maxDepth) {
+            throw new GLangException(String.format("Stack overflow: more than %d nested calls in '%s'.", maxDepth, name));
+        }
+        if (depth == frames.length) {
+            frames = Arrays.copyOf(frames, depth * 2);
+        }
+        frames[depth++] = frame;
+    }
+
+    // A tail call replaces the frame of the caller
+    public void replace(GLangScope frame) {
+        frames[depth - 1] = frame;
+    }
+
+    public void pop() {
+        frames[--depth] = null;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public GLangScope getFrame(int index) {
+        return frames[index];
+    }
+
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    public void setMaxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    // Runs the function in the frame on top, on a segment thread when this one already holds a full segment
+    public void invoke(FunctionNode function, GLangScope frame) {
+        int frames = depth - segmentStart;
+        if (frames < MIN_CALLER_FRAMES || frames < (segmentStart == 0 ? CallerFrames.COUNT : SEGMENT_FRAMES)) {
+            function.invoke(frame);
+            return;
+        }
+
+        int callerSegmentStart = segmentStart;
+        Segment segment = new Segment(function, frame);
+        segmentStart = depth;
+        boolean interrupted;
+        try {
+            try {
+                SEGMENTS.execute(segment);
+            } catch (RejectedExecutionException e) {
+                throw new GLangException(String.format("Stack overflow: no segment thread left for '%s', all %d are"
+                        + " in use.", function.getName(), SEGMENT_THREADS));
+            }
+            interrupted = segment.await();
+        } finally {
+            segmentStart = callerSegmentStart;
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        if (segment.failure instanceof RuntimeException exception) {
+            throw exception;
+        } else if (segment.failure instanceof Error error) {
+            throw error;
+        }
+    }
+
+    // Loaded by the first program nesting more than MIN_CALLER_FRAMES calls, so others do not pay for the lookup
+    private static final class CallerFrames {
+
+        static final int COUNT = Math.max(MIN_CALLER_FRAMES, Integer.getInteger("glang.callerFrames", callerFrames()));
+
+        // 256 frames fit in the default 1 MiB stack, also before the JIT has compiled the nodes
+        private static int callerFrames() {
+            try {
+                String kilobytes = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class)
+                        .getVMOption("ThreadStackSize").getValue();
+                int size = Integer.parseInt(kilobytes);
+                // 0 stands for the default of the operating system
+                return size > 0 ? size / 4 : 256;
+            } catch (RuntimeException | LinkageError e) {
+                // Not a HotSpot VM, or a native image without the management beans
+                return 256;
+            }
+        }
+    }
+
+    // Nested calls run on a pooled thread; a lock rather than a monitor, so a waiting virtual thread is not pinned
+    private static final class Segment implements Runnable {
+
+        private final FunctionNode function;
+        private final GLangScope frame;
+        private final Lock lock = new ReentrantLock();
+        private final Condition ended = lock.newCondition();
+        private Thread thread;
+        private boolean cancelled;
+        private boolean done;
+        private Throwable failure;
+
+        Segment(FunctionNode function, GLangScope frame) {
+            this.function = function;
+            this.frame = frame;
+        }
+
+        @Override
+        public void run() {
+            lock.lock();
+            try {
+                thread = Thread.currentThread();
+                if (cancelled) {
+                    thread.interrupt();
+                }
+            } finally {
+                lock.unlock();
+            }
+            try {
+                function.invoke(frame);
+            } catch (Throwable e) {
+                failure = e;
+            } finally {
+                lock.lock();
+                try {
+                    thread = null;
+                    done = true;
+                    ended.signalAll();
+                } finally {
+                    lock.unlock();
+                }
+                // The thread goes back to the pool, so an interrupt meant for this segment must not stay set
+                Thread.interrupted();
+            }
+        }
+
+        // The frames stay in use until the segment ends, so an interrupt is passed on and waited out
+        boolean await() {
+            boolean interrupted = false;
+            lock.lock();
+            try {
+                while (!done) {
+                    try {
+                        ended.await();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                        cancelled = true;
+                        if (thread != null) {
+                            thread.interrupt();
+                        }
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+            return interrupted;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package edu.ktu.glang.interpreter;
+
+import edu.ktu.glang.interpreter.filter.PropertyIndex;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+
+public class GLangArray<E> extends ArrayList<E> {
+
+    private transient Map<String, PropertyIndex> indexes;
+    private transient int indexedModCount;
+
+    public GLangArray() {
+    }
+
+    public GLangArray(int initialCapacity) {
+        super(initialCapacity);
+    }
+
+    // Indexes are built on first use and dropped as soon as the array is modified
+    public synchronized PropertyIndex getIndex(String property) {
+        if (indexes == null || indexedModCount != modCount) {
+            indexes = new HashMap<>();
+            indexedModCount = modCount;
+        }
+        return indexes.computeIfAbsent(property, p -> PropertyIndex.build(this, p));
+    }
+}
@@ -0,0 +1,176 @@
+package edu.ktu.glang.interpreter;
+
+import edu.ktu.glang.interpreter.output.OutputSink;
+import edu.ktu.glang.interpreter.output.StringOutputSink;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs scripts concurrently, each on a virtual thread of its own with its own symbol table and interpreter.
+ * Scripts share only the cache of compiled programs, which are immutable. A script that runs past its
+ * timeout or whose future is cancelled is interrupted and stops at its next loop iteration or call.
+ */
+public class GLangEngine implements AutoCloseable {
+
+    public enum Status {
+        COMPLETED, FAILED, TIMED_OUT, CANCELLED
+    }
+
+    // Output is null unless the script completed and was not streamed to a sink, error is set when it failed
+    public record Result(Status status, String output, Throwable error) {
+    }
+
+    private final ProgramCache programCache;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, runnable -> {
+        Thread thread = new Thread(runnable, "glang-engine-timer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public GLangEngine() {
+        this(new ProgramCache(Integer.getInteger("glang.programCache.size", 64)));
+    }
+
+    public GLangEngine(ProgramCache programCache) {
+        this.programCache = programCache;
+        // Timeouts of scripts that complete in time are dropped instead of waiting in the queue
+        timer.setRemoveOnCancelPolicy(true);
+    }
+
+    // The future returns the output of the script; a null timeout lets it run until it ends or is cancelled
+    public Future<String> submit(String program, Duration timeout) {
+        Script<String> script = new Script<>(() -> execute(program), timeout);
+        executor.execute(script);
+        return script;
+    }
+
+    // Runs the script with its output going to the sink as it is printed and waits until it has stopped, also
+    // when it timed out or the waiting thread was interrupted, so that nothing reaches the sink afterwards
+    public Result run(String program, OutputSink output, Duration timeout) throws InterruptedException {
+        Script<String> script = new Script<>(() -> {
+            execute(program, output);
+            return null;
+        }, timeout);
+        executor.execute(script);
+        try {
+            return result(script);
+        } catch (InterruptedException e) {
+            script.cancel(true);
+            throw e;
+        } finally {
+            script.awaitStopped();
+        }
+    }
+
+    // Runs the scripts concurrently and waits for all of them, results are in the order of the scripts
+    public List<Result> runAll(List<String> programs, Duration timeout) throws InterruptedException {
+        List<Future<String>> futures = new ArrayList<>(programs.size());
+        for (String program : programs) {
+            futures.add(submit(program, timeout));
+        }
+        List<Result> results = new ArrayList<>(futures.size());
+        for (Future<String> future : futures) {
+            results.add(result(future));
+        }
+        return results;
+    }
+
+    public ProgramCache getProgramCache() {
+        return programCache;
+    }
+
+    @Override
+    public void close() {
+        executor.close();
+        timer.shutdownNow();
+    }
+
+    private static Result result(Future<String> future) throws InterruptedException {
+        try {
+            return new Result(Status.COMPLETED, future.get(), null);
+        } catch (CancellationException e) {
+            return new Result(((Script<?>) future).timedOut ? Status.TIMED_OUT : Status.CANCELLED, null, null);
+        } catch (ExecutionException e) {
+            return new Result(Status.FAILED, null, e.getCause());
+        }
+    }
+
+    private String execute(String program) {
+        StringOutputSink output = new StringOutputSink();
+        execute(program, output);
+        return output.toString();
+    }
+
+    private void execute(String program, OutputSink output) {
+        GLangInterpreter.execute(programCache, program, output);
+    }
+
+    private final class Script<T> extends FutureTask<T> {
+
+        private final Duration limit;
+        private final CountDownLatch stopped = new CountDownLatch(1);
+        private volatile ScheduledFuture<?> timeout;
+        private volatile boolean timedOut;
+
+        private Script(Callable<T> program, Duration limit) {
+            super(program);
+            this.limit = limit;
+        }
+
+        // The timeout counts from when the script starts running, not from when it was submitted
+        @Override
+        public void run() {
+            try {
+                if (limit != null) {
+                    timeout = timer.schedule(this::timeOut, limit.toNanos(), TimeUnit.NANOSECONDS);
+                }
+                super.run();
+            } finally {
+                stopped.countDown();
+            }
+        }
+
+        // A cancelled future is done at once, while the script runs on until its next checkpoint
+        private void awaitStopped() {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    stopped.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        private void timeOut() {
+            timedOut = !isDone();
+            cancel(true);
+        }
+
+        @Override
+        protected void done() {
+            ScheduledFuture<?> timeout = this.timeout;
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+        }
+    }
+}
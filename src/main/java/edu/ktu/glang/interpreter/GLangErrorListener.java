@@ -3,15 +3,23 @@ package edu.ktu.glang.interpreter;
 import org.antlr.v4.runtime.BaseErrorListener;
 import org.antlr.v4.runtime.RecognitionException;
 import org.antlr.v4.runtime.Recognizer;
+import org.antlr.v4.runtime.Token;
 
 public class GLangErrorListener extends BaseErrorListener {
 
+    private final boolean acceptsPartialTree;
     private String errorMsg = null;
     private boolean isPartialTree = false;
 
+    // Only the REPL waits for more input; anywhere else, input that ends too early is a syntax error
+    public GLangErrorListener(boolean acceptsPartialTree) {
+        this.acceptsPartialTree = acceptsPartialTree;
+    }
+
     @Override
     public void syntaxError(Recognizer<?, ?> recognizer, Object offendingSymbol, int line, int charPositionInLine, String msg, RecognitionException e) {
-        if (msg.startsWith("mismatched input '<EOF>'") || msg.matches("missing '.*' at '<EOF>'")) {
+        // Any error at the end of the input means the input stopped in the middle of a statement
+        if (acceptsPartialTree && offendingSymbol instanceof Token token && token.getType() == Token.EOF) {
             isPartialTree = true;
         } else {
             errorMsg = "Syntax error at line " + line + ", position " + charPositionInLine + ": " + msg;
@@ -2,22 +2,82 @@ package edu.ktu.glang.interpreter;
 
 import edu.ktu.glang.GLangLexer;
 import edu.ktu.glang.GLangParser;
+import edu.ktu.glang.interpreter.bytecode.BytecodeCompiler;
+import edu.ktu.glang.interpreter.exception.GLangException;
+import edu.ktu.glang.interpreter.metrics.GLangMetrics;
+import edu.ktu.glang.interpreter.metrics.ParseEvent;
+import edu.ktu.glang.interpreter.metrics.ProgramCacheEvent;
+import edu.ktu.glang.interpreter.node.ProgramNode;
+import edu.ktu.glang.interpreter.output.OutputSink;
+import edu.ktu.glang.interpreter.output.StringOutputSink;
+import edu.ktu.glang.interpreter.output.WriterOutputSink;
+import edu.ktu.glang.interpreter.server.GLangServer;
+import org.antlr.v4.runtime.BailErrorStrategy;
 import org.antlr.v4.runtime.CharStream;
 import org.antlr.v4.runtime.CharStreams;
 import org.antlr.v4.runtime.CommonTokenStream;
+import org.antlr.v4.runtime.DefaultErrorStrategy;
+import org.antlr.v4.runtime.TokenSource;
+import org.antlr.v4.runtime.atn.PredictionMode;
 import org.antlr.v4.runtime.misc.ParseCancellationException;
-import org.antlr.v4.runtime.tree.ParseTree;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Objects;
 
 public class GLangInterpreter {
+    private static final ProgramCache PROGRAM_CACHE = new ProgramCache(Integer.getInteger("glang.programCache.size", 64));
+
+    // Touches every grammar rule so that the lexer and parser DFA caches, which are static, get filled; extend it
+    // whenever the grammar grows
+    static final String WARM_UP_PROGRAM = """
+            @memo
+            func add(a, b) { int c = a + b * 2 - (a / b) % 3; return c; }
+            @nomemo
+            func noop() { return; }
+            int i = 0;
+            bool flag = true;
+            string text = "text";
+            i = add(1, 2);
+            noop();
+            for (int j = 0; j < 10; j++) { i += 1; }
+            for (i = 0; i <= 10; i = i + 2) { i -= 1; }
+            for (i = 10; i > 0; i--) { }
+            if (i == 1) { print(i); } else { print(text); }
+            if (i != 1) { } else { }
+            if (i >= 2) { }
+            switch (i) { case 1: print(1); case 2: default: print(2); }
+            users = [{ name = "Alice", age = 25 }, { name = "Bob", age = 30 }];
+            numbers = [1, 2, i];
+            for (user : users) { }
+            records = load("users.jsonl");
+            let rules = [{ type = "string", property = "name", value = "Alice" }];
+            let result = ZenFilter(users, rules);
+            print(result);
+            printf("out.txt", text);
+            string line = readf("in.txt");
+            line = readf("in.txt");
+            lines = readf("in.txt", "lines");
+            for (string row : lines) { print(row); }
+            // Comments are skipped
+            print(add(i, 1))
+            """;
+
     public static void main(String[] args) {
         // Initialize variables to hold parsed arguments
         String filename = null;
         boolean isInteractiveMode = false;
+        boolean isCompiled = false;
+        boolean isMemoReport = false;
+        boolean isDump = false;
+        boolean isCompile = false;
+        boolean isProfile = false;
+        String serverAddress = null;
 
         // Loop through program arguments
         for (int i = 0; i < args.length; i++) {
@@ -35,9 +95,35 @@ public class GLangInterpreter {
                         System.exit(1);
                     }
                 }
+                case "-s" -> {
+                    // If the -s flag is provided, serve scripts on the given port or socket file
+                    if (i + 1 < args.length) {
+                        serverAddress = args[i + 1];
+                        i++;
+                    } else {
+                        System.err.println("Error: Missing port or socket path argument for -s flag.");
+                        printHelp();
+                        System.exit(1);
+                    }
+                }
                 case "-i" ->
                     // If the -i flag is provided, enable interactive mode
                         isInteractiveMode = true;
+                case "-c" ->
+                    // If the -c flag is provided, compile the program to JVM bytecode instead of interpreting it
+                        isCompiled = true;
+                case "-m" ->
+                    // If the -m flag is provided, report the memoization hit rate of every pure function when the program ends
+                        isMemoReport = true;
+                case "-compile" ->
+                    // If the -compile flag is provided, write the compiled program to a .glc file instead of running it
+                        isCompile = true;
+                case "-prof" ->
+                    // If the -prof flag is provided, profile the program and report where its time went when it ends
+                        isProfile = true;
+                case "-d" ->
+                    // If the -d flag is provided, print the optimized program before running it
+                        isDump = true;
                 case "-h" -> {
                     // If the -h flag is provided, print the help information and exit the program
                     printHelp();
@@ -52,11 +138,24 @@ public class GLangInterpreter {
             }
         }
 
+        if (isCompile && filename == null) {
+            System.err.println("Error: Missing -f filename argument for -compile flag.");
+            printHelp();
+            System.exit(1);
+        }
+
         try {
-            if (isInteractiveMode) {
+            if (serverAddress != null || Boolean.getBoolean("glang.jmx")) {
+                GLangMetrics.register();
+            }
+            if (serverAddress != null) {
+                serve(serverAddress);
+            } else if (isCompile) {
+                System.out.println("Compiled " + filename + " to " + compileFile(filename));
+            } else if (isInteractiveMode) {
                 processInteractiveInput();
             } else {
-                processFile(filename);
+                processFile(filename, new Options(isCompiled, isMemoReport, isDump, isProfile));
             }
         } catch (Exception e) {
             e.printStackTrace();
@@ -65,65 +164,228 @@ public class GLangInterpreter {
     }
 
     private static void printHelp() {
-        System.out.println("Usage: java ArgumentParser [-f filename] [-i] [-h]");
+        System.out.println("Usage: java ArgumentParser [-f filename] [-i] [-s address] [-c] [-compile] [-m] [-prof] [-d] [-h]");
         System.out.println("-f filename\tPass a file as an argument");
         System.out.println("-i\t\tEnable interactive mode");
+        System.out.println("-s address\tServe scripts on a localhost TCP port or a Unix socket path");
+        System.out.println("-c\t\tCompile the file to JVM bytecode before running it");
+        System.out.println("-compile\tWrite the compiled program to a .glc file, which -f runs without parsing it");
+        System.out.println("-m\t\tReport the memoization hit rate of pure functions");
+        System.out.println("-prof\t\tProfile lines, functions and loops, and write collapsed stacks for flame graphs");
+        System.out.println("-d\t\tPrint the optimized program to stderr before interpreting it");
         System.out.println("-h\t\tDisplay help information");
     }
 
     private static void processInteractiveInput() throws IOException {
-        SymbolTable symbolTable = new SymbolTable();
+        warmUp();
+        // Functions and variables declared in earlier inputs stay available
+        Writer writer = new OutputStreamWriter(System.out, System.out.charset());
+        InteractiveSession session = new InteractiveSession(new WriterOutputSink(writer, true));
 
         BufferedReader reader = new BufferedReader(new InputStreamReader(System.in));
-        String input = "";
         while (true) {
             System.out.print("> ");
             String line = reader.readLine();
-            if (Objects.equals(line, "exit")) {
+            if (line == null || Objects.equals(line, "exit")) {
                 break;
             }
-            input += line + "\n";
             try {
-                String output = executeCode(symbolTable, CharStreams.fromString(input));
-                if (output != null) {
-                    input = "";
-                    if (!output.equals("")) {
-                        System.out.println(output);
-                    }
-                }
+                session.execute(line);
             } catch (Exception e) {
                 e.printStackTrace();
                 System.out.println("<ERROR> " + e.getMessage());
-                input = "";
             }
         }
     }
 
+    private static void serve(String address) throws IOException {
+        warmUp();
+        try (GLangServer server = new GLangServer(GLangServer.address(address), PROGRAM_CACHE)) {
+            System.err.println("Listening on " + server.getAddress());
+            server.serve();
+        }
+    }
+
+    // How a file is run, as chosen on the command line
+    public record Options(boolean compiled, boolean memoReport, boolean dump, boolean profile) {
+
+        public static final Options DEFAULT = new Options(false, false, false, false);
+    }
+
     public static void processFile(String filename) {
+        processFile(filename, Options.DEFAULT);
+    }
+
+    public static void processFile(String filename, Options options) {
         SymbolTable symbolTable = new SymbolTable();
         try {
-            String output = executeCode(symbolTable, CharStreams.fromFileName(filename));
+            ProgramNode program = null;
+            GLangParser.ProgramContext tree = null;
+            if (options.profile() && (options.compiled() || filename.endsWith(ProgramFile.EXTENSION))) {
+                // Profiling is compiled into the program, which needs the source and the interpreter
+                throw new GLangException("-prof profiles interpreted programs compiled from their source.");
+            }
+            if (filename.endsWith(ProgramFile.EXTENSION)) {
+                // Precompiled programs run as they were lowered, without being parsed
+                if (options.compiled()) {
+                    throw new GLangException("-c compiles the source of a program and cannot run " + filename + ".");
+                }
+                program = ProgramFile.read(Path.of(filename));
+                symbolTable.bind(program.getGlobals());
+            } else {
+                tree = parse(CharStreams.fromFileName(filename));
+            }
             System.out.println("<PROGRAM OUTPUT>");
-            System.out.println(output);
+            // Output is streamed while the program runs instead of being printed when it ends
+            Writer writer = new OutputStreamWriter(System.out, System.out.charset());
+            InterpreterVisitor interpreter = new InterpreterVisitor(symbolTable,
+                    new WriterOutputSink(writer, System.console() != null));
+            if (program != null) {
+                if (options.dump()) {
+                    System.err.println(program);
+                }
+                interpreter.execute(program);
+            } else {
+                run(interpreter, tree, options);
+            }
+            System.out.println();
+            if (options.memoReport()) {
+                System.err.print(interpreter.getMemoTable().report());
+            }
+            if (options.profile()) {
+                reportProfile(interpreter.getProfiler(), Path.of(filename));
+            }
         } catch (Exception e) {
             e.printStackTrace();
             System.out.println("<ERROR> " + e.getMessage());
         }
     }
 
+    // Prints the profile to stderr and writes its collapsed stacks next to the source, for flame graph tools
+    private static void reportProfile(Profiler profiler, Path source) throws IOException {
+        System.err.print(profiler.report(Files.readAllLines(source)));
+        String name = source.getFileName().toString();
+        Path stacks = source.resolveSibling(name.replaceFirst("\\.[^.]*$", "") + ".collapsed");
+        try (Writer writer = Files.newBufferedWriter(stacks)) {
+            profiler.writeCollapsedStacks(writer);
+        }
+        System.err.println("Collapsed stacks written to " + stacks);
+    }
+
+    // Writes the lowered program to a .glc file next to the source, which -f runs without parsing it
+    public static Path compileFile(String filename) throws IOException {
+        Path source = Path.of(filename);
+        GLangParser.ProgramContext tree = parse(CharStreams.fromPath(source));
+        Path target = ProgramFile.pathOf(source);
+        ProgramFile.write(new ProgramCompiler(new SymbolTable()).compile(tree), source, target);
+        return target;
+    }
+
     public static String execute(String program) {
-        return executeCode(new SymbolTable(), CharStreams.fromString(program));
+        StringOutputSink output = new StringOutputSink();
+        execute(program, output);
+        return output.toString();
+    }
+
+    // Streams the output of the program to the sink
+    public static void execute(String program, OutputSink output) {
+        execute(PROGRAM_CACHE, program, output);
+    }
+
+    // Only the cached programs are shared, every execution gets its own symbol table and interpreter
+    public static void execute(ProgramCache cache, String program, OutputSink output) {
+        SymbolTable symbolTable = new SymbolTable();
+        ProgramCacheEvent event = GLangMetrics.isRecording() ? new ProgramCacheEvent() : null;
+        boolean[] miss = new boolean[1];
+        ProgramNode compiled;
+        try {
+            compiled = cache.getOrCompile(program, source -> {
+                miss[0] = true;
+                return new ProgramCompiler(symbolTable).compile(parse(CharStreams.fromString(source)));
+            });
+        } finally {
+            GLangMetrics.get().programLookedUp(!miss[0]);
+            if (event != null) {
+                event.commit(!miss[0], program.length());
+            }
+        }
+        // A cached program was compiled against another, equally fresh, symbol table
+        symbolTable.bind(compiled.getGlobals());
+        new InterpreterVisitor(symbolTable, output).execute(compiled);
     }
 
-    private static String executeCode(SymbolTable symbolTable, CharStream input) {
-        GLangLexer lexer = new GLangLexer(input);
-        CommonTokenStream tokens = new CommonTokenStream(lexer);
+    public static void warmUp() {
+        parse(CharStreams.fromString(WARM_UP_PROGRAM));
+    }
+
+    public static ProgramCache getProgramCache() {
+        return PROGRAM_CACHE;
+    }
+
+    public static String executeCompiled(String program) {
+        return executeCode(new SymbolTable(), CharStreams.fromString(program), true);
+    }
+
+    private static String executeCode(SymbolTable symbolTable, CharStream input, boolean compiled) {
+        GLangParser.ProgramContext tree = parse(input);
+        return run(new InterpreterVisitor(symbolTable, new StringOutputSink()), tree,
+                new Options(compiled, false, false, false));
+    }
+
+    private static String run(InterpreterVisitor interpreter, GLangParser.ProgramContext tree, Options options) {
+        SymbolTable symbolTable = interpreter.getSymbolTable();
+        if (options.compiled()) {
+            return new BytecodeCompiler(symbolTable).compile(tree).execute(interpreter);
+        }
+        ProgramNode program = new ProgramCompiler(symbolTable, ProgramCompiler.isOptimizing(), options.profile())
+                .compile(tree);
+        if (options.dump()) {
+            System.err.println(program);
+        }
+        return interpreter.execute(program);
+    }
+
+    static GLangParser.ProgramContext parse(CharStream input) {
+        return parse(new GLangLexer(input), false);
+    }
+
+    // With acceptsPartialTree, returns null when the input ends in the middle of a statement
+    static GLangParser.ProgramContext parse(TokenSource source, boolean acceptsPartialTree) {
+        ParseEvent event = GLangMetrics.isRecording() ? new ParseEvent() : null;
+        long start = System.nanoTime();
+        CommonTokenStream tokens = new CommonTokenStream(source);
         GLangParser parser = new GLangParser(tokens);
+        try {
+            return parse(tokens, parser, acceptsPartialTree);
+        } finally {
+            GLangMetrics.get().parsed(System.nanoTime() - start);
+            if (event != null) {
+                event.commit(tokens.size(), parser.getInterpreter().getPredictionMode() == PredictionMode.LL);
+            }
+        }
+    }
+
+    private static GLangParser.ProgramContext parse(CommonTokenStream tokens, GLangParser parser,
+                                                    boolean acceptsPartialTree) {
         parser.removeErrorListeners();
-        GLangErrorListener errorListener = new GLangErrorListener();
+
+        // SLL prediction is enough for almost every valid program; only fall back to full LL
+        // (and proper error reporting) when it fails
+        parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+        parser.setErrorHandler(new BailErrorStrategy());
+        try {
+            return parser.program();
+        } catch (ParseCancellationException e) {
+            tokens.seek(0);
+            parser.reset();
+        }
+
+        parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+        parser.setErrorHandler(new DefaultErrorStrategy());
+        GLangErrorListener errorListener = new GLangErrorListener(acceptsPartialTree);
         parser.addErrorListener(errorListener);
 
-        ParseTree tree = parser.program();
+        GLangParser.ProgramContext tree = parser.program();
 
         if (errorListener.isHasSyntaxError()) {
             throw new ParseCancellationException(errorListener.getErrorMsg());
@@ -131,8 +393,6 @@ public class GLangInterpreter {
         if (errorListener.isPartialTree()) {
             return null;
         }
-
-        InterpreterVisitor interpreter = new InterpreterVisitor(symbolTable);
-        return (String) interpreter.visit(tree);
+        return tree;
     }
 }
@@ -1,59 +1,96 @@
 package edu.ktu.glang.interpreter;
 
-import edu.ktu.glang.interpreter.exception.GLangVariableAlreadyDeclaredException;
-import edu.ktu.glang.interpreter.exception.GLangVariableNotDeclaredException;
-
-import java.util.HashMap;
-import java.util.Map;
+import edu.ktu.glang.interpreter.node.FunctionNode;
 
+/**
+ * Frame of a function call. Function parameters live in slots assigned by {@link ProgramCompiler},
+ * global variables in the slots of the {@link SymbolTable}. Integers are kept unboxed.
+ */
 public class GLangScope {
 
-    private final GLangScope parent;
-    private final Map<String, Object> symbols = new HashMap<>();
+    // Marks a slot whose value is held in the int array
+    private static final Object INT = new Object();
+
+    private final InterpreterVisitor interpreter;
+    private final SymbolTable globals;
+    private final Object[] slots;
+    private final int[] ints;
+
+    private Object returnValue;
+    private int returnInt;
+
+    // Set by a tail call: the caller runs the function in the new frame instead of this one returning
+    private FunctionNode tailCall;
+    private GLangScope tailFrame;
+
+    public GLangScope(InterpreterVisitor interpreter, int size) {
+        this.interpreter = interpreter;
+        this.globals = interpreter.getSymbolTable();
+        this.slots = new Object[size];
+        this.ints = new int[size];
+    }
+
+    public InterpreterVisitor getInterpreter() {
+        return interpreter;
+    }
+
+    public SymbolTable getGlobals() {
+        return globals;
+    }
+
+    public Object get(int slot) {
+        Object value = slots[slot];
+        return value == INT ? Integer.valueOf(ints[slot]) : value;
+    }
+
+    public void set(int slot, Object value) {
+        slots[slot] = value;
+    }
+
+    public boolean isInt(int slot) {
+        return slots[slot] == INT;
+    }
+
+    public int getInt(int slot) {
+        return ints[slot];
+    }
+
+    public void setInt(int slot, int value) {
+        slots[slot] = INT;
+        ints[slot] = value;
+    }
+
+    public Object getReturnValue() {
+        return returnValue == INT ? Integer.valueOf(returnInt) : returnValue;
+    }
+
+    public void setReturnValue(Object value) {
+        returnValue = value;
+    }
 
-    public GLangScope() {
-        this.parent = null;
+    public boolean isReturnInt() {
+        return returnValue == INT;
     }
 
-    public GLangScope(GLangScope parent) {
-        this.parent = parent;
+    public int getReturnInt() {
+        return returnInt;
     }
 
-    public void declareVariable(String variableName, Object value) {
-        if (isDeclared(variableName)) {
-            throw new GLangVariableAlreadyDeclaredException(variableName);
-        }
-        symbols.put(variableName, value);
+    public void setReturnInt(int value) {
+        returnValue = INT;
+        returnInt = value;
     }
 
-    boolean isDeclared(String variableName) {
-        if (symbols.containsKey(variableName)) {
-            return true;
-        }
-        return parent != null && parent.isDeclared(variableName);
+    public FunctionNode getTailCall() {
+        return tailCall;
     }
 
-    public void changeVariable(String variableName, Object value) {
-        if (!isDeclared(variableName)) {
-            throw new GLangVariableNotDeclaredException(variableName);
-        }
-        if (symbols.containsKey(variableName)) {
-            symbols.put(variableName, value);
-        } else {
-            assert parent != null;
-            parent.changeVariable(variableName, value);
-        }
+    public GLangScope getTailFrame() {
+        return tailFrame;
     }
 
-    public Object resolveVariable(String variableName) {
-        if (!isDeclared(variableName)) {
-            throw new GLangVariableNotDeclaredException(variableName);
-        }
-        if (symbols.containsKey(variableName)) {
-            return symbols.get(variableName);
-        } else {
-            assert parent != null;
-            return parent.resolveVariable(variableName);
-        }
+    public void setTailCall(FunctionNode function, GLangScope frame) {
+        tailCall = function;
+        tailFrame = frame;
     }
 }
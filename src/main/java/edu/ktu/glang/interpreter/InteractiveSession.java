@@ -0,0 +1,115 @@
+package edu.ktu.glang.interpreter;
+
+import edu.ktu.glang.GLangLexer;
+import edu.ktu.glang.GLangParser;
+import edu.ktu.glang.interpreter.output.OutputSink;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.ListTokenSource;
+import org.antlr.v4.runtime.Token;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * State of the interactive mode kept between inputs: the tokens of the statement being typed, the compiler
+ * that knows every declared function and the interpreter with every global variable. Each line is lexed
+ * once and appended to the pending tokens; only those are parsed, and only once their brackets are closed.
+ */
+public class InteractiveSession {
+
+    private final SymbolTable symbolTable = new SymbolTable();
+    private final ProgramCompiler compiler = new ProgramCompiler(symbolTable);
+    private final InterpreterVisitor interpreter;
+
+    private final List<Token> pending = new ArrayList<>();
+    // Lines ending inside a block comment are only lexed together with the line closing it
+    private final StringBuilder unlexed = new StringBuilder();
+    private int depth;
+    private int line = 1;
+
+    public InteractiveSession(OutputSink output) {
+        this.interpreter = new InterpreterVisitor(symbolTable, output);
+    }
+
+    // Returns true when the input completed the pending statements, which were then executed
+    public boolean execute(String input) {
+        unlexed.append(input).append('\n');
+        if (endsInComment(unlexed)) {
+            return false;
+        }
+        try {
+            lex(unlexed.toString());
+            unlexed.setLength(0);
+            if (depth > 0 || pending.isEmpty()) {
+                return false;
+            }
+
+            GLangParser.ProgramContext tree = GLangInterpreter.parse(new ListTokenSource(pending), true);
+            if (tree == null) {
+                return false;
+            }
+            clear();
+            interpreter.execute(compiler.compile(tree));
+            return true;
+        } catch (RuntimeException e) {
+            clear();
+            throw e;
+        }
+    }
+
+    public boolean isPending() {
+        return !pending.isEmpty() || unlexed.length() > 0;
+    }
+
+    public InterpreterVisitor getInterpreter() {
+        return interpreter;
+    }
+
+    private void lex(String text) {
+        GLangLexer lexer = new GLangLexer(CharStreams.fromString(text));
+        lexer.setLine(line);
+        for (Token token = lexer.nextToken(); token.getType() != Token.EOF; token = lexer.nextToken()) {
+            switch (token.getText()) {
+                case "(", "{", "[" -> depth++;
+                case ")", "}", "]" -> depth--;
+                default -> {
+                }
+            }
+            pending.add(token);
+        }
+        line = lexer.getLine();
+    }
+
+    private void clear() {
+        pending.clear();
+        unlexed.setLength(0);
+        depth = 0;
+    }
+
+    private static boolean endsInComment(CharSequence text) {
+        boolean inString = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (inString) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == '"' || c == '\n') {
+                    inString = false;
+                }
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == '/' && i + 1 < text.length() && text.charAt(i + 1) == '/') {
+                while (i < text.length() && text.charAt(i) != '\n') {
+                    i++;
+                }
+            } else if (c == '/' && i + 1 < text.length() && text.charAt(i + 1) == '*') {
+                int end = text.toString().indexOf("*/", i + 2);
+                if (end < 0) {
+                    return true;
+                }
+                i = end + 1;
+            }
+        }
+        return false;
+    }
+}
@@ -2,461 +2,279 @@ package edu.ktu.glang.interpreter;
 
 import edu.ktu.glang.GLangBaseVisitor;
 import edu.ktu.glang.GLangParser;
-import org.antlr.v4.runtime.CommonToken;
-import org.antlr.v4.runtime.tree.RuleNode;
-import org.antlr.v4.runtime.tree.TerminalNodeImpl;
+import edu.ktu.glang.interpreter.exception.GLangException;
+import edu.ktu.glang.interpreter.exception.GLangInterruptedException;
+import edu.ktu.glang.interpreter.filter.ZenFilter;
+import edu.ktu.glang.interpreter.input.MappedLines;
+import edu.ktu.glang.interpreter.input.RecordFile;
+import edu.ktu.glang.interpreter.metrics.ExecutionEvent;
+import edu.ktu.glang.interpreter.metrics.FileReadEvent;
+import edu.ktu.glang.interpreter.metrics.FileWriteEvent;
+import edu.ktu.glang.interpreter.metrics.GLangMetrics;
+import edu.ktu.glang.interpreter.metrics.ZenFilterEvent;
+import edu.ktu.glang.interpreter.node.ProgramNode;
+import edu.ktu.glang.interpreter.output.FileHandlePool;
+import edu.ktu.glang.interpreter.output.OutputSink;
+import edu.ktu.glang.interpreter.output.StringOutputSink;
+import edu.ktu.glang.interpreter.record.RecordArray;
 
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.BufferedReader;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
 
 
 public class InterpreterVisitor extends GLangBaseVisitor<Object> {
 
-    private final StringBuilder SYSTEM_OUT = new StringBuilder();
+    // Loop iterations and calls between two checks for an interrupt
+    private static final int CHECKPOINT_INTERVAL = 1024;
+
+    private final OutputSink output;
+
+    // Reused for every printed line, the sink copies it
+    private final StringBuilder line = new StringBuilder();
 
     private final SymbolTable symbolTable;
-    private final IfStatementVisitor ifStatementVisitor;
-    private final Stack<GLangScope> scopeStack = new Stack<>();
-    private GLangScope currentScope = new GLangScope();
 
-    private FileWriter fileWriter;
-    private final Map<String, GLangParser.FunctionDeclarationContext> functions = new HashMap<>();
+    private final CallStack callStack = new CallStack();
 
-    public InterpreterVisitor(SymbolTable symbolTable) {
-        this.symbolTable = symbolTable;
-        this.ifStatementVisitor = new IfStatementVisitor(this);
-    }
+    private final MemoTable memoTable = new MemoTable();
 
-    @Override
-    public Object visitProgram(GLangParser.ProgramContext ctx) {
-        super.visitProgram(ctx);
-        return SYSTEM_OUT.toString();
-    }
+    // Created for programs compiled with profiling only
+    private Profiler profiler;
 
-    @Override
-    public Object visitVariableDeclaration(GLangParser.VariableDeclarationContext ctx) {
-        String varName = ctx.ID().getText();
-        Object value = visit(ctx.expression());
-        if (!this.symbolTable.contains(varName)) {
-            this.symbolTable.put(varName, value);
-        } else {
-            throw new RuntimeException("Variable already exists.");
-        }
-        return null;
-    }
+    private int checkpoints;
 
-    @Override
-    public Object visitAssignment(GLangParser.AssignmentContext ctx) {
-        String varName = ctx.ID().getText();
-        Object value = visit(ctx.expression());
-        if (value instanceof List<?>) {
-            List<?> listValue = (List<?>) value;
-            this.symbolTable.put(varName, listValue);
-        } else if (value instanceof Integer) {
-            int intValue = (Integer) value;
-            this.symbolTable.put(varName, intValue);
-        }
-        else if (value instanceof Boolean) {
-            boolean boolValue = (Boolean) value;
-            this.symbolTable.put(varName, boolValue);
-        }else {
-            throw new RuntimeException("Invalid assignment. Expected an array literal or an integer value.");
-        }
-        return null;
-    }
+    private final ZenFilter zenFilter = new ZenFilter();
 
-    @Override
-    public Object visitIntExpression(GLangParser.IntExpressionContext ctx) {
-        return Integer.parseInt(ctx.INT().getText());
-    }
+    private final FileHandlePool files = new FileHandlePool();
+    private final StringBuilder fileLine = new StringBuilder();
 
-    @Override
-    public Object visitBooleanExpression(GLangParser.BooleanExpressionContext ctx) {
-        String booleanValue = ctx.BOOLEAN().getText();
-        if (booleanValue.equals("true")) {
-            return true;
-        } else if (booleanValue.equals("false")) {
-            return false;
-        } else {
-            throw new IllegalArgumentException("Invalid boolean value: " + booleanValue);
-        }
+    private final GLangMetrics metrics = GLangMetrics.get();
+    private long outputCharacters;
+    // Set between startProgram and endProgram
+    private ExecutionEvent execution;
+    private long executionStart;
+    private Totals executionTotals;
+
+    public InterpreterVisitor(SymbolTable symbolTable) {
+        this(symbolTable, new StringOutputSink());
     }
 
-    @Override
-    public Object visitIdExpression(GLangParser.IdExpressionContext ctx) {
-        String varName = ctx.ID().getText();
-        if (currentScope.isDeclared(varName)) {
-            return currentScope.resolveVariable(varName);
-        }
-        else if (this.symbolTable.contains(varName)) {
-            return this.symbolTable.get(varName);
-        }
-        else {
-            throw new RuntimeException("Undeclared variable: " + varName);
-        }
+    public InterpreterVisitor(SymbolTable symbolTable, OutputSink output) {
+        this.symbolTable = symbolTable;
+        this.output = output;
     }
 
     @Override
-    public Object visitPrintStatement(GLangParser.PrintStatementContext ctx) {
-        Object expressionValue = visit(ctx.expression());
-
-        if (expressionValue instanceof String) {
-            // Print a regular string expression
-            String text = expressionValue.toString();
-            SYSTEM_OUT.append(text).append("\n");
-        } else if (expressionValue instanceof List) {
-            // Print an array or list
-            List<Object> list = (List<Object>) expressionValue;
-            for (Object element : list) {
-                SYSTEM_OUT.append(element.toString()).append("\n");
-            }
-        } else {
-            String text = visit(ctx.expression()).toString();
-            //System.out.println(text);
-            SYSTEM_OUT.append(text).append("\n");
-        }
-
-        return null;
+    public Object visitProgram(GLangParser.ProgramContext ctx) {
+        return execute(new ProgramCompiler(symbolTable).compile(ctx));
     }
 
-    @Override
-    public Object visitPrintFileStatement(GLangParser.PrintFileStatementContext ctx) {
-        String filename = ctx.STRING().getText().replaceAll("\"", "");
-        String text = visit(ctx.expression()).toString();
-        try {
-            fileWriter = new FileWriter(filename, true);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
-        try {
-            fileWriter.append(text).append("\n");
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+    public String execute(ProgramNode program) {
+        startProgram();
         try {
-            fileWriter.flush();
-        } catch (IOException e) {
-            throw new RuntimeException(e);
+            program.execute(new GLangScope(this, 0));
+        } catch (StackOverflowError e) {
+            // A thread ran out of stack before its calls moved to a segment thread, see CallStack
+            throw new GLangException("Stack overflow: too many nested calls.");
+        } finally {
+            endProgram();
         }
-        return null;
+        return getOutput();
     }
 
-    @Override
-    public Object visitReadfStatement(GLangParser.ReadfStatementContext ctx) {
-        String filename = ctx.STRING().getText().replaceAll("\"", "");
-        String variableName = ctx.ID().getText();
+    // Starts measuring a program, which endProgram records
+    public void startProgram() {
+        execution = GLangMetrics.isRecording() ? new ExecutionEvent() : null;
+        executionStart = System.nanoTime();
+        executionTotals = totals();
+    }
 
-        try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
-            String line = reader.readLine();
-            if (line != null) {
-                String value = line;
-                symbolTable.put(variableName, value);
-            } else {
-                throw new RuntimeException("Cannot read from file: " + filename);
+    // Flushes the output and closes every file the program printed to
+    public void endProgram() {
+        try {
+            output.flush();
+        } finally {
+            try {
+                files.closeAll();
+            } finally {
+                recordExecution();
             }
-        } catch (IOException e) {
-            throw new RuntimeException("Cannot read from file: " + filename, e);
         }
-
-        return null;
-    }
-
-    @Override
-    public Object visitParenthesesExpression(GLangParser.ParenthesesExpressionContext ctx) {
-        return visit(ctx.expression());
     }
 
-    @Override
-    public Integer visitIntAddOpExpression(GLangParser.IntAddOpExpressionContext ctx) {
-        Integer val1 = (Integer) visit(ctx.expression(0));
-        Integer val2 = (Integer) visit(ctx.expression(1));
-        String operator = ctx.intAddOp().getText();
-
-        if (val1 == null || val2 == null) {
-            throw new RuntimeException("Null value in arithmetic operation");
+    private void recordExecution() {
+        if (executionTotals == null) {
+            return;
         }
-
-        switch (operator) {
-            case "+": return val1 + val2;
-            case "-": return val1 - val2;
-            default: throw new RuntimeException("Unknown operator: " + operator);
+        Totals start = executionTotals;
+        Totals end = totals();
+        long characters = end.output() - start.output();
+        long memoHits = end.memoHits() - start.memoHits();
+        long memoMisses = end.memoMisses() - start.memoMisses();
+        metrics.executed(System.nanoTime() - executionStart, characters, memoHits, memoMisses);
+        metrics.filesWritten(end.fileWrites() - start.fileWrites(), end.fileBytes() - start.fileBytes(),
+                end.fileNanos() - start.fileNanos());
+        if (execution != null) {
+            execution.commit(characters, memoHits, memoMisses);
         }
+        execution = null;
+        executionTotals = null;
     }
 
-
-    @Override
-    public Object visitIntMultiOpExpression(GLangParser.IntMultiOpExpressionContext ctx) {
-        Object val1 = visit(ctx.expression(0));
-        Object val2 = visit(ctx.expression(1));
-        return switch (ctx.intMultiOp().getText()) {
-            case "*" -> (Integer) val1 * (Integer) val2;
-            case "/" -> (Integer) val1 / (Integer) val2;
-            case "%" -> (Integer) val1 % (Integer) val2;
-            default -> null;
-        };
+    private Totals totals() {
+        return new Totals(outputCharacters, memoTable.getHits(), memoTable.getMisses(),
+                files.getWrites(), files.getBytesWritten(), files.getWriteNanos());
     }
 
-    @Override
-    public Object visitIfStatement(GLangParser.IfStatementContext ctx) {
-        return this.ifStatementVisitor.visitIfStatement(ctx);
+    // Output streamed to any other sink is not kept, so it is empty then
+    public String getOutput() {
+        return output instanceof StringOutputSink ? output.toString() : "";
     }
 
-    @Override
-    public Void visitForLoop(GLangParser.ForLoopContext ctx) {
-        // Execute the initialization
-        visit(ctx.initialization());
-
-        // Loop while the condition is true
-        while ((boolean) visit(ctx.condition())) {
-            // Execute the statements in the loop body
-            for (GLangParser.StatementContext stmt : ctx.statement()) {
-                visit(stmt);
-            }
-
-            // Execute the increment
-            visit(ctx.increment());
-        }
-
-        return null;
+    public OutputSink getOutputSink() {
+        return output;
     }
-    @Override
-    public Integer visitIncrement(GLangParser.IncrementContext ctx) {
-        String varName = ctx.ID(0).getText(); // get the variable name
-        int currentValue = (int) symbolTable.get(varName); // get the current value
-        int incrementValue = ctx.INT() != null ? Integer.parseInt(ctx.INT().getText()) : 1; // get the increment value
-
-        if (ctx.getChild(1).getText().equals("++")) { // handle i++ case
-            currentValue++;
-        } else if (ctx.getChild(1).getText().equals("--")) { // handle i-- case
-            currentValue--;
-        } else if (ctx.getChild(1).getText().equals("+=")) { // handle i += x case
-            currentValue += incrementValue;
-        } else if (ctx.getChild(1).getText().equals("-=")) { // handle i -= x case
-            currentValue -= incrementValue;
-        }
 
-        symbolTable.put(varName, currentValue); // update the symbol table
-        return currentValue;
+    public SymbolTable getSymbolTable() {
+        return symbolTable;
     }
 
-    @Override
-    public Object visitSwitchStatement(GLangParser.SwitchStatementContext ctx) {
-        Object value = visit(ctx.expression());
-        boolean foundMatch = false;
-
-        for (GLangParser.CaseStatementContext caseCtx : ctx.caseStatement()) {
-            Object caseValue = visit(caseCtx.expression());
-            if (value.equals(caseValue)) {
-                // Execute the statements inside the matching case
-                foundMatch = true;
-                for (GLangParser.StatementContext stmt : caseCtx.statement()) {
-                    visit(stmt);
-                }
-                break;
-            }
+    // Loops and calls pass here. Every so often the script stops if the thread running it was interrupted,
+    // and a script on a virtual thread lets others run on its carrier
+    public void checkpoint() {
+        if (++checkpoints % CHECKPOINT_INTERVAL != 0) {
+            return;
         }
-        if (!foundMatch && ctx.defaultStatement() != null) {
-            for (GLangParser.StatementContext stmt : ctx.defaultStatement().statement()) {
-                visit(stmt);
-            }
+        if (Thread.interrupted()) {
+            throw new GLangInterruptedException();
         }
-        return null;
-    }
-
-    @Override
-    public Object visitCondition(GLangParser.ConditionContext ctx) {
-        Integer left = (Integer) visit(ctx.expression(0));
-        Integer right = (Integer) visit(ctx.expression(1));
-        String operator = ctx.relationOp().getText();
-
-        switch (operator) {
-            case "==": return left.equals(right);
-            case "!=": return !left.equals(right);
-            case "<": return left < right;
-            case ">": return left > right;
-            case "<=": return left <= right;
-            case ">=": return left >= right;
-            default: throw new RuntimeException("Unknown operator: " + operator);
+        if (Thread.currentThread().isVirtual()) {
+            Thread.yield();
         }
     }
 
-    @Override
-    public Object visitStringExpression(GLangParser.StringExpressionContext ctx) {
-        String str = ctx.STRING().getText();
-        // Remove the leading and trailing quotation marks
-        str = str.substring(1, str.length() - 1);
-        // Return the modified string
-        return str;
+    public CallStack getCallStack() {
+        return callStack;
     }
 
-
-    @Override
-    public Object visitReturnStatement(GLangParser.ReturnStatementContext ctx) {
-        if (ctx.expression() == null) {
-            return new ReturnValue(null);
-        } else {
-            return new ReturnValue(this.visit(ctx.expression()));
-        }
-    }
-    @Override
-    protected boolean shouldVisitNextChild(RuleNode node, Object currentResult) {
-        return !(currentResult instanceof ReturnValue);
+    public MemoTable getMemoTable() {
+        return memoTable;
     }
-    @Override
-    public Object visitFunctionDeclaration(GLangParser.FunctionDeclarationContext ctx) {
-        String functionName = ctx.ID().getText();
 
-        this.functions.put(functionName, ctx);
-        return null;
+    public Profiler getProfiler() {
+        if (profiler == null) {
+            profiler = new Profiler();
+        }
+        return profiler;
     }
-    @Override
-    public Object visitFunctionCall(GLangParser.FunctionCallContext ctx) {
-
-        String functionName = ctx.ID().getText();
-        GLangParser.FunctionDeclarationContext function = this.functions.get(functionName);
 
-        List<Object> arguments = new ArrayList<>();
-        if (ctx.expressionList() != null) {
-            for (var expr : ctx.expressionList().expression()) {
-                arguments.add(this.visit(expr));
+    public void print(Object value) {
+        if (value instanceof RecordArray records) {
+            for (int row = 0; row < records.size(); row++) {
+                line.setLength(0);
+                records.appendRecord(line, row);
+                writeLine();
             }
-        }
-
-        GLangScope functionScope = new GLangScope();
-
-        if (function.paramList() != null) {
-            for (int i = 0; i < function.paramList().ID().size(); i++) {
-                String paramName = function.paramList().ID(i).getText();
-                functionScope.declareVariable(paramName, arguments.get(i));
+        } else if (value instanceof Iterable<?> elements) {
+            // Print an array, list or the lines of a file
+            for (Object element : elements) {
+                line.setLength(0);
+                line.append(element);
+                writeLine();
             }
+        } else {
+            line.setLength(0);
+            line.append(value);
+            writeLine();
         }
-
-        scopeStack.push(currentScope);
-        currentScope = functionScope;
-        ReturnValue value = (ReturnValue) this.visitFunctionBody(function.functionBody());
-        currentScope = scopeStack.pop();
-
-        return value.getValue();
     }
 
-    @Override
-    public Object visitFunctionBody(GLangParser.FunctionBodyContext ctx) {
-        Object value = super.visitFunctionBody(ctx);
-        if (value instanceof ReturnValue) {
-            return value;
-        }
-        return new ReturnValue(null);
+    public void print(int value) {
+        line.setLength(0);
+        line.append(value);
+        writeLine();
     }
 
-    @Override
-    public Object visitArrayLiteral(GLangParser.ArrayLiteralContext ctx) {
-        List<Object> elements = new ArrayList<>();
-        for (GLangParser.ArrayElementContext elementCtx : ctx.arrayElement()) {
-            elements.add(visit(elementCtx));
-        }
-        return elements;
+    private void writeLine() {
+        output.write(line.append("\n"));
+        outputCharacters += line.length();
     }
 
-    @Override
-    public Object visitObjectLiteral(GLangParser.ObjectLiteralContext ctx) {
-        Map<String, Object> properties = new HashMap<>();
-        for (GLangParser.PropertyContext propertyCtx : ctx.property()) {
-            String propertyName = propertyCtx.ID().getText();
-            Object value = visit(propertyCtx.expression());
-            properties.put(propertyName, value);
+    public void printToFile(String filename, Object value) {
+        FileWriteEvent event = GLangMetrics.isRecording() ? new FileWriteEvent() : null;
+        fileLine.setLength(0);
+        int bytes = files.write(filename, fileLine.append(value).append("\n"));
+        if (event != null) {
+            event.commit(filename, bytes);
         }
-        return properties;
     }
 
-    @Override
-    public Object visitFilterRule(GLangParser.FilterRuleContext ctx) {
-        String type = ctx.STRING(0).getText();
-        String property = ctx.STRING(1).getText();
-        String value = ctx.STRING(2).getText();
-
-        // Remove the leading and trailing quotation marks
-        type = type.substring(1, type.length() - 1);
-        property = property.substring(1, property.length() - 1);
-        value = value.substring(1, value.length() - 1);
-
-        Map<String, Object> filterRule = new HashMap<>();
-        filterRule.put("type", type);
-        filterRule.put("property", property);
-        filterRule.put("value", value);
-
-        return filterRule;
-    }
-    
-     @Override
-    public Object visitFilterRulesStatement(GLangParser.FilterRulesStatementContext ctx) {
-        String filterRulesName = ctx.ID().getText();
-        List<Map<String, Object>> filterRules = new ArrayList<>();
-
-        for (GLangParser.FilterRuleContext filterRuleContext : ctx.filterRule()) {
-            Map<String, Object> filterRule = (Map<String, Object>) visit(filterRuleContext);
-            filterRules.add(filterRule);
-        }
-
-        symbolTable.put(filterRulesName, filterRules);
-        return null;
+    public FileHandlePool getFiles() {
+        return files;
     }
 
-    @Override
-    public Object visitZenFilterStatement(GLangParser.ZenFilterStatementContext ctx) {
-        String filteredUsersName = ctx.ID(0).getText();
-        String usersName = ctx.ID(1).getText();
-        String filterRulesName = ctx.ID(2).getText();
-
-        List<Map<String, Object>> users = (List<Map<String, Object>>) symbolTable.get(usersName);
-        List<Map<String, Object>> filterRules = (List<Map<String, Object>>) symbolTable.get(filterRulesName);
-
-        List<Map<String, Object>> filteredUsers = new ArrayList<>();
-
-        for (Map<String, Object> user : users) {
-            boolean passFilter = true;
-
-            if(filterRules != null) {
-                for (Map<String, Object> filterRule : filterRules) {
-                    String property = (String) filterRule.get("property");
-                    String value = (String) filterRule.get("value");
-
-                    if (!user.containsKey(property) || !compareValues(user.get(property), value)) {
-                        passFilter = false;
-                        break;
-                    }
+    public String readFile(String filename) {
+        FileReadEvent event = GLangMetrics.isRecording() ? new FileReadEvent() : null;
+        long start = System.nanoTime();
+        files.flush(filename);
+        try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
+            String line = reader.readLine();
+            if (line != null) {
+                metrics.fileRead(line.length(), System.nanoTime() - start);
+                if (event != null) {
+                    event.commit(filename, line.length());
                 }
+                return line;
+            } else {
+                throw new RuntimeException("Cannot read from file: " + filename);
             }
-
-            if (passFilter) {
-                filteredUsers.add(user);
-            }
+        } catch (IOException e) {
+            throw new RuntimeException("Cannot read from file: " + filename, e);
         }
+    }
 
-        symbolTable.put(filteredUsersName, filteredUsers);
+    public Iterable<String> readLines(String filename) {
+        files.flush(filename);
+        return new MappedLines(Path.of(filename));
+    }
 
-        return null;
+    public Iterable<Map<String, Object>> load(String filename) {
+        files.flush(filename);
+        return new RecordFile(Path.of(filename));
     }
 
-    private boolean compareValues(Object value1, String value2) {
-        if (value1 instanceof String) {
-            String name = (String) value1;
-            return name.equalsIgnoreCase(value2);
-        }
-        else if(value1 instanceof Integer)
-        {
-            int name = (Integer) value1;
-            return name ==  Integer.parseInt(value2);
+    // Records loaded from a file are filtered while the file is read
+    @SuppressWarnings("unchecked")
+    public List<Map<String, Object>> zenFilter(Iterable<Map<String, Object>> users, List<Map<String, Object>> filterRules) {
+        ZenFilterEvent event = GLangMetrics.isRecording() ? new ZenFilterEvent() : null;
+        long start = System.nanoTime();
+        List<Map<String, Object>> filteredUsers;
+        long inputRows;
+        if (users instanceof RecordFile file) {
+            RecordFile.Chunks chunks = file.chunks();
+            filteredUsers = zenFilter.filter(chunks, filterRules);
+            inputRows = chunks.getRecordsRead();
+        } else {
+            List<Map<String, Object>> list = (List<Map<String, Object>>) users;
+            filteredUsers = zenFilter.filter(list, filterRules);
+            inputRows = list.size();
         }
-        else if(value1 instanceof Boolean)
-        {
-            Boolean name = (Boolean) value1;
-            return name ==  Boolean.parseBoolean(value2);
+        metrics.filtered(inputRows, filteredUsers.size(), System.nanoTime() - start);
+        if (event != null) {
+            event.commit(inputRows, filteredUsers.size(), users instanceof RecordFile);
         }
-        return false;
+        return filteredUsers;
     }
 
+    public ZenFilter getZenFilter() {
+        return zenFilter;
+    }
+
+    // Counters of the interpreter, which only grow; a program is measured by their difference
+    private record Totals(long output, long memoHits, long memoMisses, long fileWrites, long fileBytes, long fileNanos) {
+    }
 }
@@ -0,0 +1,160 @@
+package edu.ktu.glang.interpreter;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Results of pure functions by argument values: one bounded LRU cache per function, with hit and miss
+ * counters. Only calls whose arguments and result are integers, strings or booleans are cached, as arrays
+ * could be changed after the call.
+ */
+public class MemoTable {
+
+    // Returned by get when the result is not cached
+    public static final Object MISS = new Object();
+
+    // Stands for a null result, which the map cannot tell apart from a missing one
+    private static final Object NULL = new Object();
+
+    private final int maximumSize;
+    private Memo[] memos = new Memo[8];
+
+    public MemoTable() {
+        this(Integer.getInteger("glang.memo.size", 10_000));
+    }
+
+    public MemoTable(int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public Object get(int slot, String function, Object[] arguments) {
+        if (maximumSize <= 0 || !isImmutable(arguments)) {
+            return MISS;
+        }
+        Memo memo = memo(slot, function);
+        Object result = memo.results.get(key(arguments));
+        if (result == null) {
+            memo.misses++;
+            return MISS;
+        }
+        memo.hits++;
+        return result == NULL ? null : result;
+    }
+
+    public void put(int slot, Object[] arguments, Object result) {
+        if (maximumSize <= 0 || !isImmutable(arguments) || !isImmutable(result)) {
+            return;
+        }
+        memos[slot].results.put(key(arguments), result == null ? NULL : result);
+    }
+
+    // Over all functions
+    public long getHits() {
+        long hits = 0;
+        for (Memo memo : memos) {
+            hits += memo != null ? memo.hits : 0;
+        }
+        return hits;
+    }
+
+    public long getMisses() {
+        long misses = 0;
+        for (Memo memo : memos) {
+            misses += memo != null ? memo.misses : 0;
+        }
+        return misses;
+    }
+
+    public long getHits(String function) {
+        return statistics().getOrDefault(function, new long[2])[0];
+    }
+
+    public long getMisses(String function) {
+        return statistics().getOrDefault(function, new long[2])[1];
+    }
+
+    // One line per memoized function that was called, by name
+    public String report() {
+        StringBuilder report = new StringBuilder();
+        statistics().forEach((function, counts) -> {
+            long calls = counts[0] + counts[1];
+            report.append(String.format("%s: %d hits, %d misses (%.1f%% hit rate)%n",
+                    function, counts[0], counts[1], calls > 0 ? 100.0 * counts[0] / calls : 0.0));
+        });
+        return report.toString();
+    }
+
+    // Functions redeclared in an interactive session share their name
+    private Map<String, long[]> statistics() {
+        Map<String, long[]> statistics = new TreeMap<>();
+        for (Memo memo : memos) {
+            if (memo != null) {
+                long[] counts = statistics.computeIfAbsent(memo.function, name -> new long[2]);
+                counts[0] += memo.hits;
+                counts[1] += memo.misses;
+            }
+        }
+        return statistics;
+    }
+
+    private Memo memo(int slot, String function) {
+        if (slot >= memos.length) {
+            memos = Arrays.copyOf(memos, Math.max(slot + 1, memos.length * 2));
+        }
+        Memo memo = memos[slot];
+        if (memo == null) {
+            memo = memos[slot] = new Memo(function, maximumSize);
+        }
+        return memo;
+    }
+
+    private static Object key(Object[] arguments) {
+        return arguments.length == 1 ? arguments[0] : new ArgumentKey(arguments);
+    }
+
+    private static boolean isImmutable(Object[] values) {
+        for (Object value : values) {
+            if (!isImmutable(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isImmutable(Object value) {
+        return value == null || value instanceof Integer || value instanceof String || value instanceof Boolean;
+    }
+
+    private static class Memo {
+
+        private final String function;
+        private final LinkedHashMap<Object, Object> results;
+        private long hits;
+        private long misses;
+
+        Memo(String function, int maximumSize) {
+            this.function = function;
+            this.results = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+                    return size() > maximumSize;
+                }
+            };
+        }
+    }
+
+    private record ArgumentKey(Object[] arguments) {
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof ArgumentKey key && Arrays.equals(arguments, key.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(arguments);
+        }
+    }
+}
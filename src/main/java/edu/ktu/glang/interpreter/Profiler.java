@@ -0,0 +1,232 @@
+package edu.ktu.glang.interpreter;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Execution profile of a program compiled with profiling ({@code -prof}): per source line the number of
+ * statements executed with their self and total time, per function the calls with their self and total time,
+ * and the iterations of every loop. Calls are also recorded in a call tree, which is written as collapsed
+ * stacks for flame graph tools. Total times of recursive lines and functions count the outermost one only.
+ */
+public class Profiler {
+
+    // Name of the top level statements in the call tree
+    public static final String TOP_LEVEL = "<main>";
+
+    // Rows shown per table of the report
+    private static final int TOP = 20;
+    // Calls nested deeper than this are timed as part of the deepest recorded frame
+    private static final int MAX_STACK_DEPTH = 2048;
+
+    // Indexed by line number
+    private long[] counts = new long[0];
+    private long[] selfTimes = new long[0];
+    private long[] totalTimes = new long[0];
+    private long[] iterations = new long[0];
+    private int[] active = new int[0];
+
+    // Statements being executed, innermost last
+    private int[] lines = new int[16];
+    private long[] starts = new long[16];
+    private long[] nested = new long[16];
+    private int depth;
+
+    private final Map<String, Function> functions = new HashMap<>();
+    private final Frame root = new Frame(null, null);
+    private Frame current = root;
+    private int stackDepth;
+    private int truncated;
+
+    public void enterLine(int line) {
+        if (line >= counts.length) {
+            grow(line);
+        }
+        if (depth == lines.length) {
+            lines = Arrays.copyOf(lines, depth * 2);
+            starts = Arrays.copyOf(starts, depth * 2);
+            nested = Arrays.copyOf(nested, depth * 2);
+        }
+        counts[line]++;
+        active[line]++;
+        lines[depth] = line;
+        nested[depth] = 0;
+        starts[depth++] = System.nanoTime();
+    }
+
+    public void exitLine() {
+        int line = lines[--depth];
+        long elapsed = System.nanoTime() - starts[depth];
+        selfTimes[line] += elapsed - nested[depth];
+        if (--active[line] == 0) {
+            totalTimes[line] += elapsed;
+        }
+        if (depth > 0) {
+            nested[depth - 1] += elapsed;
+        }
+    }
+
+    public void iteration(int line) {
+        if (line >= counts.length) {
+            grow(line);
+        }
+        iterations[line]++;
+    }
+
+    public void enterFunction(String name) {
+        if (stackDepth == MAX_STACK_DEPTH) {
+            functions.computeIfAbsent(name, Function::new).calls++;
+            truncated++;
+            return;
+        }
+        stackDepth++;
+        Frame caller = current;
+        current = caller.children.computeIfAbsent(name,
+                child -> new Frame(caller, functions.computeIfAbsent(child, Function::new)));
+        current.function.calls++;
+        current.function.active++;
+        current.nested = 0;
+        current.start = System.nanoTime();
+    }
+
+    public void exitFunction() {
+        if (truncated > 0) {
+            truncated--;
+            return;
+        }
+        long elapsed = System.nanoTime() - current.start;
+        long self = elapsed - current.nested;
+        current.self += self;
+        current.function.self += self;
+        if (--current.function.active == 0) {
+            current.function.total += elapsed;
+        }
+        current = current.parent;
+        current.nested += elapsed;
+        stackDepth--;
+    }
+
+    private void grow(int line) {
+        int length = Math.max(line + 1, counts.length * 2);
+        counts = Arrays.copyOf(counts, length);
+        selfTimes = Arrays.copyOf(selfTimes, length);
+        totalTimes = Arrays.copyOf(totalTimes, length);
+        iterations = Arrays.copyOf(iterations, length);
+        active = Arrays.copyOf(active, length);
+    }
+
+    public long getCount(int line) {
+        return line < counts.length ? counts[line] : 0;
+    }
+
+    public long getIterations(int line) {
+        return line < iterations.length ? iterations[line] : 0;
+    }
+
+    public long getCalls(String function) {
+        Function stats = functions.get(function);
+        return stats != null ? stats.calls : 0;
+    }
+
+    // Tables of the lines and functions taking the most time and of the loops iterating most, with the text
+    // of each line taken from the source when it is given
+    public String report(List<String> source) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%-8s %12s %12s %12s  %s%n", "Line", "Count", "Self ms", "Total ms", "Statement"));
+        IntStream.range(0, counts.length)
+                .filter(line -> counts[line] > 0)
+                .boxed()
+                .sorted(Comparator.comparingLong((Integer line) -> selfTimes[line]).reversed())
+                .limit(TOP)
+                .forEach(line -> report.append(String.format("%-8d %12d %12.3f %12.3f  %s%n", line, counts[line],
+                        millis(selfTimes[line]), millis(totalTimes[line]), text(source, line))));
+
+        report.append(String.format("%n%-24s %12s %12s %12s%n", "Function", "Calls", "Self ms", "Total ms"));
+        functions.values().stream()
+                .sorted(Comparator.comparingLong((Function function) -> function.self).reversed())
+                .limit(TOP)
+                .forEach(function -> report.append(String.format("%-24s %12d %12.3f %12.3f%n", function.name,
+                        function.calls, millis(function.self), millis(function.total))));
+        report.append(String.format("Calls answered by the memo cache of memoized functions and calls inlined by the "
+                + "optimizer are not counted.%n"));
+
+        report.append(String.format("%n%-8s %12s  %s%n", "Loop", "Iterations", "Statement"));
+        IntStream.range(0, iterations.length)
+                .filter(line -> iterations[line] > 0)
+                .boxed()
+                .sorted(Comparator.comparingLong((Integer line) -> iterations[line]).reversed())
+                .limit(TOP)
+                .forEach(line -> report.append(String.format("%-8d %12d  %s%n", line, iterations[line], text(source, line))));
+        return report.toString();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static String text(List<String> source, int line) {
+        return line <= source.size() ? source.get(line - 1).strip() : "";
+    }
+
+    // One line per call path, "<main>;f;g 1234": the functions from the top level down and the self time in
+    // microseconds, the format flamegraph.pl and speedscope read
+    public void writeCollapsedStacks(Writer out) throws IOException {
+        Deque<Frame> frames = new ArrayDeque<>();
+        Deque<Integer> prefixes = new ArrayDeque<>();
+        StringBuilder path = new StringBuilder();
+        root.children.values().forEach(frames::push);
+        root.children.values().forEach(frame -> prefixes.push(0));
+        while (!frames.isEmpty()) {
+            Frame frame = frames.pop();
+            path.setLength(prefixes.pop());
+            if (!path.isEmpty()) {
+                path.append(';');
+            }
+            path.append(frame.function.name);
+            long micros = frame.self / 1000;
+            if (micros > 0) {
+                out.append(path).append(' ').append(Long.toString(micros)).append('\n');
+            }
+            for (Frame child : frame.children.values()) {
+                frames.push(child);
+                prefixes.push(path.length());
+            }
+        }
+    }
+
+    private static final class Function {
+        private final String name;
+        private long calls;
+        private long self;
+        private long total;
+        // Calls of the function in progress, its total time is only added when the outermost one returns
+        private int active;
+
+        private Function(String name) {
+            this.name = name;
+        }
+    }
+
+    // A node of the call tree: each path of calls is active at most once at a time, so it holds its own timing
+    private static final class Frame {
+        private final Frame parent;
+        private final Function function;
+        private final Map<String, Frame> children = new HashMap<>();
+        private long self;
+        private long start;
+        private long nested;
+
+        private Frame(Frame parent, Function function) {
+            this.parent = parent;
+            this.function = function;
+        }
+    }
+}
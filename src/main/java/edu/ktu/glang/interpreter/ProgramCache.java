@@ -0,0 +1,148 @@
+package edu.ktu.glang.interpreter;
+
+import edu.ktu.glang.interpreter.node.ProgramNode;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU cache of compiled programs, keyed by the SHA-256 hash of the source. Compiled programs are
+ * immutable, so a cached program can be executed any number of times against fresh symbol tables.
+ * Concurrent misses for the same source wait for a single compilation.
+ */
+public class ProgramCache {
+
+    private final LinkedHashMap<String, ProgramNode> programs = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, FutureTask<ProgramNode>> compiling = new HashMap<>();
+    private int maximumSize;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public ProgramCache(int maximumSize) {
+        setMaximumSize(maximumSize);
+    }
+
+    public ProgramNode getOrCompile(String source, Function<String, ProgramNode> compiler) {
+        String key = hash(source);
+        FutureTask<ProgramNode> compilation;
+        boolean compiles = false;
+        synchronized (this) {
+            ProgramNode program = programs.get(key);
+            if (program != null) {
+                hits++;
+                return program;
+            }
+            compilation = compiling.get(key);
+            if (compilation != null) {
+                hits++;
+            } else {
+                misses++;
+                compilation = new FutureTask<>(() -> compiler.apply(source));
+                compiling.put(key, compilation);
+                compiles = true;
+            }
+        }
+
+        if (!compiles) {
+            return result(compilation);
+        }
+        // Compiled outside the lock, so that other programs can be looked up meanwhile
+        compilation.run();
+        ProgramNode program = null;
+        try {
+            program = result(compilation);
+            return program;
+        } finally {
+            synchronized (this) {
+                compiling.remove(key);
+                if (program != null) {
+                    programs.put(key, program);
+                    evict();
+                }
+            }
+        }
+    }
+
+    private static ProgramNode result(FutureTask<ProgramNode> compilation) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return compilation.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException exception) {
+                throw exception;
+            } else if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public synchronized void setMaximumSize(int maximumSize) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("Cache size cannot be negative: " + maximumSize);
+        }
+        this.maximumSize = maximumSize;
+        evict();
+    }
+
+    public synchronized int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public synchronized int size() {
+        return programs.size();
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized void clear() {
+        programs.clear();
+    }
+
+    private void evict() {
+        var iterator = programs.entrySet().iterator();
+        while (programs.size() > maximumSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+            evictions++;
+        }
+    }
+
+    private static String hash(String source) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(source.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,594 @@
+package edu.ktu.glang.interpreter;
+
+import edu.ktu.glang.GLangBaseVisitor;
+import edu.ktu.glang.GLangParser;
+import edu.ktu.glang.interpreter.exception.GLangException;
+import edu.ktu.glang.interpreter.node.*;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNode;
+
+import java.util.*;
+
+/**
+ * Lowers a parse tree into executable nodes. Operators, literals and function calls are resolved here once,
+ * so executing the program never has to look at the parse tree again. Variables are resolved to frame slots
+ * (function parameters) or symbol table slots (globals), so that a variable access is a single array access.
+ * Unless {@code glang.optimize} is false, constant expressions are folded, if statements with a constant
+ * condition keep only the branch taken, and calls of small functions that return a single expression without
+ * calls run that expression in place of the call. A program compiled with profiling reports every statement, function
+ * call and loop iteration to the {@link Profiler} of the interpreter; otherwise it contains no profiling code.
+ */
+public class ProgramCompiler extends GLangBaseVisitor<Node> {
+
+    // Number of tokens up to which a returned expression is inlined
+    private static final int MAX_INLINED_SIZE = 16;
+
+    private final SymbolTable symbolTable;
+    // Every function declared so far, also by earlier programs of the same session, by name
+    private final Map<String, FunctionNode> functions = new HashMap<>();
+    private final Map<String, GLangParser.FunctionDeclarationContext> declarations = new LinkedHashMap<>();
+    private int memoSlots;
+    // Parameter slots of the function being compiled, null at the top level
+    private Map<String, Integer> locals;
+
+    private final boolean optimize;
+    private final boolean profile;
+    // Functions whose calls are replaced by the expression they return
+    private final Map<String, GLangParser.FunctionDeclarationContext> inlinable = new HashMap<>();
+    // Arguments standing for the parameters of the function being inlined, null otherwise
+    private Map<String, ExpressionNode> inlinedArguments;
+
+    public ProgramCompiler(SymbolTable symbolTable) {
+        this(symbolTable, isOptimizing());
+    }
+
+    public ProgramCompiler(SymbolTable symbolTable, boolean optimize) {
+        this(symbolTable, optimize, false);
+    }
+
+    public ProgramCompiler(SymbolTable symbolTable, boolean optimize, boolean profile) {
+        this.symbolTable = symbolTable;
+        this.optimize = optimize;
+        this.profile = profile;
+    }
+
+    public static boolean isOptimizing() {
+        return Boolean.parseBoolean(System.getProperty("glang.optimize", "true"));
+    }
+
+    public ProgramNode compile(GLangParser.ProgramContext ctx) {
+        return (ProgramNode) visit(ctx);
+    }
+
+    @Override
+    public Node visitProgram(GLangParser.ProgramContext ctx) {
+        // Declare all functions first, so that calls can be bound regardless of declaration order
+        Collection<GLangParser.FunctionDeclarationContext> declared = PurityAnalysis.declarations(ctx);
+        boolean redeclared = false;
+        for (GLangParser.FunctionDeclarationContext function : declared) {
+            String name = function.ID().getText();
+            String[] parameters = function.paramList() != null
+                    ? function.paramList().ID().stream().map(ParseTree::getText).toArray(String[]::new)
+                    : new String[0];
+            FunctionNode node = functions.get(name);
+            if (node == null) {
+                functions.put(name, new FunctionNode(name, parameters));
+            } else {
+                node.setParameters(parameters);
+                redeclared = true;
+            }
+            declarations.put(name, function);
+            if (optimize && isInlinable(function)) {
+                inlinable.put(name, function);
+            } else {
+                inlinable.remove(name);
+            }
+        }
+
+        // A function declared again by a later program of a session may change what earlier functions inline and
+        // whether they are pure, so they are compiled again too, and their memoized results are dropped
+        Collection<GLangParser.FunctionDeclarationContext> compiled = redeclared ? declarations.values() : declared;
+        Set<String> pure = PurityAnalysis.pureFunctions(declarations.values());
+        Set<String> memoized = PurityAnalysis.memoizedFunctions(declarations.values(), pure);
+        for (GLangParser.FunctionDeclarationContext function : compiled) {
+            String name = function.ID().getText();
+            functions.get(name).setMemoSlot(memoized.contains(name) ? memoSlots++ : -1);
+        }
+        for (GLangParser.FunctionDeclarationContext function : compiled) {
+            locals = new HashMap<>();
+            if (function.paramList() != null) {
+                for (TerminalNode parameter : function.paramList().ID()) {
+                    locals.put(parameter.getText(), locals.size());
+                }
+            }
+            FunctionNode node = functions.get(function.ID().getText());
+            node.setBody(profileCall(node.getName(), block(function.functionBody().statement())));
+            locals = null;
+        }
+
+        List<StatementNode> statements = new ArrayList<>();
+        for (GLangParser.LineContext line : ctx.line()) {
+            if (line.functionDeclaration() == null) {
+                statements.add(profileLine(line.statement(), statement(line.statement())));
+            }
+        }
+        BlockNode body = profileCall(Profiler.TOP_LEVEL, new BlockNode(statements.toArray(StatementNode[]::new)));
+        FunctionNode[] programFunctions = declared.stream()
+                .map(function -> functions.get(function.ID().getText()))
+                .toArray(FunctionNode[]::new);
+        return new ProgramNode(programFunctions, body, symbolTable.getNames());
+    }
+
+    @Override
+    public Node visitStatement(GLangParser.StatementContext ctx) {
+        Node node = visit(ctx.getChild(0));
+        if (node instanceof ExpressionNode expression) {
+            // Function call used as a statement
+            return new ExpressionStatementNode(expression);
+        }
+        return node;
+    }
+
+    @Override
+    public Node visitVariableDeclaration(GLangParser.VariableDeclarationContext ctx) {
+        return new DeclareVariableNode(ctx.TYPE().getText(), global(ctx.ID().getText()), expression(ctx.expression()));
+    }
+
+    @Override
+    public Node visitAssignment(GLangParser.AssignmentContext ctx) {
+        return new AssignVariableNode(global(ctx.ID().getText()), expression(ctx.expression()));
+    }
+
+    @Override
+    public Node visitIntExpression(GLangParser.IntExpressionContext ctx) {
+        return new ConstantNode(Integer.parseInt(ctx.INT().getText()));
+    }
+
+    @Override
+    public Node visitBooleanExpression(GLangParser.BooleanExpressionContext ctx) {
+        return new ConstantNode(Boolean.parseBoolean(ctx.BOOLEAN().getText()));
+    }
+
+    @Override
+    public Node visitStringExpression(GLangParser.StringExpressionContext ctx) {
+        return new ConstantNode(unquote(ctx.STRING()));
+    }
+
+    @Override
+    public Node visitIdExpression(GLangParser.IdExpressionContext ctx) {
+        if (inlinedArguments != null && inlinedArguments.containsKey(ctx.ID().getText())) {
+            return inlinedArguments.get(ctx.ID().getText());
+        }
+        return variable(ctx.ID().getText());
+    }
+
+    @Override
+    public Node visitParenthesesExpression(GLangParser.ParenthesesExpressionContext ctx) {
+        return visit(ctx.expression());
+    }
+
+    @Override
+    public Node visitIntAddOpExpression(GLangParser.IntAddOpExpressionContext ctx) {
+        ExpressionNode left = expression(ctx.expression(0));
+        ExpressionNode right = expression(ctx.expression(1));
+        return fold(switch (ctx.intAddOp().getText()) {
+            case "+" -> new IntAddNode(left, right);
+            case "-" -> new IntSubtractNode(left, right);
+            default -> throw new GLangException("Unknown operator: " + ctx.intAddOp().getText());
+        }, left, right);
+    }
+
+    @Override
+    public Node visitIntMultiOpExpression(GLangParser.IntMultiOpExpressionContext ctx) {
+        ExpressionNode left = expression(ctx.expression(0));
+        ExpressionNode right = expression(ctx.expression(1));
+        return fold(switch (ctx.intMultiOp().getText()) {
+            case "*" -> new IntMultiplyNode(left, right);
+            case "/" -> new IntDivideNode(left, right);
+            case "%" -> new IntRemainderNode(left, right);
+            default -> throw new GLangException("Unknown operator: " + ctx.intMultiOp().getText());
+        }, left, right);
+    }
+
+    @Override
+    public Node visitPrintStatement(GLangParser.PrintStatementContext ctx) {
+        return new PrintNode(expression(ctx.expression()));
+    }
+
+    @Override
+    public Node visitPrintArrayStatement(GLangParser.PrintArrayStatementContext ctx) {
+        return new PrintNode(variable(ctx.ID().getText()));
+    }
+
+    @Override
+    public Node visitPrintFunctionCall(GLangParser.PrintFunctionCallContext ctx) {
+        // print without a semicolon only evaluates its argument
+        return new ExpressionStatementNode(expression(ctx.expression()));
+    }
+
+    @Override
+    public Node visitPrintFileStatement(GLangParser.PrintFileStatementContext ctx) {
+        String filename = ctx.STRING().getText().replaceAll("\"", "");
+        return new PrintFileNode(filename, expression(ctx.expression()));
+    }
+
+    @Override
+    public Node visitReadfStatement(GLangParser.ReadfStatementContext ctx) {
+        String filename = ctx.STRING(0).getText().replaceAll("\"", "");
+        return new ReadFileNode(global(ctx.ID().getText()), filename, readsLines(ctx));
+    }
+
+    @Override
+    public Node visitIfStatement(GLangParser.IfStatementContext ctx) {
+        ExpressionNode condition = comparison(ctx.expression(0), ctx.relationOp(), ctx.expression(1), true);
+
+        // Statements before the 'else' keyword belong to the then block, the rest to the else block
+        List<GLangParser.StatementContext> thenStatements = new ArrayList<>();
+        List<GLangParser.StatementContext> elseStatements = null;
+        for (ParseTree child : ctx.children) {
+            if (child instanceof TerminalNode terminal && terminal.getText().equals("else")) {
+                elseStatements = new ArrayList<>();
+            } else if (child instanceof GLangParser.StatementContext statement) {
+                (elseStatements != null ? elseStatements : thenStatements).add(statement);
+            }
+        }
+
+        // Only the branch taken is kept when the condition is constant
+        if (condition instanceof ConstantNode constant && constant.execute(null) instanceof Boolean taken) {
+            if (taken) {
+                return block(thenStatements);
+            }
+            return block(elseStatements != null ? elseStatements : List.of());
+        }
+        return new IfNode(condition, block(thenStatements), elseStatements != null ? block(elseStatements) : null);
+    }
+
+    @Override
+    public Node visitForLoop(GLangParser.ForLoopContext ctx) {
+        StatementNode initialization = statement(ctx.initialization().getChild(0));
+        GLangParser.ConditionContext condition = ctx.condition();
+        return new ForLoopNode(initialization,
+                comparison(condition.expression(0), condition.relationOp(), condition.expression(1), false),
+                statement(ctx.increment()),
+                profileLoop(ctx, block(ctx.statement())));
+    }
+
+    @Override
+    public Node visitForEachLoop(GLangParser.ForEachLoopContext ctx) {
+        // The loop variable is assigned for every element, also when it has a type
+        return new ForEachLoopNode(global(ctx.ID().getText()), expression(ctx.expression()),
+                profileLoop(ctx, block(ctx.statement())));
+    }
+
+    @Override
+    public Node visitIncrement(GLangParser.IncrementContext ctx) {
+        VariableNode target = global(ctx.ID(0).getText());
+        int amount = ctx.INT() != null ? Integer.parseInt(ctx.INT().getText()) : 1;
+
+        return switch (ctx.getChild(1).getText()) {
+            case "++", "+=" -> new IncrementNode(target, target, amount);
+            case "--", "-=" -> new IncrementNode(target, target, -amount);
+            // i = j + n, i = j - n
+            case "=" -> new IncrementNode(target, variable(ctx.ID(1).getText()),
+                    ctx.intAddOp().getText().equals("-") ? -amount : amount);
+            default -> throw new GLangException("Unknown operator: " + ctx.getChild(1).getText());
+        };
+    }
+
+    @Override
+    public Node visitSwitchStatement(GLangParser.SwitchStatementContext ctx) {
+        List<GLangParser.CaseStatementContext> cases = ctx.caseStatement();
+        ExpressionNode[] caseValues = new ExpressionNode[cases.size()];
+        BlockNode[] caseBlocks = new BlockNode[cases.size()];
+        for (int i = 0; i < cases.size(); i++) {
+            caseValues[i] = expression(cases.get(i).expression());
+            caseBlocks[i] = block(cases.get(i).statement());
+        }
+        BlockNode defaultBlock = ctx.defaultStatement() != null ? block(ctx.defaultStatement().statement()) : null;
+
+        return new SwitchNode(expression(ctx.expression()), caseValues, caseBlocks, defaultBlock);
+    }
+
+    @Override
+    public Node visitReturnStatement(GLangParser.ReturnStatementContext ctx) {
+        GLangParser.FunctionCallContext call = returnedCall(ctx);
+        // Returning the result of a call from a function is a tail call, which runs without growing the stack
+        if (locals != null && call != null && functions.containsKey(call.ID().getText())) {
+            List<GLangParser.ExpressionContext> arguments = call.expressionList() != null
+                    ? call.expressionList().expression()
+                    : List.of();
+            String name = call.ID().getText();
+            ExpressionNode[] values = expressions(arguments);
+            ExpressionNode inlined = inline(name, values);
+            if (inlined != null) {
+                return new ReturnNode(inlined);
+            }
+            return new TailCallNode(name, functions.get(name), values);
+        }
+        return new ReturnNode(ctx.expression() != null ? expression(ctx.expression()) : null);
+    }
+
+    // The call whose result a return statement returns directly, or null
+    public static GLangParser.FunctionCallContext returnedCall(GLangParser.ReturnStatementContext ctx) {
+        GLangParser.ExpressionContext expression = ctx.expression();
+        while (expression instanceof GLangParser.ParenthesesExpressionContext parentheses) {
+            expression = parentheses.expression();
+        }
+        return expression instanceof GLangParser.FunctionCallExpressionContext call ? call.functionCall() : null;
+    }
+
+    @Override
+    public Node visitFunctionCallExpression(GLangParser.FunctionCallExpressionContext ctx) {
+        return visit(ctx.functionCall());
+    }
+
+    @Override
+    public Node visitFunctionCall(GLangParser.FunctionCallContext ctx) {
+        String name = ctx.ID().getText();
+        List<GLangParser.ExpressionContext> arguments = ctx.expressionList() != null
+                ? ctx.expressionList().expression()
+                : List.of();
+
+        if (isLoad(name, functions.containsKey(name), arguments)) {
+            return new LoadNode(expression(arguments.get(0)));
+        }
+        ExpressionNode[] values = expressions(arguments);
+        ExpressionNode inlined = inline(name, values);
+        if (inlined != null) {
+            return inlined;
+        }
+        // An unknown function is reported only when the call is executed
+        return new CallNode(name, functions.get(name), values);
+    }
+
+    // A function can be inlined when its body only returns a short expression that calls no function
+    private static boolean isInlinable(GLangParser.FunctionDeclarationContext function) {
+        List<GLangParser.StatementContext> statements = function.functionBody().statement();
+        if (statements.size() != 1 || statements.get(0).returnStatement() == null) {
+            return false;
+        }
+        GLangParser.ExpressionContext expression = statements.get(0).returnStatement().expression();
+        return expression != null && size(expression) <= MAX_INLINED_SIZE;
+    }
+
+    // Number of tokens in the expression, or more than the inlining limit when it calls a function
+    private static int size(ParseTree tree) {
+        if (tree instanceof GLangParser.FunctionCallContext) {
+            return MAX_INLINED_SIZE + 1;
+        }
+        int size = tree instanceof TerminalNode ? 1 : 0;
+        for (int i = 0; i < tree.getChildCount(); i++) {
+            size += size(tree.getChild(i));
+        }
+        return size;
+    }
+
+    // The returned expression of the function run in place of the call, or null when the call has to stay a call
+    private ExpressionNode inline(String name, ExpressionNode[] arguments) {
+        GLangParser.FunctionDeclarationContext function = inlinable.get(name);
+        if (function == null) {
+            return null;
+        }
+        List<TerminalNode> parameters = function.paramList() != null ? function.paramList().ID() : List.of();
+        if (arguments.length != parameters.size()) {
+            return null;
+        }
+        GLangParser.ExpressionContext expression = function.functionBody().statement(0).returnStatement().expression();
+
+        Map<String, Integer> callerLocals = locals;
+        Map<String, ExpressionNode> callerArguments = inlinedArguments;
+        try {
+            // Constants and parameters of the caller can stand for the parameters when the expression reads
+            // nothing else: no code runs in between, so nothing can change what they read
+            if (Arrays.stream(arguments).allMatch(argument -> argument instanceof ConstantNode
+                    || argument instanceof LocalVariableNode) && readsOnly(expression, parameters)) {
+                Map<String, ExpressionNode> bound = new HashMap<>();
+                for (int i = 0; i < arguments.length; i++) {
+                    bound.put(parameters.get(i).getText(), arguments[i]);
+                }
+                locals = Map.of();
+                inlinedArguments = bound;
+                return expression(expression);
+            }
+            // Otherwise the arguments are evaluated first and in order, as for a call
+            locals = new HashMap<>();
+            for (TerminalNode parameter : parameters) {
+                locals.put(parameter.getText(), locals.size());
+            }
+            inlinedArguments = null;
+            return new InlinedCallNode(name, arguments, expression(expression));
+        } finally {
+            locals = callerLocals;
+            inlinedArguments = callerArguments;
+        }
+    }
+
+    private static boolean readsOnly(ParseTree tree, List<TerminalNode> parameters) {
+        if (tree instanceof GLangParser.IdExpressionContext id) {
+            return parameters.stream().anyMatch(parameter -> parameter.getText().equals(id.ID().getText()));
+        }
+        for (int i = 0; i < tree.getChildCount(); i++) {
+            if (!readsOnly(tree.getChild(i), parameters)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // load("file") is a builtin unless the program declares its own load function
+    public static boolean isLoad(String name, boolean declared, List<GLangParser.ExpressionContext> arguments) {
+        return name.equals("load") && !declared && arguments.size() == 1;
+    }
+
+    @Override
+    public Node visitArrayLiteralExpression(GLangParser.ArrayLiteralExpressionContext ctx) {
+        return visit(ctx.arrayLiteral());
+    }
+
+    @Override
+    public Node visitArrayLiteral(GLangParser.ArrayLiteralContext ctx) {
+        String[] names = recordNames(ctx);
+        if (names != null) {
+            // Records sharing the same properties are stored column by column
+            ExpressionNode[][] records = new ExpressionNode[ctx.arrayElement().size()][];
+            for (int row = 0; row < records.length; row++) {
+                records[row] = expressions(ctx.arrayElement(row).objectLiteral().property().stream()
+                        .map(GLangParser.PropertyContext::expression).toList());
+            }
+            return new RecordArrayLiteralNode(names, records);
+        }
+        return new ArrayLiteralNode(expressions(ctx.arrayElement()));
+    }
+
+    @Override
+    public Node visitArrayElement(GLangParser.ArrayElementContext ctx) {
+        return visit(ctx.getChild(0));
+    }
+
+    @Override
+    public Node visitObjectLiteral(GLangParser.ObjectLiteralContext ctx) {
+        List<GLangParser.PropertyContext> properties = ctx.property();
+        String[] names = new String[properties.size()];
+        ExpressionNode[] values = new ExpressionNode[properties.size()];
+        for (int i = 0; i < properties.size(); i++) {
+            names[i] = properties.get(i).ID().getText();
+            values[i] = expression(properties.get(i).expression());
+        }
+        return new ObjectLiteralNode(names, values);
+    }
+
+    @Override
+    public Node visitFilterRulesStatement(GLangParser.FilterRulesStatementContext ctx) {
+        List<Map<String, Object>> filterRules = new ArrayList<>();
+        for (GLangParser.FilterRuleContext rule : ctx.filterRule()) {
+            Map<String, Object> filterRule = new HashMap<>();
+            filterRule.put("type", unquote(rule.STRING(0)));
+            filterRule.put("property", unquote(rule.STRING(1)));
+            filterRule.put("value", unquote(rule.STRING(2)));
+            filterRules.add(Collections.unmodifiableMap(filterRule));
+        }
+        return new FilterRulesNode(global(ctx.ID().getText()), Collections.unmodifiableList(filterRules));
+    }
+
+    @Override
+    public Node visitZenFilterStatement(GLangParser.ZenFilterStatementContext ctx) {
+        return new ZenFilterNode(global(ctx.ID(0).getText()), variable(ctx.ID(1).getText()), variable(ctx.ID(2).getText()));
+    }
+
+    private ExpressionNode comparison(GLangParser.ExpressionContext leftCtx, GLangParser.RelationOpContext op,
+                                      GLangParser.ExpressionContext rightCtx, boolean allowStrings) {
+        ExpressionNode left = expression(leftCtx);
+        ExpressionNode right = expression(rightCtx);
+        // Equality against an int operand can only succeed for ints, so it takes the unboxed path
+        boolean generic = allowStrings && !left.isInt() && !right.isInt();
+        return fold(switch (op.getText()) {
+            case "==" -> generic ? new EqualNode(left, right, false) : new IntEqualNode(left, right);
+            case "!=" -> generic ? new EqualNode(left, right, true) : new IntNotEqualNode(left, right);
+            case "<" -> new IntLessNode(left, right);
+            case "<=" -> new IntLessOrEqualNode(left, right);
+            case ">" -> new IntGreaterNode(left, right);
+            case ">=" -> new IntGreaterOrEqualNode(left, right);
+            default -> throw new GLangException("Unknown operator: " + op.getText());
+        }, left, right);
+    }
+
+    // An operation on constants is replaced by its result, unless it fails and has to fail when executed
+    private ExpressionNode fold(ExpressionNode operation, ExpressionNode left, ExpressionNode right) {
+        if (!optimize || !(left instanceof ConstantNode) || !(right instanceof ConstantNode)) {
+            return operation;
+        }
+        try {
+            return new ConstantNode(operation.execute(null));
+        } catch (RuntimeException e) {
+            return operation;
+        }
+    }
+
+    // Function parameters shadow global variables when they are read
+    private VariableNode variable(String name) {
+        Integer slot = locals != null ? locals.get(name) : null;
+        if (slot != null) {
+            return new LocalVariableNode(name, slot);
+        }
+        return global(name);
+    }
+
+    // Declarations and writes always go to global variables, also inside functions
+    private GlobalVariableNode global(String name) {
+        return new GlobalVariableNode(name, symbolTable.slotOf(name));
+    }
+
+    private ExpressionNode expression(ParseTree ctx) {
+        return (ExpressionNode) visit(ctx);
+    }
+
+    private ExpressionNode[] expressions(List<? extends ParseTree> contexts) {
+        return contexts.stream().map(this::expression).toArray(ExpressionNode[]::new);
+    }
+
+    private StatementNode statement(ParseTree ctx) {
+        return (StatementNode) visit(ctx);
+    }
+
+    private BlockNode block(List<GLangParser.StatementContext> statements) {
+        return new BlockNode(statements.stream().map(ctx -> profileLine(ctx, statement(ctx))).toArray(StatementNode[]::new));
+    }
+
+    // Blocks left by if statements with a constant condition are not statements of their own
+    private StatementNode profileLine(GLangParser.StatementContext ctx, StatementNode statement) {
+        if (!profile || statement instanceof BlockNode) {
+            return statement;
+        }
+        return new LineProfileNode(ctx.getStart().getLine(), statement);
+    }
+
+    private BlockNode profileCall(String function, BlockNode body) {
+        return profile ? new BlockNode(new StatementNode[]{new CallProfileNode(function, body)}) : body;
+    }
+
+    private BlockNode profileLoop(ParserRuleContext loop, BlockNode body) {
+        return profile ? new BlockNode(new StatementNode[]{new LoopProfileNode(loop.getStart().getLine(), body)}) : body;
+    }
+
+    // readf("file") reads the first line, readf("file", "lines") all lines of the file one at a time
+    public static boolean readsLines(GLangParser.ReadfStatementContext ctx) {
+        if (ctx.STRING().size() < 2) {
+            return false;
+        }
+        String mode = unquote(ctx.STRING(1));
+        return switch (mode) {
+            case "line" -> false;
+            case "lines" -> true;
+            default -> throw new GLangException("Unknown readf mode: " + mode);
+        };
+    }
+
+    // Property names shared by all elements of the array, or null unless every element is such a record
+    public static String[] recordNames(GLangParser.ArrayLiteralContext ctx) {
+        String[] names = null;
+        for (GLangParser.ArrayElementContext element : ctx.arrayElement()) {
+            if (element.objectLiteral() == null) {
+                return null;
+            }
+            String[] elementNames = element.objectLiteral().property().stream()
+                    .map(property -> property.ID().getText())
+                    .toArray(String[]::new);
+            if (names == null) {
+                if (new HashSet<>(Arrays.asList(elementNames)).size() != elementNames.length) {
+                    return null;
+                }
+                names = elementNames;
+            } else if (!Arrays.equals(names, elementNames)) {
+                return null;
+            }
+        }
+        return names;
+    }
+
+    private static String unquote(TerminalNode string) {
+        String text = string.getText();
+        // Remove the leading and trailing quotation marks
+        return text.substring(1, text.length() - 1);
+    }
+}
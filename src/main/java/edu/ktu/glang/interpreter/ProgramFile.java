@@ -0,0 +1,121 @@
+package edu.ktu.glang.interpreter;
+
+import edu.ktu.glang.interpreter.exception.GLangException;
+import edu.ktu.glang.interpreter.node.ProgramNode;
+import edu.ktu.glang.interpreter.node.ProgramReader;
+import edu.ktu.glang.interpreter.node.ProgramWriter;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.zip.CRC32C;
+
+/**
+ * Precompiled programs ({@code .glc} files): the lowered program of a script, written by {@code -compile} so
+ * that running it skips lexing, parsing and compiling. After a magic number and the format version, the header
+ * holds a CRC32C of the rest of the file, the SHA-256 of the source and its file name. Files are memory-mapped
+ * and decoded in place; a file of another format version, a corrupted one and one whose source has changed
+ * since it was compiled are rejected.
+ */
+public final class ProgramFile {
+
+    public static final String EXTENSION = ".glc";
+    // Changes whenever the encoding of a node does
+    public static final int VERSION = 2;
+
+    // "GLC" and a zero byte
+    private static final int MAGIC = 0x474C4300;
+    private static final int HASH_LENGTH = 32;
+
+    private ProgramFile() {
+    }
+
+    // The .glc file next to the source, with the extension of the source replaced
+    public static Path pathOf(Path source) {
+        String name = source.getFileName().toString();
+        int extension = name.lastIndexOf('.');
+        return source.resolveSibling((extension > 0 ? name.substring(0, extension) : name) + EXTENSION);
+    }
+
+    public static void write(ProgramNode program, Path source, Path target) throws IOException {
+        byte[] name = source.getFileName().toString().getBytes(StandardCharsets.UTF_8);
+        byte[] nodes = ProgramWriter.write(program);
+        ByteBuffer body = ByteBuffer.allocate(HASH_LENGTH + Short.BYTES + name.length + nodes.length)
+                .put(hash(source))
+                .putShort((short) name.length)
+                .put(name)
+                .put(nodes)
+                .flip();
+
+        CRC32C checksum = new CRC32C();
+        checksum.update(body.duplicate());
+        ByteBuffer header = ByteBuffer.allocate(4 * Integer.BYTES)
+                .putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt((int) checksum.getValue())
+                .putInt(body.remaining())
+                .flip();
+        try (FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            channel.write(new ByteBuffer[]{header, body});
+        }
+    }
+
+    public static ProgramNode read(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.remaining() < 4 * Integer.BYTES || buffer.getInt() != MAGIC) {
+            throw new GLangException(file + " is not a compiled GLang program.");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new GLangException(String.format("%s was compiled for format version %d, this interpreter reads "
+                    + "version %d. Compile it again.", file, version, VERSION));
+        }
+        int expectedChecksum = buffer.getInt();
+        int length = buffer.getInt();
+        CRC32C checksum = new CRC32C();
+        checksum.update(buffer.duplicate());
+        if (length != buffer.remaining() || (int) checksum.getValue() != expectedChecksum) {
+            throw new GLangException(file + " is corrupted. Compile it again.");
+        }
+
+        byte[] sourceHash = new byte[HASH_LENGTH];
+        buffer.get(sourceHash);
+        byte[] name = new byte[buffer.getShort()];
+        buffer.get(name);
+        // Without its source next to it the program runs as compiled
+        Path source = file.resolveSibling(new String(name, StandardCharsets.UTF_8));
+        if (Files.isRegularFile(source) && !Arrays.equals(hash(source), sourceHash)) {
+            throw new GLangException(String.format("%s is stale: %s changed since it was compiled. Compile it again.",
+                    file, source.getFileName()));
+        }
+
+        try {
+            return ProgramReader.read(buffer);
+        } catch (BufferUnderflowException | ClassCastException | ArrayIndexOutOfBoundsException e) {
+            // The checksum matched, so the file was written by an incompatible build of the same version
+            throw new GLangException(file + " could not be decoded. Compile it again.");
+        }
+    }
+
+    private static byte[] hash(Path source) throws IOException {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(Files.readAllBytes(source));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package edu.ktu.glang.interpreter;
+
+import edu.ktu.glang.GLangParser;
+import edu.ktu.glang.interpreter.exception.GLangException;
+import org.antlr.v4.runtime.tree.ParseTree;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds the functions of a program whose result depends only on their arguments: they do not print or read
+ * files, do not read or write global variables and only call such functions. Their results are memoized,
+ * unless the function is annotated with {@code @nomemo} or calls no function at all: such a function does
+ * little more work than looking up its result would, so it is only memoized when annotated with {@code @memo}.
+ */
+public final class PurityAnalysis {
+
+    public static final String MEMO = "memo";
+    public static final String NO_MEMO = "nomemo";
+
+    private PurityAnalysis() {
+    }
+
+    // The functions are those of a program, or of every program of a session, declared once each
+    public static Set<String> pureFunctions(Collection<GLangParser.FunctionDeclarationContext> functions) {
+        Map<String, Set<String>> callees = new HashMap<>();
+        for (GLangParser.FunctionDeclarationContext function : functions) {
+            Set<String> parameters = new HashSet<>();
+            if (function.paramList() != null) {
+                function.paramList().ID().forEach(parameter -> parameters.add(parameter.getText()));
+            }
+            Set<String> called = new HashSet<>();
+            if (isPure(function.functionBody(), parameters, called)) {
+                callees.put(function.ID().getText(), called);
+            }
+        }
+
+        // Drop functions calling anything that is not pure until nothing changes; recursion stays pure
+        boolean changed = true;
+        while (changed) {
+            changed = callees.values().removeIf(called -> !callees.keySet().containsAll(called));
+        }
+        return callees.keySet();
+    }
+
+    // The functions that are memoized, among the pure ones
+    public static Set<String> memoizedFunctions(Collection<GLangParser.FunctionDeclarationContext> functions,
+                                                Set<String> pure) {
+        Set<String> memoized = new HashSet<>();
+        for (GLangParser.FunctionDeclarationContext function : functions) {
+            String name = function.ID().getText();
+            if (isMemoized(function) && pure.contains(name)) {
+                memoized.add(name);
+            }
+        }
+        return memoized;
+    }
+
+    // The functions of the program; a function declared again replaces the earlier declaration
+    public static Collection<GLangParser.FunctionDeclarationContext> declarations(GLangParser.ProgramContext ctx) {
+        Map<String, GLangParser.FunctionDeclarationContext> declarations = new LinkedHashMap<>();
+        for (GLangParser.LineContext line : ctx.line()) {
+            GLangParser.FunctionDeclarationContext function = line.functionDeclaration();
+            if (function != null) {
+                declarations.put(function.ID().getText(), function);
+            }
+        }
+        return declarations.values();
+    }
+
+    private static boolean isMemoized(GLangParser.FunctionDeclarationContext function) {
+        boolean memoized = calls(function.functionBody());
+        for (GLangParser.AnnotationContext annotation : function.annotation()) {
+            switch (annotation.ID().getText()) {
+                case MEMO -> memoized = true;
+                case NO_MEMO -> memoized = false;
+                default -> throw new GLangException("Unknown annotation: @" + annotation.ID().getText());
+            }
+        }
+        return memoized;
+    }
+
+    // Recursive functions and those calling others are worth memoizing
+    private static boolean calls(ParseTree tree) {
+        if (tree instanceof GLangParser.FunctionCallContext) {
+            return true;
+        }
+        for (int i = 0; i < tree.getChildCount(); i++) {
+            if (calls(tree.getChild(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isPure(ParseTree tree, Set<String> parameters, Set<String> called) {
+        if (tree instanceof GLangParser.PrintStatementContext
+                || tree instanceof GLangParser.PrintFunctionCallContext
+                || tree instanceof GLangParser.PrintArrayStatementContext
+                || tree instanceof GLangParser.PrintFileStatementContext
+                || tree instanceof GLangParser.ReadfStatementContext
+                || tree instanceof GLangParser.ZenFilterStatementContext
+                || tree instanceof GLangParser.FilterRulesStatementContext
+                // Declarations and writes always go to global variables, also when a parameter has the same name
+                || tree instanceof GLangParser.VariableDeclarationContext
+                || tree instanceof GLangParser.AssignmentContext
+                || tree instanceof GLangParser.IncrementContext
+                || tree instanceof GLangParser.ForEachLoopContext) {
+            return false;
+        } else if (tree instanceof GLangParser.IdExpressionContext id) {
+            if (!parameters.contains(id.ID().getText())) {
+                return false;
+            }
+        } else if (tree instanceof GLangParser.FunctionCallContext call) {
+            called.add(call.ID().getText());
+        }
+
+        for (int i = 0; i < tree.getChildCount(); i++) {
+            if (!isPure(tree.getChild(i), parameters, called)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
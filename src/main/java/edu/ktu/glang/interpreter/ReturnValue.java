@@ -1,8 +0,0 @@
-package edu.ktu.glang.interpreter;
-
-public record ReturnValue(Object value) {
-
-    public Object getValue() {
-        return value;
-    }
-}
@@ -1,24 +1,90 @@
 package edu.ktu.glang.interpreter;
 
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
 public class SymbolTable {
-    private final Map<String, Object> table;
+    // Marks a slot whose value is held in the int array
+    private static final Object INT = new Object();
+
+    private final Map<String, Integer> slots;
+    private Object[] values;
+    private int[] ints;
 
     public SymbolTable() {
-        table = new HashMap<>();
+        slots = new HashMap<>();
+        values = new Object[16];
+        ints = new int[16];
+    }
+
+    // Slots are assigned while a program is compiled, at runtime globals are accessed by index only
+    public int slotOf(String name) {
+        Integer slot = slots.get(name);
+        if (slot == null) {
+            slot = slots.size();
+            slots.put(name, slot);
+            if (slot == values.length) {
+                values = Arrays.copyOf(values, values.length * 2);
+                ints = Arrays.copyOf(ints, ints.length * 2);
+            }
+        }
+        return slot;
+    }
+
+    // Global names ordered by slot, a program compiled against this table expects exactly this layout
+    public String[] getNames() {
+        String[] names = new String[slots.size()];
+        slots.forEach((name, slot) -> names[slot] = name);
+        return names;
+    }
+
+    // Recreates the slot layout of a cached program in an empty table
+    public void bind(String[] names) {
+        for (int i = 0; i < names.length; i++) {
+            if (slotOf(names[i]) != i) {
+                throw new IllegalStateException("Symbol table layout does not match the compiled program");
+            }
+        }
+    }
+
+    public Object get(int slot) {
+        Object value = values[slot];
+        return value == INT ? Integer.valueOf(ints[slot]) : value;
+    }
+
+    public void put(int slot, Object value) {
+        values[slot] = value;
+    }
+
+    public boolean contains(int slot) {
+        return values[slot] != null;
+    }
+
+    public boolean isInt(int slot) {
+        return values[slot] == INT;
+    }
+
+    public int getInt(int slot) {
+        return ints[slot];
+    }
+
+    public void putInt(int slot, int value) {
+        values[slot] = INT;
+        ints[slot] = value;
     }
 
     public void put(String name, Object value) {
-        table.put(name, value);
+        put(slotOf(name), value);
     }
 
     public Object get(String name) {
-        return table.get(name);
+        Integer slot = slots.get(name);
+        return slot != null ? get(slot) : null;
     }
 
     public boolean contains(String name) {
-        return table.containsKey(name);
+        Integer slot = slots.get(name);
+        return slot != null && contains(slot);
     }
 }
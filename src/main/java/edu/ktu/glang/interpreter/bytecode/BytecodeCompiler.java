@@ -0,0 +1,767 @@
+package edu.ktu.glang.interpreter.bytecode;
+
+import edu.ktu.glang.GLangBaseVisitor;
+import edu.ktu.glang.GLangParser;
+import edu.ktu.glang.interpreter.GLangArray;
+import edu.ktu.glang.interpreter.InterpreterVisitor;
+import edu.ktu.glang.interpreter.MemoTable;
+import edu.ktu.glang.interpreter.ProgramCompiler;
+import edu.ktu.glang.interpreter.PurityAnalysis;
+import edu.ktu.glang.interpreter.SymbolTable;
+import edu.ktu.glang.interpreter.exception.GLangException;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.TerminalNode;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.*;
+
+import static org.objectweb.asm.Opcodes.*;
+
+/**
+ * Compiles a program into a hidden JVM class. Every function becomes a static method taking the interpreter
+ * (which holds output, globals and files) followed by its parameters, the top level statements become the
+ * {@code $main} method. Int expressions stay unboxed on the operand stack, everything else is an Object.
+ */
+public class BytecodeCompiler extends GLangBaseVisitor<Type> {
+
+    private static final String CLASS_NAME = "edu/ktu/glang/interpreter/bytecode/GLangProgram";
+    private static final String MAIN = "$main";
+    private static final String BODY = "$body";
+    private static final String INTERPRETER = Type.getInternalName(InterpreterVisitor.class);
+    private static final String RUNTIME = Type.getInternalName(CompiledRuntime.class);
+    private static final String ARRAY = Type.getInternalName(GLangArray.class);
+    private static final String MEMO_TABLE = Type.getInternalName(MemoTable.class);
+    private static final String OBJECT = "Ljava/lang/Object;";
+
+    private final SymbolTable symbolTable;
+    private final Map<String, Integer> functions = new HashMap<>();
+    private int memoSlots;
+
+    private MethodVisitor mv;
+    // Parameter locals of the function being compiled, null at the top level
+    private Map<String, Integer> locals;
+    private int nextLocal;
+    // Self tail calls jump back to the start of the function being compiled
+    private String functionName;
+    private Label functionStart;
+
+    public BytecodeCompiler(SymbolTable symbolTable) {
+        this.symbolTable = symbolTable;
+    }
+
+    public CompiledProgram compile(GLangParser.ProgramContext ctx) {
+        // A native executable cannot define classes at run time
+        if (System.getProperty("org.graalvm.nativeimage.imagecode") != null) {
+            throw new GLangException("Compiling to bytecode (-c) is not available in the native executable.");
+        }
+        byte[] bytes = generate(ctx);
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(bytes, true);
+            MethodHandle main = lookup.findStatic(lookup.lookupClass(), MAIN,
+                    MethodType.methodType(void.class, InterpreterVisitor.class));
+            return new CompiledProgram(main);
+        } catch (IllegalAccessException | NoSuchMethodException e) {
+            throw new IllegalStateException("Cannot load compiled program", e);
+        }
+    }
+
+    byte[] generate(GLangParser.ProgramContext ctx) {
+        ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS) {
+            @Override
+            protected String getCommonSuperClass(String type1, String type2) {
+                // Generated code only merges values that are used as plain Objects
+                return "java/lang/Object";
+            }
+        };
+        cw.visit(V17, ACC_PUBLIC | ACC_FINAL | ACC_SUPER, CLASS_NAME, null, "java/lang/Object", null);
+
+        // A function declared again replaces the earlier declaration, as in the interpreter
+        Collection<GLangParser.FunctionDeclarationContext> declarations = PurityAnalysis.declarations(ctx);
+        for (GLangParser.FunctionDeclarationContext function : declarations) {
+            functions.put(function.ID().getText(), parameters(function).size());
+        }
+
+        Set<String> memoized = PurityAnalysis.memoizedFunctions(declarations, PurityAnalysis.pureFunctions(declarations));
+        for (GLangParser.FunctionDeclarationContext function : declarations) {
+            List<String> parameters = parameters(function);
+            locals = new HashMap<>();
+            for (String parameter : parameters) {
+                locals.put(parameter, locals.size() + 1);
+            }
+            String name = function.ID().getText();
+            if (memoized.contains(name)) {
+                memoWrapper(cw, name, parameters.size());
+                name += BODY;
+            }
+            beginMethod(cw, name, functionDescriptor(parameters.size()), parameters.size() + 1);
+            functionName = function.ID().getText();
+            functionStart = new Label();
+            mv.visitLabel(functionStart);
+            for (GLangParser.StatementContext statement : function.functionBody().statement()) {
+                visit(statement);
+            }
+            mv.visitInsn(ACONST_NULL);
+            mv.visitInsn(ARETURN);
+            endMethod();
+            locals = null;
+        }
+
+        beginMethod(cw, MAIN, "(L" + INTERPRETER + ";)V", 1);
+        for (GLangParser.LineContext line : ctx.line()) {
+            if (line.statement() != null) {
+                visit(line.statement());
+            }
+        }
+        mv.visitInsn(RETURN);
+        endMethod();
+
+        cw.visitEnd();
+        return cw.toByteArray();
+    }
+
+    // Calls of a pure function go through a method that looks up the result before running the body
+    private void memoWrapper(ClassWriter cw, String name, int parameterCount) {
+        int slot = memoSlots++;
+        String descriptor = functionDescriptor(parameterCount);
+        beginMethod(cw, name, descriptor, parameterCount + 1);
+        int arguments = nextLocal++;
+        int result = nextLocal++;
+        mv.visitLdcInsn(parameterCount);
+        mv.visitTypeInsn(ANEWARRAY, "java/lang/Object");
+        for (int i = 0; i < parameterCount; i++) {
+            mv.visitInsn(DUP);
+            mv.visitLdcInsn(i);
+            mv.visitVarInsn(ALOAD, i + 1);
+            mv.visitInsn(AASTORE);
+        }
+        mv.visitVarInsn(ASTORE, arguments);
+
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitLdcInsn(slot);
+        mv.visitLdcInsn(name);
+        mv.visitVarInsn(ALOAD, arguments);
+        mv.visitMethodInsn(INVOKESTATIC, RUNTIME, "memoGet",
+                "(L" + INTERPRETER + ";ILjava/lang/String;[" + OBJECT + ")" + OBJECT, false);
+        mv.visitVarInsn(ASTORE, result);
+        mv.visitVarInsn(ALOAD, result);
+        mv.visitFieldInsn(GETSTATIC, MEMO_TABLE, "MISS", OBJECT);
+        Label miss = new Label();
+        mv.visitJumpInsn(IF_ACMPEQ, miss);
+        mv.visitVarInsn(ALOAD, result);
+        mv.visitInsn(ARETURN);
+
+        mv.visitLabel(miss);
+        for (int i = 0; i <= parameterCount; i++) {
+            mv.visitVarInsn(ALOAD, i);
+        }
+        mv.visitMethodInsn(INVOKESTATIC, CLASS_NAME, name + BODY, descriptor, false);
+        mv.visitVarInsn(ASTORE, result);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitLdcInsn(slot);
+        mv.visitVarInsn(ALOAD, arguments);
+        mv.visitVarInsn(ALOAD, result);
+        mv.visitMethodInsn(INVOKESTATIC, RUNTIME, "memoPut",
+                "(L" + INTERPRETER + ";I[" + OBJECT + OBJECT + ")V", false);
+        mv.visitVarInsn(ALOAD, result);
+        mv.visitInsn(ARETURN);
+        endMethod();
+    }
+
+    private void beginMethod(ClassWriter cw, String name, String descriptor, int firstFreeLocal) {
+        mv = cw.visitMethod(ACC_STATIC, name, descriptor, null, null);
+        mv.visitCode();
+        nextLocal = firstFreeLocal;
+    }
+
+    private void endMethod() {
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+        mv = null;
+    }
+
+    // ---------------------------------------------------------------- statements
+
+    @Override
+    public Type visitStatement(GLangParser.StatementContext ctx) {
+        if (ctx.functionCall() != null) {
+            visit(ctx.functionCall());
+            mv.visitInsn(POP);
+            return null;
+        }
+        return visit(ctx.getChild(0));
+    }
+
+    @Override
+    public Type visitVariableDeclaration(GLangParser.VariableDeclarationContext ctx) {
+        String name = ctx.ID().getText();
+        boolean isInt = isInt(ctx.expression());
+        if (isInt) {
+            integer(ctx.expression());
+        } else {
+            object(ctx.expression());
+        }
+        // Declarations always create global variables, also inside functions
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitLdcInsn(symbolTable.slotOf(name));
+        mv.visitLdcInsn(name);
+        mv.visitMethodInsn(INVOKESTATIC, RUNTIME, isInt ? "declareGlobalInt" : "declareGlobal",
+                "(" + (isInt ? "I" : OBJECT) + "L" + INTERPRETER + ";ILjava/lang/String;)V", false);
+        return null;
+    }
+
+    @Override
+    public Type visitAssignment(GLangParser.AssignmentContext ctx) {
+        if (isInt(ctx.expression())) {
+            integer(ctx.expression());
+            assign(ctx.ID().getText(), Type.INT_TYPE);
+        } else {
+            object(ctx.expression());
+            mv.visitMethodInsn(INVOKESTATIC, RUNTIME, "checkAssignable", "(" + OBJECT + ")" + OBJECT, false);
+            assign(ctx.ID().getText(), Type.getType(Object.class));
+        }
+        return null;
+    }
+
+    @Override
+    public Type visitPrintStatement(GLangParser.PrintStatementContext ctx) {
+        mv.visitVarInsn(ALOAD, 0);
+        Type type = visit(ctx.expression());
+        mv.visitMethodInsn(INVOKEVIRTUAL, INTERPRETER, "print", "(" + type.getDescriptor() + ")V", false);
+        return null;
+    }
+
+    @Override
+    public Type visitPrintArrayStatement(GLangParser.PrintArrayStatementContext ctx) {
+        mv.visitVarInsn(ALOAD, 0);
+        load(ctx.ID().getText());
+        mv.visitMethodInsn(INVOKEVIRTUAL, INTERPRETER, "print", "(" + OBJECT + ")V", false);
+        return null;
+    }
+
+    @Override
+    public Type visitPrintFunctionCall(GLangParser.PrintFunctionCallContext ctx) {
+        // print without a semicolon only evaluates its argument
+        Type type = visit(ctx.expression());
+        mv.visitInsn(type.getSize() == 1 ? POP : POP2);
+        return null;
+    }
+
+    @Override
+    public Type visitPrintFileStatement(GLangParser.PrintFileStatementContext ctx) {
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitLdcInsn(ctx.STRING().getText().replaceAll("\"", ""));
+        object(ctx.expression());
+        mv.visitMethodInsn(INVOKEVIRTUAL, INTERPRETER, "printToFile", "(Ljava/lang/String;" + OBJECT + ")V", false);
+        return null;
+    }
+
+    @Override
+    public Type visitReadfStatement(GLangParser.ReadfStatementContext ctx) {
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitLdcInsn(ctx.STRING(0).getText().replaceAll("\"", ""));
+        if (ProgramCompiler.readsLines(ctx)) {
+            mv.visitMethodInsn(INVOKEVIRTUAL, INTERPRETER, "readLines", "(Ljava/lang/String;)Ljava/lang/Iterable;", false);
+        } else {
+            mv.visitMethodInsn(INVOKEVIRTUAL, INTERPRETER, "readFile", "(Ljava/lang/String;)Ljava/lang/String;", false);
+        }
+        store(ctx.ID().getText(), Type.getType(Object.class));
+        return null;
+    }
+
+    @Override
+    public Type visitIfStatement(GLangParser.IfStatementContext ctx) {
+        List<GLangParser.StatementContext> thenStatements = new ArrayList<>();
+        List<GLangParser.StatementContext> elseStatements = new ArrayList<>();
+        boolean inElse = false;
+        for (ParseTree child : ctx.children) {
+            if (child instanceof TerminalNode terminal && terminal.getText().equals("else")) {
+                inElse = true;
+            } else if (child instanceof GLangParser.StatementContext statement) {
+                (inElse ? elseStatements : thenStatements).add(statement);
+            }
+        }
+
+        Label elseLabel = new Label();
+        Label end = new Label();
+        jumpIfFalse(ctx.expression(0), ctx.relationOp(), ctx.expression(1), true, elseLabel);
+        thenStatements.forEach(this::visit);
+        mv.visitJumpInsn(GOTO, end);
+        mv.visitLabel(elseLabel);
+        elseStatements.forEach(this::visit);
+        mv.visitLabel(end);
+        return null;
+    }
+
+    @Override
+    public Type visitForLoop(GLangParser.ForLoopContext ctx) {
+        visit(ctx.initialization().getChild(0));
+
+        Label condition = new Label();
+        Label end = new Label();
+        mv.visitLabel(condition);
+        GLangParser.ConditionContext conditionCtx = ctx.condition();
+        jumpIfFalse(conditionCtx.expression(0), conditionCtx.relationOp(), conditionCtx.expression(1), false, end);
+        ctx.statement().forEach(this::visit);
+        visit(ctx.increment());
+        mv.visitJumpInsn(GOTO, condition);
+        mv.visitLabel(end);
+        return null;
+    }
+
+    @Override
+    public Type visitForEachLoop(GLangParser.ForEachLoopContext ctx) {
+        int iterator = nextLocal++;
+        object(ctx.expression());
+        mv.visitMethodInsn(INVOKESTATIC, RUNTIME, "iterator", "(" + OBJECT + ")Ljava/util/Iterator;", false);
+        mv.visitVarInsn(ASTORE, iterator);
+
+        Label next = new Label();
+        Label end = new Label();
+        mv.visitLabel(next);
+        mv.visitVarInsn(ALOAD, iterator);
+        mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Iterator", "hasNext", "()Z", true);
+        mv.visitJumpInsn(IFEQ, end);
+        mv.visitVarInsn(ALOAD, iterator);
+        mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Iterator", "next", "()" + OBJECT, true);
+        store(ctx.ID().getText(), Type.getType(Object.class));
+        ctx.statement().forEach(this::visit);
+        mv.visitJumpInsn(GOTO, next);
+        mv.visitLabel(end);
+        return null;
+    }
+
+    @Override
+    public Type visitIncrement(GLangParser.IncrementContext ctx) {
+        String target = ctx.ID(0).getText();
+        int amount = ctx.INT() != null ? Integer.parseInt(ctx.INT().getText()) : 1;
+        String source = target;
+        int delta = switch (ctx.getChild(1).getText()) {
+            case "++", "+=" -> amount;
+            case "--", "-=" -> -amount;
+            default -> {
+                // i = j + n, i = j - n
+                source = ctx.ID(1).getText();
+                yield ctx.intAddOp().getText().equals("-") ? -amount : amount;
+            }
+        };
+
+        if (source.equals(target)) {
+            loadGlobalInt(target);
+        } else {
+            loadInt(source);
+        }
+        mv.visitLdcInsn(delta);
+        mv.visitInsn(IADD);
+        store(target, Type.INT_TYPE);
+        return null;
+    }
+
+    @Override
+    public Type visitSwitchStatement(GLangParser.SwitchStatementContext ctx) {
+        int value = nextLocal++;
+        object(ctx.expression());
+        mv.visitVarInsn(ASTORE, value);
+
+        // Only the first matching case is executed, there is no fall through
+        Label end = new Label();
+        for (GLangParser.CaseStatementContext caseCtx : ctx.caseStatement()) {
+            Label next = new Label();
+            mv.visitVarInsn(ALOAD, value);
+            object(caseCtx.expression());
+            mv.visitMethodInsn(INVOKESTATIC, "java/util/Objects", "equals", "(" + OBJECT + OBJECT + ")Z", false);
+            mv.visitJumpInsn(IFEQ, next);
+            caseCtx.statement().forEach(this::visit);
+            mv.visitJumpInsn(GOTO, end);
+            mv.visitLabel(next);
+        }
+        if (ctx.defaultStatement() != null) {
+            ctx.defaultStatement().statement().forEach(this::visit);
+        }
+        mv.visitLabel(end);
+        return null;
+    }
+
+    @Override
+    public Type visitReturnStatement(GLangParser.ReturnStatementContext ctx) {
+        if (locals == null) {
+            // A top level return statement stops the program
+            if (ctx.expression() != null) {
+                Type type = visit(ctx.expression());
+                mv.visitInsn(type.getSize() == 1 ? POP : POP2);
+            }
+            mv.visitInsn(RETURN);
+        } else if (isSelfTailCall(ProgramCompiler.returnedCall(ctx))) {
+            GLangParser.FunctionCallContext call = ProgramCompiler.returnedCall(ctx);
+            int parameterCount = functions.get(functionName);
+            List<GLangParser.ExpressionContext> arguments = call.expressionList() != null
+                    ? call.expressionList().expression()
+                    : List.of();
+            for (int i = 0; i < arguments.size(); i++) {
+                if (i < parameterCount) {
+                    object(arguments.get(i));
+                } else {
+                    Type type = visit(arguments.get(i));
+                    mv.visitInsn(type.getSize() == 1 ? POP : POP2);
+                }
+            }
+            // All arguments are evaluated before any parameter is overwritten
+            for (int parameter = parameterCount; parameter >= 1; parameter--) {
+                mv.visitVarInsn(ASTORE, parameter);
+            }
+            mv.visitJumpInsn(GOTO, functionStart);
+        } else {
+            if (ctx.expression() != null) {
+                object(ctx.expression());
+            } else {
+                mv.visitInsn(ACONST_NULL);
+            }
+            mv.visitInsn(ARETURN);
+        }
+        return null;
+    }
+
+    private boolean isSelfTailCall(GLangParser.FunctionCallContext call) {
+        if (call == null || !call.ID().getText().equals(functionName)) {
+            return false;
+        }
+        int argumentCount = call.expressionList() != null ? call.expressionList().expression().size() : 0;
+        return argumentCount >= functions.get(functionName);
+    }
+
+    @Override
+    public Type visitFilterRulesStatement(GLangParser.FilterRulesStatementContext ctx) {
+        newList(ctx.filterRule().size());
+        for (GLangParser.FilterRuleContext rule : ctx.filterRule()) {
+            mv.visitInsn(DUP);
+            for (int i = 0; i < 3; i++) {
+                mv.visitLdcInsn(unquote(rule.STRING(i)));
+            }
+            mv.visitMethodInsn(INVOKESTATIC, RUNTIME, "filterRule",
+                    "(Ljava/lang/String;Ljava/lang/String;Ljava/lang/String;)Ljava/util/Map;", false);
+            addToList();
+        }
+        store(ctx.ID().getText(), Type.getType(Object.class));
+        return null;
+    }
+
+    @Override
+    public Type visitZenFilterStatement(GLangParser.ZenFilterStatementContext ctx) {
+        mv.visitVarInsn(ALOAD, 0);
+        load(ctx.ID(1).getText());
+        mv.visitTypeInsn(CHECKCAST, "java/lang/Iterable");
+        load(ctx.ID(2).getText());
+        mv.visitTypeInsn(CHECKCAST, "java/util/List");
+        mv.visitMethodInsn(INVOKEVIRTUAL, INTERPRETER, "zenFilter", "(Ljava/lang/Iterable;Ljava/util/List;)Ljava/util/List;", false);
+        store(ctx.ID(0).getText(), Type.getType(Object.class));
+        return null;
+    }
+
+    // ---------------------------------------------------------------- expressions
+
+    @Override
+    public Type visitIntExpression(GLangParser.IntExpressionContext ctx) {
+        mv.visitLdcInsn(Integer.parseInt(ctx.INT().getText()));
+        return Type.INT_TYPE;
+    }
+
+    @Override
+    public Type visitBooleanExpression(GLangParser.BooleanExpressionContext ctx) {
+        String value = Boolean.parseBoolean(ctx.BOOLEAN().getText()) ? "TRUE" : "FALSE";
+        mv.visitFieldInsn(GETSTATIC, "java/lang/Boolean", value, "Ljava/lang/Boolean;");
+        return Type.getType(Object.class);
+    }
+
+    @Override
+    public Type visitStringExpression(GLangParser.StringExpressionContext ctx) {
+        mv.visitLdcInsn(unquote(ctx.STRING()));
+        return Type.getType(Object.class);
+    }
+
+    @Override
+    public Type visitIdExpression(GLangParser.IdExpressionContext ctx) {
+        load(ctx.ID().getText());
+        return Type.getType(Object.class);
+    }
+
+    @Override
+    public Type visitParenthesesExpression(GLangParser.ParenthesesExpressionContext ctx) {
+        return visit(ctx.expression());
+    }
+
+    @Override
+    public Type visitIntAddOpExpression(GLangParser.IntAddOpExpressionContext ctx) {
+        integer(ctx.expression(0));
+        integer(ctx.expression(1));
+        mv.visitInsn(ctx.intAddOp().getText().equals("+") ? IADD : ISUB);
+        return Type.INT_TYPE;
+    }
+
+    @Override
+    public Type visitIntMultiOpExpression(GLangParser.IntMultiOpExpressionContext ctx) {
+        integer(ctx.expression(0));
+        integer(ctx.expression(1));
+        mv.visitInsn(switch (ctx.intMultiOp().getText()) {
+            case "*" -> IMUL;
+            case "/" -> IDIV;
+            default -> IREM;
+        });
+        return Type.INT_TYPE;
+    }
+
+    @Override
+    public Type visitFunctionCallExpression(GLangParser.FunctionCallExpressionContext ctx) {
+        return visit(ctx.functionCall());
+    }
+
+    @Override
+    public Type visitFunctionCall(GLangParser.FunctionCallContext ctx) {
+        String name = ctx.ID().getText();
+        List<GLangParser.ExpressionContext> arguments = ctx.expressionList() != null
+                ? ctx.expressionList().expression()
+                : List.of();
+        Integer parameterCount = functions.get(name);
+
+        if (ProgramCompiler.isLoad(name, parameterCount != null, arguments)) {
+            mv.visitVarInsn(ALOAD, 0);
+            object(arguments.get(0));
+            mv.visitMethodInsn(INVOKESTATIC, "java/lang/String", "valueOf", "(" + OBJECT + ")Ljava/lang/String;", false);
+            mv.visitMethodInsn(INVOKEVIRTUAL, INTERPRETER, "load", "(Ljava/lang/String;)Ljava/lang/Iterable;", false);
+            return Type.getType(Object.class);
+        }
+        if (parameterCount == null || arguments.size() < parameterCount) {
+            // Arguments are still evaluated before the error, like in the interpreter
+            for (GLangParser.ExpressionContext argument : arguments) {
+                Type type = visit(argument);
+                mv.visitInsn(type.getSize() == 1 ? POP : POP2);
+            }
+            if (parameterCount == null) {
+                mv.visitLdcInsn(name);
+                mv.visitMethodInsn(INVOKESTATIC, RUNTIME, "functionNotDeclared",
+                        "(Ljava/lang/String;)Ljava/lang/RuntimeException;", false);
+            } else {
+                mv.visitLdcInsn(name);
+                mv.visitLdcInsn(parameterCount);
+                mv.visitLdcInsn(arguments.size());
+                mv.visitMethodInsn(INVOKESTATIC, RUNTIME, "wrongArgumentCount",
+                        "(Ljava/lang/String;II)Ljava/lang/RuntimeException;", false);
+            }
+            mv.visitInsn(ATHROW);
+            // Keeps the operand stack consistent for the code following the call
+            mv.visitInsn(ACONST_NULL);
+            return Type.getType(Object.class);
+        }
+
+        mv.visitVarInsn(ALOAD, 0);
+        for (int i = 0; i < arguments.size(); i++) {
+            if (i < parameterCount) {
+                object(arguments.get(i));
+            } else {
+                Type type = visit(arguments.get(i));
+                mv.visitInsn(type.getSize() == 1 ? POP : POP2);
+            }
+        }
+        mv.visitMethodInsn(INVOKESTATIC, CLASS_NAME, name, functionDescriptor(parameterCount), false);
+        return Type.getType(Object.class);
+    }
+
+    @Override
+    public Type visitArrayLiteralExpression(GLangParser.ArrayLiteralExpressionContext ctx) {
+        return visit(ctx.arrayLiteral());
+    }
+
+    @Override
+    public Type visitArrayLiteral(GLangParser.ArrayLiteralContext ctx) {
+        String[] names = ProgramCompiler.recordNames(ctx);
+        if (names != null) {
+            recordArray(names, ctx);
+            return Type.getType(Object.class);
+        }
+        newList(ctx.arrayElement().size());
+        for (GLangParser.ArrayElementContext element : ctx.arrayElement()) {
+            mv.visitInsn(DUP);
+            if (element.objectLiteral() != null) {
+                visit(element.objectLiteral());
+            } else {
+                object(element.expression());
+            }
+            addToList();
+        }
+        return Type.getType(Object.class);
+    }
+
+    @Override
+    public Type visitObjectLiteral(GLangParser.ObjectLiteralContext ctx) {
+        mv.visitTypeInsn(NEW, "java/util/HashMap");
+        mv.visitInsn(DUP);
+        mv.visitMethodInsn(INVOKESPECIAL, "java/util/HashMap", "<init>", "()V", false);
+        for (GLangParser.PropertyContext property : ctx.property()) {
+            mv.visitInsn(DUP);
+            mv.visitLdcInsn(property.ID().getText());
+            object(property.expression());
+            mv.visitMethodInsn(INVOKEINTERFACE, "java/util/Map", "put", "(" + OBJECT + OBJECT + ")" + OBJECT, true);
+            mv.visitInsn(POP);
+        }
+        return Type.getType(Object.class);
+    }
+
+    // ---------------------------------------------------------------- helpers
+
+    private void jumpIfFalse(GLangParser.ExpressionContext left, GLangParser.RelationOpContext op,
+                             GLangParser.ExpressionContext right, boolean allowStrings, Label target) {
+        String operator = op.getText();
+        boolean generic = allowStrings && !isInt(left) && !isInt(right)
+                && (operator.equals("==") || operator.equals("!="));
+        if (generic) {
+            object(left);
+            object(right);
+            mv.visitMethodInsn(INVOKESTATIC, RUNTIME, "equal", "(" + OBJECT + OBJECT + ")Z", false);
+            mv.visitJumpInsn(operator.equals("==") ? IFEQ : IFNE, target);
+            return;
+        }
+
+        integer(left);
+        integer(right);
+        mv.visitJumpInsn(switch (operator) {
+            case "==" -> IF_ICMPNE;
+            case "!=" -> IF_ICMPEQ;
+            case "<" -> IF_ICMPGE;
+            case "<=" -> IF_ICMPGT;
+            case ">" -> IF_ICMPLE;
+            default -> IF_ICMPLT;
+        }, target);
+    }
+
+    // Leaves the value of the expression on the stack as an Object
+    private void object(GLangParser.ExpressionContext ctx) {
+        if (visit(ctx) == Type.INT_TYPE) {
+            mv.visitMethodInsn(INVOKESTATIC, "java/lang/Integer", "valueOf", "(I)Ljava/lang/Integer;", false);
+        }
+    }
+
+    // Leaves the value of the expression on the stack as an int
+    private void integer(GLangParser.ExpressionContext ctx) {
+        if (ctx instanceof GLangParser.IdExpressionContext id) {
+            loadInt(id.ID().getText());
+        } else if (visit(ctx) != Type.INT_TYPE) {
+            mv.visitMethodInsn(INVOKESTATIC, RUNTIME, "toInt", "(" + OBJECT + ")I", false);
+        }
+    }
+
+    private static boolean isInt(GLangParser.ExpressionContext ctx) {
+        if (ctx instanceof GLangParser.ParenthesesExpressionContext parentheses) {
+            return isInt(parentheses.expression());
+        }
+        return ctx instanceof GLangParser.IntExpressionContext
+                || ctx instanceof GLangParser.IntAddOpExpressionContext
+                || ctx instanceof GLangParser.IntMultiOpExpressionContext;
+    }
+
+    // Function parameters shadow global variables when they are read
+    private void load(String name) {
+        Integer local = locals != null ? locals.get(name) : null;
+        if (local != null) {
+            mv.visitVarInsn(ALOAD, local);
+        } else {
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitLdcInsn(symbolTable.slotOf(name));
+            mv.visitLdcInsn(name);
+            mv.visitMethodInsn(INVOKESTATIC, RUNTIME, "loadGlobal", "(L" + INTERPRETER + ";ILjava/lang/String;)" + OBJECT, false);
+        }
+    }
+
+    private void loadInt(String name) {
+        Integer local = locals != null ? locals.get(name) : null;
+        if (local != null) {
+            mv.visitVarInsn(ALOAD, local);
+            mv.visitMethodInsn(INVOKESTATIC, RUNTIME, "toInt", "(" + OBJECT + ")I", false);
+        } else {
+            loadGlobalInt(name);
+        }
+    }
+
+    private void loadGlobalInt(String name) {
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitLdcInsn(symbolTable.slotOf(name));
+        mv.visitLdcInsn(name);
+        mv.visitMethodInsn(INVOKESTATIC, RUNTIME, "loadGlobalInt", "(L" + INTERPRETER + ";ILjava/lang/String;)I", false);
+    }
+
+    // Stores the value on top of the stack, which is either an int or an Object, in a global variable;
+    // writes never go to function parameters
+    private void store(String name, Type type) {
+        boolean isInt = type == Type.INT_TYPE;
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitLdcInsn(symbolTable.slotOf(name));
+        mv.visitMethodInsn(INVOKESTATIC, RUNTIME, isInt ? "storeGlobalInt" : "storeGlobal",
+                "(" + (isInt ? "I" : OBJECT) + "L" + INTERPRETER + ";I)V", false);
+    }
+
+    // Like store, but the global has to be declared unless an array is assigned to it
+    private void assign(String name, Type type) {
+        boolean isInt = type == Type.INT_TYPE;
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitLdcInsn(symbolTable.slotOf(name));
+        mv.visitLdcInsn(name);
+        mv.visitMethodInsn(INVOKESTATIC, RUNTIME, isInt ? "assignGlobalInt" : "assignGlobal",
+                "(" + (isInt ? "I" : OBJECT) + "L" + INTERPRETER + ";ILjava/lang/String;)V", false);
+    }
+
+    private void recordArray(String[] names, GLangParser.ArrayLiteralContext ctx) {
+        mv.visitLdcInsn(names.length);
+        mv.visitTypeInsn(ANEWARRAY, "java/lang/String");
+        for (int i = 0; i < names.length; i++) {
+            mv.visitInsn(DUP);
+            mv.visitLdcInsn(i);
+            mv.visitLdcInsn(names[i]);
+            mv.visitInsn(AASTORE);
+        }
+        mv.visitLdcInsn(names.length * ctx.arrayElement().size());
+        mv.visitTypeInsn(ANEWARRAY, "java/lang/Object");
+        int index = 0;
+        for (GLangParser.ArrayElementContext element : ctx.arrayElement()) {
+            for (GLangParser.PropertyContext property : element.objectLiteral().property()) {
+                mv.visitInsn(DUP);
+                mv.visitLdcInsn(index++);
+                object(property.expression());
+                mv.visitInsn(AASTORE);
+            }
+        }
+        mv.visitMethodInsn(INVOKESTATIC, RUNTIME, "recordArray",
+                "([Ljava/lang/String;[" + OBJECT + ")" + OBJECT, false);
+    }
+
+    private void newList(int size) {
+        mv.visitTypeInsn(NEW, ARRAY);
+        mv.visitInsn(DUP);
+        mv.visitLdcInsn(size);
+        mv.visitMethodInsn(INVOKESPECIAL, ARRAY, "<init>", "(I)V", false);
+    }
+
+    // Expects the list and the element on the stack, leaves the list
+    private void addToList() {
+        mv.visitMethodInsn(INVOKEINTERFACE, "java/util/List", "add", "(" + OBJECT + ")Z", true);
+        mv.visitInsn(POP);
+    }
+
+    private static List<String> parameters(GLangParser.FunctionDeclarationContext function) {
+        return function.paramList() != null
+                ? function.paramList().ID().stream().map(ParseTree::getText).toList()
+                : List.of();
+    }
+
+    private static String functionDescriptor(int parameterCount) {
+        return "(L" + INTERPRETER + ";" + OBJECT.repeat(parameterCount) + ")" + OBJECT;
+    }
+
+    private static String unquote(TerminalNode string) {
+        String text = string.getText();
+        // Remove the leading and trailing quotation marks
+        return text.substring(1, text.length() - 1);
+    }
+}
@@ -0,0 +1,32 @@
+package edu.ktu.glang.interpreter.bytecode;
+
+import edu.ktu.glang.interpreter.InterpreterVisitor;
+import edu.ktu.glang.interpreter.exception.GLangException;
+
+import java.lang.invoke.MethodHandle;
+
+public class CompiledProgram {
+
+    private final MethodHandle main;
+
+    CompiledProgram(MethodHandle main) {
+        this.main = main;
+    }
+
+    public String execute(InterpreterVisitor interpreter) {
+        interpreter.startProgram();
+        try {
+            main.invokeExact(interpreter);
+        } catch (StackOverflowError e) {
+            // Compiled functions call each other on the JVM stack, which limits their recursion
+            throw new GLangException("Stack overflow: too many nested calls.");
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        } finally {
+            interpreter.endProgram();
+        }
+        return interpreter.getOutput();
+    }
+}
@@ -0,0 +1,133 @@
+package edu.ktu.glang.interpreter.bytecode;
+
+import edu.ktu.glang.interpreter.InterpreterVisitor;
+import edu.ktu.glang.interpreter.SymbolTable;
+import edu.ktu.glang.interpreter.exception.GLangException;
+import edu.ktu.glang.interpreter.exception.GLangFunctionNotDeclaredException;
+import edu.ktu.glang.interpreter.exception.GLangVariableAlreadyDeclaredException;
+import edu.ktu.glang.interpreter.exception.GLangVariableNotDeclaredException;
+import edu.ktu.glang.interpreter.node.AssignVariableNode;
+import edu.ktu.glang.interpreter.node.EqualNode;
+import edu.ktu.glang.interpreter.node.ExpressionNode;
+import edu.ktu.glang.interpreter.node.ForEachLoopNode;
+import edu.ktu.glang.interpreter.record.RecordArray;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+// Static helpers called from the classes generated by BytecodeCompiler
+public final class CompiledRuntime {
+
+    private CompiledRuntime() {
+    }
+
+    public static Object loadGlobal(InterpreterVisitor interpreter, int slot, String name) {
+        Object value = interpreter.getSymbolTable().get(slot);
+        if (value == null) {
+            throw new GLangVariableNotDeclaredException(name);
+        }
+        return value;
+    }
+
+    public static int loadGlobalInt(InterpreterVisitor interpreter, int slot, String name) {
+        SymbolTable globals = interpreter.getSymbolTable();
+        return globals.isInt(slot) ? globals.getInt(slot) : toInt(loadGlobal(interpreter, slot, name));
+    }
+
+    // Stores take the value first, so generated code can push it before the interpreter and slot
+    public static void storeGlobal(Object value, InterpreterVisitor interpreter, int slot) {
+        interpreter.getSymbolTable().put(slot, value);
+    }
+
+    public static void storeGlobalInt(int value, InterpreterVisitor interpreter, int slot) {
+        interpreter.getSymbolTable().putInt(slot, value);
+    }
+
+    public static void assignGlobal(Object value, InterpreterVisitor interpreter, int slot, String name) {
+        if (!AssignVariableNode.isCollection(value)) {
+            checkDeclared(interpreter, slot, name);
+        }
+        interpreter.getSymbolTable().put(slot, value);
+    }
+
+    public static void assignGlobalInt(int value, InterpreterVisitor interpreter, int slot, String name) {
+        checkDeclared(interpreter, slot, name);
+        interpreter.getSymbolTable().putInt(slot, value);
+    }
+
+    private static void checkDeclared(InterpreterVisitor interpreter, int slot, String name) {
+        if (!interpreter.getSymbolTable().contains(slot)) {
+            throw new GLangVariableNotDeclaredException(name);
+        }
+    }
+
+    public static void declareGlobal(Object value, InterpreterVisitor interpreter, int slot, String name) {
+        checkNotDeclared(interpreter, slot, name);
+        interpreter.getSymbolTable().put(slot, value);
+    }
+
+    public static void declareGlobalInt(int value, InterpreterVisitor interpreter, int slot, String name) {
+        checkNotDeclared(interpreter, slot, name);
+        interpreter.getSymbolTable().putInt(slot, value);
+    }
+
+    private static void checkNotDeclared(InterpreterVisitor interpreter, int slot, String name) {
+        if (interpreter.getSymbolTable().contains(slot)) {
+            throw new GLangVariableAlreadyDeclaredException(name);
+        }
+    }
+
+    public static Object memoGet(InterpreterVisitor interpreter, int slot, String name, Object[] arguments) {
+        return interpreter.getMemoTable().get(slot, name, arguments);
+    }
+
+    public static void memoPut(InterpreterVisitor interpreter, int slot, Object[] arguments, Object result) {
+        interpreter.getMemoTable().put(slot, arguments, result);
+    }
+
+    public static Object checkAssignable(Object value) {
+        return AssignVariableNode.checkAssignable(value);
+    }
+
+    public static int toInt(Object value) {
+        return ExpressionNode.toInt(value);
+    }
+
+    public static boolean equal(Object left, Object right) {
+        return EqualNode.equal(left, right);
+    }
+
+    public static Map<String, Object> filterRule(String type, String property, String value) {
+        Map<String, Object> filterRule = new HashMap<>();
+        filterRule.put("type", type);
+        filterRule.put("property", property);
+        filterRule.put("value", value);
+        return Collections.unmodifiableMap(filterRule);
+    }
+
+    public static Iterator<?> iterator(Object elements) {
+        return ForEachLoopNode.iterator(elements);
+    }
+
+    // Values of all records one after another, in the order of the names
+    public static Object recordArray(String[] names, Object[] values) {
+        int size = values.length / names.length;
+        Object[][] columns = new Object[names.length][size];
+        for (int row = 0; row < size; row++) {
+            for (int i = 0; i < names.length; i++) {
+                columns[i][row] = values[row * names.length + i];
+            }
+        }
+        return RecordArray.of(names, columns);
+    }
+
+    public static RuntimeException functionNotDeclared(String name) {
+        return new GLangFunctionNotDeclaredException(name);
+    }
+
+    public static RuntimeException wrongArgumentCount(String name, int expected, int actual) {
+        return new GLangException(String.format("Function '%s' expects %d arguments but got %d.", name, expected, actual));
+    }
+}
@@ -0,0 +1,7 @@
+package edu.ktu.glang.interpreter.exception;
+
+public class GLangFunctionNotDeclaredException extends GLangException {
+    public GLangFunctionNotDeclaredException(String functionName) {
+        super(String.format("Function '%s' is not declared.", functionName));
+    }
+}
@@ -0,0 +1,7 @@
+package edu.ktu.glang.interpreter.exception;
+
+public class GLangInterruptedException extends GLangException {
+    public GLangInterruptedException() {
+        super("Execution was interrupted.");
+    }
+}
@@ -0,0 +1,82 @@
+package edu.ktu.glang.interpreter.filter;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Hash index from a record property to the ascending positions of the records having that value
+public final class PropertyIndex {
+
+    private static final int[] NO_ROWS = new int[0];
+
+    private final Map<Object, int[]> rows;
+    private final boolean hasInts;
+
+    private PropertyIndex(Map<Object, int[]> rows, boolean hasInts) {
+        this.rows = rows;
+        this.hasInts = hasInts;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static PropertyIndex build(List<?> records, String property) {
+        Map<Object, int[]> rows = new HashMap<>();
+        Map<Object, Integer> sizes = new HashMap<>();
+        boolean hasInts = false;
+        for (int i = 0; i < records.size(); i++) {
+            Object key = key(((Map<String, Object>) records.get(i)).get(property));
+            if (key == null) {
+                continue;
+            }
+            hasInts |= key instanceof Integer;
+            int size = sizes.merge(key, 1, Integer::sum);
+            int[] positions = rows.get(key);
+            if (positions == null || positions.length < size) {
+                positions = positions == null ? new int[4] : Arrays.copyOf(positions, positions.length * 2);
+                rows.put(key, positions);
+            }
+            positions[size - 1] = i;
+        }
+        rows.replaceAll((key, positions) -> Arrays.copyOf(positions, sizes.get(key)));
+        return new PropertyIndex(rows, hasInts);
+    }
+
+    // Positions of all records that may match the predicate, or null when the index cannot tell
+    public int[] lookup(RulePredicate predicate) {
+        if (hasInts && predicate.getIntValue() == null) {
+            return null;
+        }
+        int[] strings = predicate.getValue() != null ? rows.getOrDefault(fold(predicate.getValue()), NO_ROWS) : NO_ROWS;
+        int[] ints = predicate.getIntValue() != null ? rows.getOrDefault(predicate.getIntValue(), NO_ROWS) : NO_ROWS;
+        int[] booleans = rows.getOrDefault(predicate.getBooleanValue(), NO_ROWS);
+        if (ints.length == 0 && booleans.length == 0) {
+            return strings;
+        }
+        int[] positions = new int[strings.length + ints.length + booleans.length];
+        System.arraycopy(strings, 0, positions, 0, strings.length);
+        System.arraycopy(ints, 0, positions, strings.length, ints.length);
+        System.arraycopy(booleans, 0, positions, strings.length + ints.length, booleans.length);
+        Arrays.sort(positions);
+        return positions;
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    private static Object key(Object value) {
+        if (value instanceof String string) {
+            return fold(string);
+        } else if (value instanceof Integer || value instanceof Boolean) {
+            return value;
+        }
+        return null;
+    }
+
+    // Strings equal ignoring case always fold to the same key
+    private static String fold(String value) {
+        StringBuilder folded = new StringBuilder(value.length());
+        value.codePoints().forEach(c -> folded.appendCodePoint(Character.toLowerCase(Character.toUpperCase(c))));
+        return folded.toString();
+    }
+}
@@ -0,0 +1,61 @@
+package edu.ktu.glang.interpreter.filter;
+
+import java.util.Map;
+
+public final class RulePredicate {
+
+    private final String property;
+    private final String value;
+    private final Integer intValue;
+    private final boolean booleanValue;
+
+    public RulePredicate(String property, String value) {
+        this.property = property;
+        this.value = value;
+        this.intValue = parseInt(value);
+        this.booleanValue = Boolean.parseBoolean(value);
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public Integer getIntValue() {
+        return intValue;
+    }
+
+    public boolean getBooleanValue() {
+        return booleanValue;
+    }
+
+    public boolean test(Map<String, Object> record) {
+        return matches(record.get(property));
+    }
+
+    public boolean matches(Object actual) {
+        if (actual instanceof String string) {
+            return string.equalsIgnoreCase(value);
+        } else if (actual instanceof Integer number) {
+            if (intValue == null) {
+                // Same error as comparing against a value that is not a number row by row
+                Integer.parseInt(value);
+            }
+            return number.intValue() == intValue;
+        } else if (actual instanceof Boolean bool) {
+            return bool == booleanValue;
+        }
+        return false;
+    }
+
+    private static Integer parseInt(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
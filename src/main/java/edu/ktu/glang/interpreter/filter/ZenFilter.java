@@ -0,0 +1,259 @@
+package edu.ktu.glang.interpreter.filter;
+
+import edu.ktu.glang.interpreter.GLangArray;
+import edu.ktu.glang.interpreter.input.RecordFile;
+import edu.ktu.glang.interpreter.record.RecordArray;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.IntPredicate;
+
+public class ZenFilter {
+
+    private static final int SAMPLE_SIZE = 256;
+
+    private static final int MIN_SPLIT_SIZE = 4096;
+
+    private volatile int indexThreshold = Integer.getInteger("glang.zenfilter.indexThreshold", 10_000);
+    private volatile int parallelThreshold = Integer.getInteger("glang.zenfilter.parallelThreshold", 100_000);
+
+    public List<Map<String, Object>> filter(List<Map<String, Object>> users, List<Map<String, Object>> filterRules) {
+        if (!(users instanceof RandomAccess)) {
+            users = new ArrayList<>(users);
+        }
+        RulePredicate[] predicates = compile(filterRules);
+        if (predicates.length == 0) {
+            if (users instanceof RecordArray records) {
+                return records;
+            }
+            List<Map<String, Object>> filteredUsers = new GLangArray<>();
+            filteredUsers.addAll(users);
+            return filteredUsers;
+        }
+        orderBySelectivity(predicates, users);
+
+        IntPredicate[] matchers = new IntPredicate[predicates.length];
+        for (int i = 0; i < predicates.length; i++) {
+            matchers[i] = matcher(users, predicates[i]);
+        }
+
+        int[] rows = null;
+        if (users instanceof GLangArray<?> array && users.size() >= indexThreshold) {
+            int[] candidates = array.getIndex(predicates[0].getProperty()).lookup(predicates[0]);
+            if (candidates != null) {
+                rows = select(candidates, matchers, 1);
+            }
+        }
+        if (rows == null && users.size() >= parallelThreshold) {
+            int splitSize = Math.max(MIN_SPLIT_SIZE, users.size() / (ForkJoinPool.getCommonPoolParallelism() * 4));
+            rows = ForkJoinPool.commonPool().invoke(new FilterTask(matchers, 0, users.size(), splitSize));
+        }
+        if (rows == null) {
+            rows = scan(matchers, 0, users.size());
+        }
+
+        if (users instanceof RecordArray records) {
+            return records.select(rows);
+        }
+        List<Map<String, Object>> filteredUsers = new GLangArray<>(rows.length);
+        for (int row : rows) {
+            filteredUsers.add(users.get(row));
+        }
+        return filteredUsers;
+    }
+
+    // Chunks of the file are parsed and filtered as they are read, on the common fork-join pool; only matches are kept
+    public List<Map<String, Object>> filter(RecordFile file, List<Map<String, Object>> filterRules) {
+        return filter(file.chunks(), filterRules);
+    }
+
+    // The chunks count the records they read, matches or not
+    public List<Map<String, Object>> filter(RecordFile.Chunks chunks, List<Map<String, Object>> filterRules) {
+        RulePredicate[] predicates = compile(filterRules);
+        LoadTask task = new LoadTask(chunks, predicates, 0, chunks.size());
+        List<RecordArray> parts = chunks.size() > 1 ? ForkJoinPool.commonPool().invoke(task) : task.compute();
+
+        if (parts.isEmpty()) {
+            return new GLangArray<>();
+        }
+        RecordArray merged = RecordArray.concat(parts);
+        if (merged != null) {
+            return merged;
+        }
+        // Records of the file do not all have the same properties
+        List<Map<String, Object>> filteredUsers = new GLangArray<>();
+        parts.forEach(filteredUsers::addAll);
+        return filteredUsers;
+    }
+
+    public int getIndexThreshold() {
+        return indexThreshold;
+    }
+
+    // Arrays with at least this many records are filtered through a hash index on the most selective rule
+    public void setIndexThreshold(int indexThreshold) {
+        this.indexThreshold = indexThreshold;
+    }
+
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    // Arrays with at least this many records are scanned in parallel on the common fork-join pool
+    public void setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public static RulePredicate[] compile(List<Map<String, Object>> filterRules) {
+        if (filterRules == null) {
+            return new RulePredicate[0];
+        }
+        RulePredicate[] predicates = new RulePredicate[filterRules.size()];
+        for (int i = 0; i < predicates.length; i++) {
+            Map<String, Object> filterRule = filterRules.get(i);
+            predicates[i] = new RulePredicate((String) filterRule.get("property"), (String) filterRule.get("value"));
+        }
+        return predicates;
+    }
+
+    // Columnar arrays test the columns directly, other arrays go through the record maps
+    private static IntPredicate matcher(List<Map<String, Object>> users, RulePredicate predicate) {
+        if (users instanceof RecordArray records) {
+            return records.matcher(predicate);
+        }
+        return row -> predicate.test(users.get(row));
+    }
+
+    private static boolean matches(IntPredicate[] matchers, int from, int row) {
+        for (int i = from; i < matchers.length; i++) {
+            if (!matchers[i].test(row)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int[] scan(IntPredicate[] matchers, int from, int to) {
+        int[] rows = new int[Math.min(to - from, 16)];
+        int count = 0;
+        for (int row = from; row < to; row++) {
+            if (matches(matchers, 0, row)) {
+                if (count == rows.length) {
+                    rows = Arrays.copyOf(rows, rows.length * 2);
+                }
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    private static int[] select(int[] candidates, IntPredicate[] matchers, int from) {
+        int[] rows = new int[candidates.length];
+        int count = 0;
+        for (int row : candidates) {
+            if (matches(matchers, from, row)) {
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    // Estimates how many records pass each rule on an evenly spaced sample, most selective first
+    private static void orderBySelectivity(RulePredicate[] predicates, List<Map<String, Object>> users) {
+        if (predicates.length < 2 || users.size() < SAMPLE_SIZE) {
+            return;
+        }
+        int step = users.size() / SAMPLE_SIZE;
+        Map<RulePredicate, Integer> passed = new IdentityHashMap<>();
+        try {
+            for (RulePredicate predicate : predicates) {
+                int count = 0;
+                for (int i = 0; i < SAMPLE_SIZE; i++) {
+                    if (predicate.test(users.get(i * step))) {
+                        count++;
+                    }
+                }
+                passed.put(predicate, count);
+            }
+        } catch (NumberFormatException e) {
+            // Keep the written order so the scan fails on the same record as before
+            return;
+        }
+        Arrays.sort(predicates, Comparator.comparing(passed::get));
+    }
+
+    // Reads and filters a range of chunks; the matches are returned in the order of the file
+    private static class LoadTask extends RecursiveTask<List<RecordArray>> {
+
+        private final RecordFile.Chunks chunks;
+        private final RulePredicate[] predicates;
+        private final int from;
+        private final int to;
+
+        LoadTask(RecordFile.Chunks chunks, RulePredicate[] predicates, int from, int to) {
+            this.chunks = chunks;
+            this.predicates = predicates;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<RecordArray> compute() {
+            if (to - from <= 1) {
+                return read();
+            }
+            int middle = (from + to) >>> 1;
+            LoadTask right = new LoadTask(chunks, predicates, middle, to);
+            right.fork();
+            List<RecordArray> parts = new LoadTask(chunks, predicates, from, middle).compute();
+            parts.addAll(right.join());
+            return parts;
+        }
+
+        private List<RecordArray> read() {
+            List<RecordArray> parts = new ArrayList<>();
+            for (int chunk = from; chunk < to; chunk++) {
+                parts.addAll(chunks.read(chunk, predicates));
+            }
+            return parts;
+        }
+    }
+
+    // Filters a range of rows; results of the halves are joined left to right, keeping the input order
+    private static class FilterTask extends RecursiveTask<int[]> {
+
+        private final IntPredicate[] matchers;
+        private final int from;
+        private final int to;
+        private final int splitSize;
+
+        FilterTask(IntPredicate[] matchers, int from, int to, int splitSize) {
+            this.matchers = matchers;
+            this.from = from;
+            this.to = to;
+            this.splitSize = splitSize;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (to - from <= splitSize) {
+                return scan(matchers, from, to);
+            }
+            int middle = (from + to) >>> 1;
+            FilterTask right = new FilterTask(matchers, middle, to, splitSize);
+            right.fork();
+            int[] left = new FilterTask(matchers, from, middle, splitSize).compute();
+            int[] rightRows = right.join();
+            int[] rows = Arrays.copyOf(left, left.length + rightRows.length);
+            System.arraycopy(rightRows, 0, rows, left.length, rightRows.length);
+            return rows;
+        }
+    }
+}
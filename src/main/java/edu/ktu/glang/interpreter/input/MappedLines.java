@@ -0,0 +1,140 @@
+package edu.ktu.glang.interpreter.input;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lines of a file, read lazily through a memory-mapped window that slides over the file. Only the current
+ * line is copied to the heap, so files far larger than the heap can be iterated. Lines end with \n, \r\n
+ * or \r, like BufferedReader.readLine. Every iteration maps the file again and sees its current content.
+ */
+public class MappedLines implements Iterable<String> {
+
+    private static final int WINDOW_SIZE = 64 * 1024 * 1024;
+
+    private final Path path;
+    private final int windowSize;
+
+    public MappedLines(Path path) {
+        this(path, WINDOW_SIZE);
+    }
+
+    public MappedLines(Path path, int windowSize) {
+        this.path = path;
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new LineIterator();
+    }
+
+    @Override
+    public String toString() {
+        return path.toString();
+    }
+
+    private class LineIterator implements Iterator<String> {
+
+        private final long fileSize;
+        private MappedByteBuffer window;
+        private long windowStart;
+        private int position;
+        private String next;
+
+        LineIterator() {
+            try (FileChannel channel = FileChannel.open(path)) {
+                fileSize = channel.size();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read from file: " + path, e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                next = readLine();
+            }
+            return next != null;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String line = next;
+            next = null;
+            return line;
+        }
+
+        private String readLine() {
+            if (windowStart + position >= fileSize) {
+                return null;
+            }
+            if (window == null) {
+                map(0, windowSize);
+            }
+
+            int end = position;
+            while (true) {
+                if (end == window.limit()) {
+                    if (windowStart + end == fileSize) {
+                        // Last line without a line break
+                        String line = decode(position, end);
+                        position = end;
+                        return line;
+                    }
+                    // The line goes past the window: move the window to its start, growing it for long lines
+                    int length = end - position;
+                    map(windowStart + position, Math.max(windowSize, length * 2));
+                    end = length;
+                    continue;
+                }
+                byte b = window.get(end);
+                if (b == '\n' || b == '\r') {
+                    String line = decode(position, end);
+                    position = end + 1;
+                    if (b == '\r' && skipLineFeed()) {
+                        position++;
+                    }
+                    return line;
+                }
+                end++;
+            }
+        }
+
+        private boolean skipLineFeed() {
+            if (position == window.limit()) {
+                if (windowStart + position == fileSize) {
+                    return false;
+                }
+                map(windowStart + position, windowSize);
+            }
+            return window.get(position) == '\n';
+        }
+
+        private String decode(int from, int to) {
+            byte[] bytes = new byte[to - from];
+            window.get(from, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private void map(long start, long size) {
+            try (FileChannel channel = FileChannel.open(path)) {
+                // The mapping stays valid after the channel is closed
+                window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(size, fileSize - start));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read from file: " + path, e);
+            }
+            windowStart = start;
+            position = 0;
+        }
+    }
+}
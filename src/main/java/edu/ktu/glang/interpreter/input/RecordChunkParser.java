@@ -0,0 +1,516 @@
+package edu.ktu.glang.interpreter.input;
+
+import edu.ktu.glang.interpreter.exception.GLangException;
+import edu.ktu.glang.interpreter.filter.RulePredicate;
+import edu.ktu.glang.interpreter.record.RecordArray;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Parses the lines of one chunk straight into columns, one RecordArray for every run of records with the same
+// properties. Records are tested against the filter rules as soon as they are read and only the matches are kept.
+abstract class RecordChunkParser {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    protected final byte[] bytes;
+    private final int length;
+    protected final String source;
+    private final RulePredicate[] predicates;
+
+    private final List<RecordArray> runs = new ArrayList<>();
+    protected String[] names;
+    private byte[][] nameBytes;
+    private Map<String, Integer> columnIndexes;
+    private Object[][] columns;
+    private int[] predicateColumns;
+    private int[] filled;
+    private int records;
+    private int rows;
+
+    RecordChunkParser(byte[] bytes, int length, String source, RulePredicate[] predicates) {
+        this.bytes = bytes;
+        this.length = length;
+        this.source = source;
+        this.predicates = predicates;
+    }
+
+    List<RecordArray> parse() {
+        int start = 0;
+        while (start < length) {
+            int end = start;
+            while (end < length && bytes[end] != '\n') {
+                end++;
+            }
+            int lineEnd = end > start && bytes[end - 1] == '\r' ? end - 1 : end;
+            if (!isBlank(start, lineEnd)) {
+                parseLine(start, lineEnd);
+            }
+            start = end + 1;
+        }
+        finishRun();
+        return runs;
+    }
+
+    abstract void parseLine(int from, int to);
+
+    int getRecords() {
+        return records;
+    }
+
+    // Keys and values of one record, in the order they were read
+    protected void addRecord(String[] keys, Object[] values, int count) {
+        if (names == null || !place(keys, values, count)) {
+            startRun(Arrays.copyOf(keys, count));
+            place(keys, values, count);
+        }
+        records++;
+        if (accepts()) {
+            rows++;
+        }
+    }
+
+    // A rejected record is overwritten by the next one
+    private boolean accepts() {
+        for (int i = 0; i < predicates.length; i++) {
+            int column = predicateColumns[i];
+            if (column < 0 || !predicates[i].matches(columns[column][rows])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean place(String[] keys, Object[] values, int count) {
+        if (count != names.length) {
+            return false;
+        }
+        if (count > 0 && rows == columns[0].length) {
+            for (int i = 0; i < count; i++) {
+                columns[i] = Arrays.copyOf(columns[i], rows * 2);
+            }
+        }
+        for (int i = 0; i < count; i++) {
+            Integer column = keys[i] == names[i] ? Integer.valueOf(i) : columnIndexes.get(keys[i]);
+            // A property missing from the run, or given twice, starts a new run
+            if (column == null || filled[column] == records + 1) {
+                return false;
+            }
+            filled[column] = records + 1;
+            columns[column][rows] = values[i];
+        }
+        return true;
+    }
+
+    private void startRun(String[] runNames) {
+        finishRun();
+        columnIndexes = new HashMap<>();
+        nameBytes = new byte[runNames.length][];
+        for (int i = 0; i < runNames.length; i++) {
+            if (columnIndexes.put(runNames[i], i) != null) {
+                throw new GLangException(String.format("Duplicate property '%s' in %s.", runNames[i], source));
+            }
+            nameBytes[i] = runNames[i].getBytes(StandardCharsets.UTF_8);
+        }
+        predicateColumns = new int[predicates.length];
+        for (int i = 0; i < predicates.length; i++) {
+            predicateColumns[i] = columnIndexes.getOrDefault(predicates[i].getProperty(), -1);
+        }
+        names = runNames;
+        columns = new Object[runNames.length][INITIAL_CAPACITY];
+        filled = new int[runNames.length];
+        rows = 0;
+    }
+
+    private void finishRun() {
+        if (names == null) {
+            return;
+        }
+        if (rows == 0) {
+            names = null;
+            return;
+        }
+        Object[][] columnValues = new Object[names.length][];
+        for (int i = 0; i < names.length; i++) {
+            columnValues[i] = Arrays.copyOf(columns[i], rows);
+        }
+        runs.add(RecordArray.of(names, columnValues, rows));
+        names = null;
+        columns = null;
+    }
+
+    // Property names are only decoded when they differ from the name at the same position in the current run
+    protected String name(int position, int from, int to) {
+        if (names != null && position < names.length
+                && Arrays.equals(bytes, from, to, nameBytes[position], 0, nameBytes[position].length)) {
+            return names[position];
+        }
+        return new String(bytes, from, to - from, StandardCharsets.UTF_8);
+    }
+
+    protected String text(int from, int to) {
+        return new String(bytes, from, to - from, StandardCharsets.UTF_8);
+    }
+
+    // Integers that fit an int, or null when the text is not one
+    protected Integer parseInt(int from, int to) {
+        boolean negative = from < to && bytes[from] == '-';
+        int digits = negative ? from + 1 : from;
+        if (digits == to || to - digits > 10) {
+            return null;
+        }
+        long value = 0;
+        for (int i = digits; i < to; i++) {
+            byte b = bytes[i];
+            if (b < '0' || b > '9') {
+                return null;
+            }
+            value = value * 10 + (b - '0');
+        }
+        value = negative ? -value : value;
+        return value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE ? Integer.valueOf((int) value) : null;
+    }
+
+    protected boolean matches(int from, int to, String word) {
+        if (to - from != word.length()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            if (bytes[from + i] != word.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isBlank(int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] != ' ' && bytes[i] != '\t') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static RecordChunkParser csv(byte[] bytes, int length, String source, String[] header, RulePredicate[] predicates) {
+        return new Csv(bytes, length, source, header, predicates);
+    }
+
+    static RecordChunkParser jsonLines(byte[] bytes, int length, String source, RulePredicate[] predicates) {
+        return new JsonLines(bytes, length, source, predicates);
+    }
+
+    static String[] parseCsvHeader(byte[] bytes, int length, String source) {
+        Csv csv = new Csv(bytes, length, source, null, new RulePredicate[0]);
+        int count = csv.split(0, length, true);
+        String[] header = new String[count];
+        for (int i = 0; i < count; i++) {
+            header[i] = (String) csv.values[i];
+        }
+        return header;
+    }
+
+    // Unquoted integers and true/false are typed, every other value is a string
+    private static class Csv extends RecordChunkParser {
+
+        private final String[] header;
+        private Object[] values;
+
+        Csv(byte[] bytes, int length, String source, String[] header, RulePredicate[] predicates) {
+            super(bytes, length, source, predicates);
+            this.header = header;
+            this.values = new Object[header != null ? header.length : 16];
+        }
+
+        @Override
+        void parseLine(int from, int to) {
+            int count = split(from, to, false);
+            if (count != header.length) {
+                throw new GLangException(String.format("Expected %d values but found %d in %s: %s",
+                        header.length, count, source, text(from, to)));
+            }
+            addRecord(header, values, count);
+        }
+
+        int split(int from, int to, boolean headerLine) {
+            int count = 0;
+            int position = from;
+            while (true) {
+                if (count == values.length) {
+                    if (!headerLine) {
+                        // Too many values, only counted for the error message
+                        count++;
+                        position = skipField(position, to);
+                        if (position >= to) {
+                            return count;
+                        }
+                        position++;
+                        continue;
+                    }
+                    values = Arrays.copyOf(values, count * 2);
+                }
+                int end;
+                if (position < to && bytes[position] == '"') {
+                    StringBuilder value = new StringBuilder();
+                    end = quoted(position + 1, to, value);
+                    values[count++] = value.toString();
+                } else {
+                    end = position;
+                    while (end < to && bytes[end] != ',') {
+                        end++;
+                    }
+                    values[count++] = headerLine ? text(position, end) : value(position, end);
+                }
+                if (end >= to) {
+                    return count;
+                }
+                position = end + 1;
+            }
+        }
+
+        private Object value(int from, int to) {
+            Integer number = parseInt(from, to);
+            if (number != null) {
+                return number;
+            } else if (matches(from, to, "true")) {
+                return Boolean.TRUE;
+            } else if (matches(from, to, "false")) {
+                return Boolean.FALSE;
+            }
+            return text(from, to);
+        }
+
+        // Returns the position after the closing quote; two quotes stand for one
+        private int quoted(int from, int to, StringBuilder value) {
+            int position = from;
+            while (position < to) {
+                if (bytes[position] == '"') {
+                    if (position + 1 < to && bytes[position + 1] == '"') {
+                        value.append(text(from, position + 1));
+                        position += 2;
+                        from = position;
+                        continue;
+                    }
+                    value.append(text(from, position));
+                    return position + 1;
+                }
+                position++;
+            }
+            throw new GLangException(String.format("Unterminated quoted value in %s.", source));
+        }
+
+        private int skipField(int from, int to) {
+            int position = from;
+            if (position < to && bytes[position] == '"') {
+                position = quoted(position + 1, to, new StringBuilder());
+            }
+            while (position < to && bytes[position] != ',') {
+                position++;
+            }
+            return position;
+        }
+    }
+
+    // One flat JSON object per line; numbers that are not ints and nested values are kept as their text
+    private static class JsonLines extends RecordChunkParser {
+
+        private String[] keys = new String[16];
+        private Object[] values = new Object[16];
+        private int position;
+        private int lineFrom;
+        private int lineTo;
+
+        JsonLines(byte[] bytes, int length, String source, RulePredicate[] predicates) {
+            super(bytes, length, source, predicates);
+        }
+
+        @Override
+        void parseLine(int from, int to) {
+            lineFrom = from;
+            lineTo = to;
+            position = from;
+            int count = 0;
+            expect('{');
+            skipWhitespace();
+            if (peek() != '}') {
+                while (true) {
+                    if (count == keys.length) {
+                        keys = Arrays.copyOf(keys, count * 2);
+                        values = Arrays.copyOf(values, count * 2);
+                    }
+                    skipWhitespace();
+                    keys[count] = key(count);
+                    expect(':');
+                    skipWhitespace();
+                    values[count++] = value();
+                    skipWhitespace();
+                    if (peek() == ',') {
+                        position++;
+                    } else {
+                        break;
+                    }
+                }
+            }
+            expect('}');
+            skipWhitespace();
+            if (position != to) {
+                throw invalid();
+            }
+            addRecord(keys, values, count);
+        }
+
+        private String key(int index) {
+            if (peek() != '"') {
+                throw invalid();
+            }
+            int from = position + 1;
+            int end = from;
+            while (end < lineTo && bytes[end] != '"' && bytes[end] != '\\') {
+                end++;
+            }
+            if (end < lineTo && bytes[end] == '"') {
+                position = end + 1;
+                return name(index, from, end);
+            }
+            return string();
+        }
+
+        private Object value() {
+            int b = peek();
+            if (b == '"') {
+                return string();
+            } else if (b == '{' || b == '[') {
+                int from = position;
+                skipNested();
+                return text(from, position);
+            } else if (b == '-' || (b >= '0' && b <= '9')) {
+                int from = position;
+                while (position < lineTo && isNumberPart(bytes[position])) {
+                    position++;
+                }
+                Integer number = parseInt(from, position);
+                return number != null ? number : text(from, position);
+            } else if (word("true")) {
+                return Boolean.TRUE;
+            } else if (word("false")) {
+                return Boolean.FALSE;
+            } else if (word("null")) {
+                return null;
+            }
+            throw invalid();
+        }
+
+        private String string() {
+            position++;
+            int from = position;
+            StringBuilder escaped = null;
+            while (position < lineTo) {
+                byte b = bytes[position];
+                if (b == '"') {
+                    String text = text(from, position);
+                    position++;
+                    return escaped != null ? escaped.append(text).toString() : text;
+                }
+                if (b == '\\') {
+                    if (escaped == null) {
+                        escaped = new StringBuilder();
+                    }
+                    escaped.append(text(from, position));
+                    position++;
+                    escaped.append(escape());
+                    from = position;
+                    continue;
+                }
+                position++;
+            }
+            throw invalid();
+        }
+
+        private char escape() {
+            if (position >= lineTo) {
+                throw invalid();
+            }
+            byte b = bytes[position++];
+            switch (b) {
+                case '"': return '"';
+                case '\\': return '\\';
+                case '/': return '/';
+                case 'b': return '\b';
+                case 'f': return '\f';
+                case 'n': return '\n';
+                case 'r': return '\r';
+                case 't': return '\t';
+                case 'u':
+                    if (position + 4 > lineTo) {
+                        throw invalid();
+                    }
+                    try {
+                        char c = (char) Integer.parseInt(text(position, position + 4), 16);
+                        position += 4;
+                        return c;
+                    } catch (NumberFormatException e) {
+                        throw invalid();
+                    }
+                default:
+                    throw invalid();
+            }
+        }
+
+        private void skipNested() {
+            int depth = 0;
+            while (position < lineTo) {
+                byte b = bytes[position];
+                if (b == '"') {
+                    string();
+                    continue;
+                }
+                position++;
+                if (b == '{' || b == '[') {
+                    depth++;
+                } else if ((b == '}' || b == ']') && --depth == 0) {
+                    return;
+                }
+            }
+            throw invalid();
+        }
+
+        private static boolean isNumberPart(byte b) {
+            return (b >= '0' && b <= '9') || b == '-' || b == '+' || b == '.' || b == 'e' || b == 'E';
+        }
+
+        private boolean word(String word) {
+            int end = position + word.length();
+            if (end <= lineTo && matches(position, end, word)) {
+                position = end;
+                return true;
+            }
+            return false;
+        }
+
+        private int peek() {
+            return position < lineTo ? bytes[position] : -1;
+        }
+
+        private void expect(char c) {
+            skipWhitespace();
+            if (peek() != c) {
+                throw invalid();
+            }
+            position++;
+        }
+
+        private void skipWhitespace() {
+            while (position < lineTo && (bytes[position] == ' ' || bytes[position] == '\t')) {
+                position++;
+            }
+        }
+
+        private GLangException invalid() {
+            return new GLangException(String.format("Invalid JSON in %s: %s", source, text(lineFrom, lineTo)));
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package edu.ktu.glang.interpreter.input;
+
+import edu.ktu.glang.interpreter.exception.GLangException;
+import edu.ktu.glang.interpreter.filter.RulePredicate;
+import edu.ktu.glang.interpreter.record.RecordArray;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records of a JSON lines (.jsonl, .ndjson) or CSV (.csv, with a header line) file, one record per line.
+ * The file is split into chunks at line breaks and every chunk is parsed straight into columnar
+ * RecordArrays, without building a map per record, so only the chunks being parsed are held in memory.
+ * When filtering, records are tested while they are parsed and only the matches are stored.
+ * Nothing is read until the records are iterated or filtered.
+ */
+public class RecordFile implements Iterable<Map<String, Object>> {
+
+    private static final int CHUNK_SIZE = 8 * 1024 * 1024;
+
+    private static final int SCAN_SIZE = 64 * 1024;
+
+    private enum Format {
+        CSV, JSON_LINES
+    }
+
+    private final Path path;
+    private final Format format;
+    private final int chunkSize;
+
+    public RecordFile(Path path) {
+        this(path, Integer.getInteger("glang.load.chunkSize", CHUNK_SIZE));
+    }
+
+    public RecordFile(Path path, int chunkSize) {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".csv")) {
+            format = Format.CSV;
+        } else if (name.endsWith(".jsonl") || name.endsWith(".ndjson")) {
+            format = Format.JSON_LINES;
+        } else {
+            throw new GLangException("Cannot load " + path + ". Expected a .csv, .jsonl or .ndjson file.");
+        }
+        this.path = path;
+        this.chunkSize = chunkSize;
+    }
+
+    // Finds the chunk boundaries, reading only around them, and the header of a CSV file
+    public Chunks chunks() {
+        try (FileChannel channel = FileChannel.open(path)) {
+            long size = channel.size();
+            long start = startsWithByteOrderMark(channel) ? 3 : 0;
+
+            String[] header = null;
+            if (format == Format.CSV) {
+                long end = lineEnd(channel, start, size);
+                byte[] line = read(channel, start, end);
+                int length = line.length;
+                if (length > 0 && line[length - 1] == '\r') {
+                    length--;
+                }
+                header = RecordChunkParser.parseCsvHeader(line, length, path.toString());
+                start = Math.min(end + 1, size);
+            }
+
+            long[] boundaries = new long[16];
+            int count = 0;
+            boundaries[count++] = start;
+            while (start < size) {
+                long end = start + chunkSize >= size
+                        ? size
+                        : Math.min(lineEnd(channel, start + chunkSize, size) + 1, size);
+                if (count == boundaries.length) {
+                    boundaries = Arrays.copyOf(boundaries, count * 2);
+                }
+                boundaries[count++] = end;
+                start = end;
+            }
+            return new Chunks(header, Arrays.copyOf(boundaries, count));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read from file: " + path, e);
+        }
+    }
+
+    @Override
+    public Iterator<Map<String, Object>> iterator() {
+        return new RecordIterator(chunks());
+    }
+
+    @Override
+    public String toString() {
+        return path.toString();
+    }
+
+    private static boolean startsWithByteOrderMark(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(3);
+        fill(channel, buffer, 0);
+        return buffer.position() == 3 && buffer.get(0) == (byte) 0xEF && buffer.get(1) == (byte) 0xBB
+                && buffer.get(2) == (byte) 0xBF;
+    }
+
+    // Position of the first line feed at or after the start, or the size when there is none
+    private static long lineEnd(FileChannel channel, long start, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_SIZE);
+        long position = start;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private byte[] read(FileChannel channel, long from, long to) throws IOException {
+        if (to - from > Integer.MAX_VALUE - 8) {
+            throw new GLangException("Line is too long in " + path + ".");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) (to - from));
+        fill(channel, buffer, from);
+        // The file may have been truncated since it was split
+        return buffer.hasRemaining() ? Arrays.copyOf(buffer.array(), buffer.position()) : buffer.array();
+    }
+
+    private static void fill(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                return;
+            }
+        }
+    }
+
+    public class Chunks {
+
+        private final String[] header;
+        private final long[] boundaries;
+        // Records parsed so far by every thread reading chunks, matching the rules or not
+        private final LongAdder recordsRead = new LongAdder();
+
+        private Chunks(String[] header, long[] boundaries) {
+            this.header = header;
+            this.boundaries = boundaries;
+        }
+
+        public int size() {
+            return boundaries.length - 1;
+        }
+
+        public long getRecordsRead() {
+            return recordsRead.sum();
+        }
+
+        public List<RecordArray> read(int chunk) {
+            return read(chunk, new RulePredicate[0]);
+        }
+
+        // Chunks can be read from any thread, each one with its own channel; only records matching all rules are kept
+        public List<RecordArray> read(int chunk, RulePredicate[] predicates) {
+            byte[] bytes;
+            try (FileChannel channel = FileChannel.open(path)) {
+                bytes = RecordFile.this.read(channel, boundaries[chunk], boundaries[chunk + 1]);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read from file: " + path, e);
+            }
+            RecordChunkParser parser = format == Format.CSV
+                    ? RecordChunkParser.csv(bytes, bytes.length, path.toString(), header, predicates)
+                    : RecordChunkParser.jsonLines(bytes, bytes.length, path.toString(), predicates);
+            List<RecordArray> runs = parser.parse();
+            recordsRead.add(parser.getRecords());
+            return runs;
+        }
+    }
+
+    private static class RecordIterator implements Iterator<Map<String, Object>> {
+
+        private final Chunks chunks;
+        private int chunk;
+        private Iterator<RecordArray> runs = Collections.emptyIterator();
+        private Iterator<Map<String, Object>> records = Collections.emptyIterator();
+
+        RecordIterator(Chunks chunks) {
+            this.chunks = chunks;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!records.hasNext()) {
+                if (runs.hasNext()) {
+                    records = runs.next().iterator();
+                } else if (chunk < chunks.size()) {
+                    runs = chunks.read(chunk++).iterator();
+                } else {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Map<String, Object> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return records.next();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package edu.ktu.glang.interpreter.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("edu.ktu.glang.Execution")
+@Label("Execution")
+@Category("GLang")
+@Description("Execution of a script, from its first statement until its output is flushed")
+@StackTrace(false)
+public final class ExecutionEvent extends Event {
+
+    @Label("Output Characters")
+    private long outputCharacters;
+
+    @Label("Memo Hits")
+    private long memoHits;
+
+    @Label("Memo Misses")
+    private long memoMisses;
+
+    // Started when created
+    public ExecutionEvent() {
+        begin();
+    }
+
+    public void commit(long outputCharacters, long memoHits, long memoMisses) {
+        if (shouldCommit()) {
+            this.outputCharacters = outputCharacters;
+            this.memoHits = memoHits;
+            this.memoMisses = memoMisses;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package edu.ktu.glang.interpreter.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("edu.ktu.glang.FileRead")
+@Label("readf")
+@Category("GLang")
+@Description("The first line of a file read by readf")
+@StackTrace(false)
+public final class FileReadEvent extends Event {
+
+    @Label("File")
+    private String file;
+
+    @Label("Characters")
+    private int characters;
+
+    // Started when created
+    public FileReadEvent() {
+        begin();
+    }
+
+    public void commit(String file, int characters) {
+        if (shouldCommit()) {
+            this.file = file;
+            this.characters = characters;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package edu.ktu.glang.interpreter.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+// Most lines only reach the buffer of the file, so only the slow ones are recorded unless the threshold is lowered
+@Name("edu.ktu.glang.FileWrite")
+@Label("printf")
+@Category("GLang")
+@Description("A line printed to a file by printf")
+@StackTrace(false)
+@Threshold("1 ms")
+public final class FileWriteEvent extends Event {
+
+    @Label("File")
+    private String file;
+
+    @Label("Bytes")
+    @DataAmount
+    private int bytes;
+
+    // Started when created
+    public FileWriteEvent() {
+        begin();
+    }
+
+    public void commit(String file, int bytes) {
+        if (shouldCommit()) {
+            this.file = file;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package edu.ktu.glang.interpreter.metrics;
+
+import jdk.jfr.FlightRecorder;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the work done by every interpreter in the JVM: scripts parsed and executed with their output,
+ * ZenFilter calls, printf and readf, and lookups of the program and memo caches. Interpreters on any thread
+ * add to them as they go. {@link #register()} publishes them as an MXBean named {@value #OBJECT_NAME}; the
+ * same operations are recorded as JFR events of the GLang category.
+ */
+public final class GLangMetrics implements GLangMetricsMXBean {
+
+    public static final String OBJECT_NAME = "edu.ktu.glang:type=Metrics";
+
+    private static final GLangMetrics INSTANCE = new GLangMetrics();
+    private static boolean registered;
+
+    private final LongAdder scriptsParsed = new LongAdder();
+    private final LongAdder parseTime = new LongAdder();
+    private final LongAdder scriptsExecuted = new LongAdder();
+    private final LongAdder executionTime = new LongAdder();
+    private final LongAdder outputCharacters = new LongAdder();
+    private final LongAdder zenFilterCalls = new LongAdder();
+    private final LongAdder zenFilterInputRows = new LongAdder();
+    private final LongAdder zenFilterOutputRows = new LongAdder();
+    private final LongAdder zenFilterTime = new LongAdder();
+    private final LongAdder fileWrites = new LongAdder();
+    private final LongAdder fileWriteBytes = new LongAdder();
+    private final LongAdder fileWriteTime = new LongAdder();
+    private final LongAdder fileReads = new LongAdder();
+    private final LongAdder fileReadCharacters = new LongAdder();
+    private final LongAdder fileReadTime = new LongAdder();
+    private final LongAdder programCacheHits = new LongAdder();
+    private final LongAdder programCacheMisses = new LongAdder();
+    private final LongAdder memoHits = new LongAdder();
+    private final LongAdder memoMisses = new LongAdder();
+
+    private GLangMetrics() {
+    }
+
+    public static GLangMetrics get() {
+        return INSTANCE;
+    }
+
+    // Loading an event class starts parts of JFR, so events are only created once it runs
+    public static boolean isRecording() {
+        return FlightRecorder.isInitialized();
+    }
+
+    // Left to long running processes, as the platform MBean server takes a while to start
+    public static synchronized void register() {
+        if (registered) {
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException e) {
+            // Registered by a copy of the interpreter in another class loader
+        } catch (JMException e) {
+            throw new IllegalStateException(e);
+        }
+        registered = true;
+    }
+
+    public void parsed(long nanos) {
+        scriptsParsed.increment();
+        parseTime.add(nanos);
+    }
+
+    public void executed(long nanos, long characters, long memoHits, long memoMisses) {
+        scriptsExecuted.increment();
+        executionTime.add(nanos);
+        outputCharacters.add(characters);
+        this.memoHits.add(memoHits);
+        this.memoMisses.add(memoMisses);
+    }
+
+    public void filtered(long inputRows, long outputRows, long nanos) {
+        zenFilterCalls.increment();
+        zenFilterInputRows.add(inputRows);
+        zenFilterOutputRows.add(outputRows);
+        zenFilterTime.add(nanos);
+    }
+
+    // Lines printed to files are buffered, so they are added with the time spent writing them when the script ends
+    public void filesWritten(long writes, long bytes, long nanos) {
+        fileWrites.add(writes);
+        fileWriteBytes.add(bytes);
+        fileWriteTime.add(nanos);
+    }
+
+    public void fileRead(long characters, long nanos) {
+        fileReads.increment();
+        fileReadCharacters.add(characters);
+        fileReadTime.add(nanos);
+    }
+
+    public void programLookedUp(boolean hit) {
+        (hit ? programCacheHits : programCacheMisses).increment();
+    }
+
+    @Override
+    public long getScriptsParsed() {
+        return scriptsParsed.sum();
+    }
+
+    @Override
+    public long getParseTimeNanos() {
+        return parseTime.sum();
+    }
+
+    @Override
+    public long getScriptsExecuted() {
+        return scriptsExecuted.sum();
+    }
+
+    @Override
+    public long getExecutionTimeNanos() {
+        return executionTime.sum();
+    }
+
+    @Override
+    public long getOutputCharacters() {
+        return outputCharacters.sum();
+    }
+
+    @Override
+    public long getZenFilterCalls() {
+        return zenFilterCalls.sum();
+    }
+
+    @Override
+    public long getZenFilterInputRows() {
+        return zenFilterInputRows.sum();
+    }
+
+    @Override
+    public long getZenFilterOutputRows() {
+        return zenFilterOutputRows.sum();
+    }
+
+    @Override
+    public long getZenFilterTimeNanos() {
+        return zenFilterTime.sum();
+    }
+
+    @Override
+    public long getFileWrites() {
+        return fileWrites.sum();
+    }
+
+    @Override
+    public long getFileWriteBytes() {
+        return fileWriteBytes.sum();
+    }
+
+    @Override
+    public long getFileWriteTimeNanos() {
+        return fileWriteTime.sum();
+    }
+
+    @Override
+    public long getFileReads() {
+        return fileReads.sum();
+    }
+
+    @Override
+    public long getFileReadCharacters() {
+        return fileReadCharacters.sum();
+    }
+
+    @Override
+    public long getFileReadTimeNanos() {
+        return fileReadTime.sum();
+    }
+
+    @Override
+    public long getProgramCacheHits() {
+        return programCacheHits.sum();
+    }
+
+    @Override
+    public long getProgramCacheMisses() {
+        return programCacheMisses.sum();
+    }
+
+    @Override
+    public double getProgramCacheHitRate() {
+        return rate(getProgramCacheHits(), getProgramCacheMisses());
+    }
+
+    @Override
+    public long getMemoHits() {
+        return memoHits.sum();
+    }
+
+    @Override
+    public long getMemoMisses() {
+        return memoMisses.sum();
+    }
+
+    @Override
+    public double getMemoHitRate() {
+        return rate(getMemoHits(), getMemoMisses());
+    }
+
+    private static double rate(long hits, long misses) {
+        return hits + misses > 0 ? (double) hits / (hits + misses) : 0.0;
+    }
+}
@@ -0,0 +1,47 @@
+package edu.ktu.glang.interpreter.metrics;
+
+// Totals since the JVM started, over every script of every interpreter; times are in nanoseconds
+public interface GLangMetricsMXBean {
+
+    long getScriptsParsed();
+
+    long getParseTimeNanos();
+
+    long getScriptsExecuted();
+
+    long getExecutionTimeNanos();
+
+    long getOutputCharacters();
+
+    long getZenFilterCalls();
+
+    long getZenFilterInputRows();
+
+    long getZenFilterOutputRows();
+
+    long getZenFilterTimeNanos();
+
+    long getFileWrites();
+
+    long getFileWriteBytes();
+
+    long getFileWriteTimeNanos();
+
+    long getFileReads();
+
+    long getFileReadCharacters();
+
+    long getFileReadTimeNanos();
+
+    long getProgramCacheHits();
+
+    long getProgramCacheMisses();
+
+    double getProgramCacheHitRate();
+
+    long getMemoHits();
+
+    long getMemoMisses();
+
+    double getMemoHitRate();
+}
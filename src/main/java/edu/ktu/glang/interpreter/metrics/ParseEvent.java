@@ -0,0 +1,36 @@
+package edu.ktu.glang.interpreter.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("edu.ktu.glang.Parse")
+@Label("Parse")
+@Category("GLang")
+@Description("Lexing and parsing of a script")
+@StackTrace(false)
+public final class ParseEvent extends Event {
+
+    @Label("Tokens")
+    private int tokens;
+
+    @Label("Full LL")
+    @Description("SLL prediction failed and the script was parsed again with full LL prediction")
+    private boolean fullContext;
+
+    // Started when created
+    public ParseEvent() {
+        begin();
+    }
+
+    public void commit(int tokens, boolean fullContext) {
+        if (shouldCommit()) {
+            this.tokens = tokens;
+            this.fullContext = fullContext;
+            commit();
+        }
+    }
+}
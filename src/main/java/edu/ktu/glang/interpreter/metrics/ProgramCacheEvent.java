@@ -0,0 +1,35 @@
+package edu.ktu.glang.interpreter.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("edu.ktu.glang.ProgramCache")
+@Label("Program Cache Lookup")
+@Category("GLang")
+@Description("Lookup of a compiled program by its source, including the compilation on a miss")
+@StackTrace(false)
+public final class ProgramCacheEvent extends Event {
+
+    @Label("Hit")
+    private boolean hit;
+
+    @Label("Source Characters")
+    private int sourceCharacters;
+
+    // Started when created
+    public ProgramCacheEvent() {
+        begin();
+    }
+
+    public void commit(boolean hit, int sourceCharacters) {
+        if (shouldCommit()) {
+            this.hit = hit;
+            this.sourceCharacters = sourceCharacters;
+            commit();
+        }
+    }
+}
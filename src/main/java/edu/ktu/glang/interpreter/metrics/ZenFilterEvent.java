@@ -0,0 +1,40 @@
+package edu.ktu.glang.interpreter.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("edu.ktu.glang.ZenFilter")
+@Label("ZenFilter")
+@Category("GLang")
+@Description("A ZenFilter call, with the records it was given and the ones that matched its rules")
+@StackTrace(false)
+public final class ZenFilterEvent extends Event {
+
+    @Label("Input Rows")
+    private long inputRows;
+
+    @Label("Output Rows")
+    private long outputRows;
+
+    @Label("From File")
+    @Description("The records were read from a file while they were filtered")
+    private boolean fromFile;
+
+    // Started when created
+    public ZenFilterEvent() {
+        begin();
+    }
+
+    public void commit(long inputRows, long outputRows, boolean fromFile) {
+        if (shouldCommit()) {
+            this.inputRows = inputRows;
+            this.outputRows = outputRows;
+            this.fromFile = fromFile;
+            commit();
+        }
+    }
+}
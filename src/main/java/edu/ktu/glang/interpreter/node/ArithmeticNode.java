@@ -0,0 +1,23 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+
+public abstract class ArithmeticNode extends BinaryNode {
+
+    protected ArithmeticNode(ExpressionNode left, ExpressionNode right) {
+        super(left, right);
+    }
+
+    @Override
+    public abstract int executeInt(GLangScope scope);
+
+    @Override
+    public Object execute(GLangScope scope) {
+        return executeInt(scope);
+    }
+
+    @Override
+    public boolean isInt() {
+        return true;
+    }
+}
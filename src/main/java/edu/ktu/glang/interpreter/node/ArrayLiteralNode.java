@@ -0,0 +1,35 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangArray;
+import edu.ktu.glang.interpreter.GLangScope;
+
+import java.util.List;
+
+public class ArrayLiteralNode extends ExpressionNode {
+
+    private final ExpressionNode[] elements;
+
+    public ArrayLiteralNode(ExpressionNode[] elements) {
+        this.elements = elements;
+    }
+
+    @Override
+    public Object execute(GLangScope scope) {
+        List<Object> values = new GLangArray<>(elements.length);
+        for (ExpressionNode element : elements) {
+            values.add(element.execute(scope));
+        }
+        return values;
+    }
+
+    @Override
+    void write(ProgramWriter out) {
+        out.writeTag(Tag.ARRAY);
+        out.writeNodes(elements);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + BlockNode.join(elements) + "]";
+    }
+}
@@ -0,0 +1,64 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+import edu.ktu.glang.interpreter.exception.GLangException;
+import edu.ktu.glang.interpreter.exception.GLangVariableNotDeclaredException;
+import edu.ktu.glang.interpreter.input.RecordFile;
+
+import java.util.List;
+
+public class AssignVariableNode extends StatementNode {
+
+    private final VariableNode target;
+    private final ExpressionNode value;
+
+    public AssignVariableNode(VariableNode target, ExpressionNode value) {
+        this.target = target;
+        this.value = value;
+    }
+
+    @Override
+    public boolean execute(GLangScope scope) {
+        if (value.isInt()) {
+            int result = value.executeInt(scope);
+            checkDeclared(scope, result);
+            target.setInt(scope, result);
+            return false;
+        }
+
+        Object result = checkAssignable(value.execute(scope));
+        checkDeclared(scope, result);
+        target.set(scope, result);
+        return false;
+    }
+
+    // Arrays and loaded records may be assigned to a new variable, anything else has to be declared first
+    private void checkDeclared(GLangScope scope, Object result) {
+        if (!isCollection(result) && !target.isDeclared(scope)) {
+            throw new GLangVariableNotDeclaredException(target.toString());
+        }
+    }
+
+    public static boolean isCollection(Object value) {
+        return value instanceof List<?> || value instanceof RecordFile;
+    }
+
+    public static Object checkAssignable(Object value) {
+        if (!(isCollection(value) || value instanceof Integer || value instanceof Boolean)) {
+            throw new GLangException("Invalid assignment. Expected an array literal or an integer value.");
+        }
+        return value;
+    }
+
+    @Override
+    void write(ProgramWriter out) {
+        out.writeTag(Tag.ASSIGN);
+        out.writeNode(target);
+        out.writeNode(value);
+    }
+
+    @Override
+    public String toString() {
+        return target + " = " + value + ";";
+    }
+}
@@ -0,0 +1,32 @@
+package edu.ktu.glang.interpreter.node;
+
+public abstract class BinaryNode extends ExpressionNode {
+
+    protected final ExpressionNode left;
+    protected final ExpressionNode right;
+
+    protected BinaryNode(ExpressionNode left, ExpressionNode right) {
+        this.left = left;
+        this.right = right;
+    }
+
+    protected abstract String operator();
+
+    // Int operations are told apart by their operator
+    @Override
+    void write(ProgramWriter out) {
+        out.writeTag(Tag.OPERATION);
+        out.writeString(operator());
+        out.writeNode(left);
+        out.writeNode(right);
+    }
+
+    @Override
+    public String toString() {
+        return operand(left) + " " + operator() + " " + operand(right);
+    }
+
+    private static String operand(ExpressionNode operand) {
+        return operand instanceof BinaryNode ? "(" + operand + ")" : operand.toString();
+    }
+}
@@ -0,0 +1,55 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+
+import java.util.StringJoiner;
+
+public class BlockNode extends StatementNode {
+
+    private final StatementNode[] statements;
+
+    public BlockNode(StatementNode[] statements) {
+        this.statements = statements;
+    }
+
+    @Override
+    public boolean execute(GLangScope scope) {
+        for (StatementNode statement : statements) {
+            if (statement.execute(scope)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    void write(ProgramWriter out) {
+        out.writeTag(Tag.BLOCK);
+        out.writeNodes(statements);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner lines = new StringJoiner("\n");
+        for (StatementNode statement : statements) {
+            // Blocks left by if statements with a constant condition can be empty
+            if (!(statement instanceof BlockNode block && block.statements.length == 0)) {
+                lines.add(statement.toString());
+            }
+        }
+        return lines.toString();
+    }
+
+    // The statements one level deeper, each line ending with a line break
+    String indent() {
+        return toString().indent(4);
+    }
+
+    static String join(ExpressionNode[] expressions) {
+        StringJoiner joined = new StringJoiner(", ");
+        for (ExpressionNode expression : expressions) {
+            joined.add(expression.toString());
+        }
+        return joined.toString();
+    }
+}
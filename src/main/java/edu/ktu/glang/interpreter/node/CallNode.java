@@ -0,0 +1,117 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.CallStack;
+import edu.ktu.glang.interpreter.GLangScope;
+import edu.ktu.glang.interpreter.MemoTable;
+import edu.ktu.glang.interpreter.exception.GLangException;
+import edu.ktu.glang.interpreter.exception.GLangFunctionNotDeclaredException;
+
+public class CallNode extends ExpressionNode {
+
+    private final String name;
+    private final FunctionNode function;
+    private final ExpressionNode[] arguments;
+
+    public CallNode(String name, FunctionNode function, ExpressionNode[] arguments) {
+        this.name = name;
+        this.function = function;
+        this.arguments = arguments;
+    }
+
+    @Override
+    public Object execute(GLangScope scope) {
+        return call(scope).getReturnValue();
+    }
+
+    @Override
+    public int executeInt(GLangScope scope) {
+        GLangScope frame = call(scope);
+        return frame.isReturnInt() ? frame.getReturnInt() : toInt(frame.getReturnValue());
+    }
+
+    // Returns the frame of the last function run, which holds the return value
+    private GLangScope call(GLangScope scope) {
+        GLangScope frame = frame(scope, name, function, arguments);
+        int memoSlot = function.getMemoSlot();
+        if (memoSlot < 0) {
+            return run(scope, frame);
+        }
+
+        // Pure functions look up their result by the argument values first
+        MemoTable memoTable = scope.getInterpreter().getMemoTable();
+        Object[] values = new Object[function.getParameterCount()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = frame.get(i);
+        }
+        Object result = memoTable.get(memoSlot, function.getName(), values);
+        if (result == MemoTable.MISS) {
+            frame = run(scope, frame);
+            memoTable.put(memoSlot, values, frame.getReturnValue());
+        } else if (result instanceof Integer number) {
+            frame.setReturnInt(number);
+        } else {
+            frame.setReturnValue(result);
+        }
+        return frame;
+    }
+
+    private GLangScope run(GLangScope scope, GLangScope frame) {
+        scope.getInterpreter().checkpoint();
+        CallStack stack = scope.getInterpreter().getCallStack();
+        stack.push(frame, name);
+        try {
+            FunctionNode target = function;
+            while (true) {
+                stack.invoke(target, frame);
+                if (frame.getTailCall() == null) {
+                    return frame;
+                }
+                // Tail calls run one after another in this loop instead of nesting
+                target = frame.getTailCall();
+                frame = frame.getTailFrame();
+                stack.replace(frame);
+                scope.getInterpreter().checkpoint();
+            }
+        } finally {
+            stack.pop();
+        }
+    }
+
+    // Arguments are evaluated straight into the parameter slots of the new frame
+    static GLangScope frame(GLangScope scope, String name, FunctionNode function, ExpressionNode[] arguments) {
+        if (function == null) {
+            throw new GLangFunctionNotDeclaredException(name);
+        }
+        int parameterCount = function.getParameterCount();
+        if (arguments.length < parameterCount) {
+            throw new GLangException(String.format("Function '%s' expects %d arguments but got %d.",
+                    name, parameterCount, arguments.length));
+        }
+
+        GLangScope frame = new GLangScope(scope.getInterpreter(), parameterCount);
+        for (int i = 0; i < arguments.length; i++) {
+            ExpressionNode argument = arguments[i];
+            if (i >= parameterCount) {
+                argument.execute(scope);
+            } else if (argument.isInt()) {
+                frame.setInt(i, argument.executeInt(scope));
+            } else {
+                frame.set(i, argument.execute(scope));
+            }
+        }
+        return frame;
+    }
+
+    @Override
+    void write(ProgramWriter out) {
+        out.writeTag(Tag.CALL);
+        out.writeString(name);
+        out.writeFunction(function);
+        out.writeNodes(arguments);
+    }
+
+    @Override
+    public String toString() {
+        return name + "(" + BlockNode.join(arguments) + ")";
+    }
+}
@@ -0,0 +1,37 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+import edu.ktu.glang.interpreter.Profiler;
+
+// The body of a function, or the top level statements, of a program compiled with profiling
+public class CallProfileNode extends StatementNode {
+
+    private final String name;
+    private final BlockNode body;
+
+    public CallProfileNode(String name, BlockNode body) {
+        this.name = name;
+        this.body = body;
+    }
+
+    @Override
+    public boolean execute(GLangScope scope) {
+        Profiler profiler = scope.getInterpreter().getProfiler();
+        profiler.enterFunction(name);
+        try {
+            return body.execute(scope);
+        } finally {
+            profiler.exitFunction();
+        }
+    }
+
+    @Override
+    void write(ProgramWriter out) {
+        body.write(out);
+    }
+
+    @Override
+    public String toString() {
+        return body.toString();
+    }
+}
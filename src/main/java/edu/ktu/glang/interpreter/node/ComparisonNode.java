@@ -0,0 +1,18 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+
+public abstract class ComparisonNode extends BinaryNode {
+
+    protected ComparisonNode(ExpressionNode left, ExpressionNode right) {
+        super(left, right);
+    }
+
+    @Override
+    public abstract boolean executeBoolean(GLangScope scope);
+
+    @Override
+    public Object execute(GLangScope scope) {
+        return executeBoolean(scope);
+    }
+}
@@ -0,0 +1,48 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+
+public class ConstantNode extends ExpressionNode {
+
+    private final Object value;
+
+    public ConstantNode(Object value) {
+        this.value = value;
+    }
+
+    @Override
+    public Object execute(GLangScope scope) {
+        return value;
+    }
+
+    @Override
+    public int executeInt(GLangScope scope) {
+        return toInt(value);
+    }
+
+    @Override
+    public boolean isInt() {
+        return value instanceof Integer;
+    }
+
+    @Override
+    void write(ProgramWriter out) {
+        if (value instanceof Integer number) {
+            out.writeTag(Tag.INT);
+            out.writeInt(number);
+        } else if (value instanceof String string) {
+            out.writeTag(Tag.STRING);
+            out.writeString(string);
+        } else if (value instanceof Boolean bool) {
+            out.writeTag(Tag.BOOLEAN);
+            out.writeBoolean(bool);
+        } else {
+            throw new IllegalStateException("Constant cannot be written: " + value);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return value instanceof String ? "\"" + value + "\"" : String.valueOf(value);
+    }
+}
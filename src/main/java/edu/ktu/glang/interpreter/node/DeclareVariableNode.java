@@ -0,0 +1,50 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+import edu.ktu.glang.interpreter.exception.GLangVariableAlreadyDeclaredException;
+
+public class DeclareVariableNode extends StatementNode {
+
+    private final String type;
+    private final GlobalVariableNode target;
+    private final ExpressionNode value;
+
+    public DeclareVariableNode(String type, GlobalVariableNode target, ExpressionNode value) {
+        this.type = type;
+        this.target = target;
+        this.value = value;
+    }
+
+    @Override
+    public boolean execute(GLangScope scope) {
+        if (value.isInt()) {
+            int result = value.executeInt(scope);
+            checkNotDeclared(scope);
+            target.setInt(scope, result);
+        } else {
+            Object result = value.execute(scope);
+            checkNotDeclared(scope);
+            target.set(scope, result);
+        }
+        return false;
+    }
+
+    private void checkNotDeclared(GLangScope scope) {
+        if (target.isDeclared(scope)) {
+            throw new GLangVariableAlreadyDeclaredException(target.name);
+        }
+    }
+
+    @Override
+    void write(ProgramWriter out) {
+        out.writeTag(Tag.DECLARE);
+        out.writeString(type);
+        out.writeNode(target);
+        out.writeNode(value);
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + target + " = " + value + ";";
+    }
+}
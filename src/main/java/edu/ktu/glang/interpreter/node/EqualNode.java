@@ -0,0 +1,43 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+import edu.ktu.glang.interpreter.exception.GLangException;
+
+// Equality of an if statement, which besides integers also compares strings
+public class EqualNode extends ComparisonNode {
+
+    private final boolean negated;
+
+    public EqualNode(ExpressionNode left, ExpressionNode right, boolean negated) {
+        super(left, right);
+        this.negated = negated;
+    }
+
+    @Override
+    public boolean executeBoolean(GLangScope scope) {
+        return equal(left.execute(scope), right.execute(scope)) != negated;
+    }
+
+    public static boolean equal(Object left, Object right) {
+        if (left instanceof Integer leftInt && right instanceof Integer rightInt) {
+            return leftInt.intValue() == rightInt.intValue();
+        } else if (left instanceof String leftString && right instanceof String rightString) {
+            return leftString.equals(rightString);
+        } else {
+            throw new GLangException("Incompatible types.");
+        }
+    }
+
+    @Override
+    void write(ProgramWriter out) {
+        out.writeTag(Tag.EQUAL);
+        out.writeNode(left);
+        out.writeNode(right);
+        out.writeBoolean(negated);
+    }
+
+    @Override
+    protected String operator() {
+        return negated ? "!=" : "==";
+    }
+}
@@ -0,0 +1,37 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+import edu.ktu.glang.interpreter.exception.GLangException;
+
+public abstract class ExpressionNode extends Node {
+
+    public abstract Object execute(GLangScope scope);
+
+    // Int and boolean nodes override these, so that their values are never boxed
+    public int executeInt(GLangScope scope) {
+        return toInt(execute(scope));
+    }
+
+    public boolean executeBoolean(GLangScope scope) {
+        Object value = execute(scope);
+        if (value instanceof Boolean bool) {
+            return bool;
+        }
+        throw new GLangException("Incompatible types or unsupported operator for these types.");
+    }
+
+    // True when the node is statically known to produce an int, so callers can use executeInt
+    public boolean isInt() {
+        return false;
+    }
+
+    public static int toInt(Object value) {
+        if (value instanceof Integer integer) {
+            return integer;
+        }
+        if (value == null) {
+            throw new GLangException("Null value in arithmetic operation");
+        }
+        throw new GLangException("Incompatible types or unsupported operator for these types.");
+    }
+}
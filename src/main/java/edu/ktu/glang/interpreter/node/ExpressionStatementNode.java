@@ -0,0 +1,29 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+
+public class ExpressionStatementNode extends StatementNode {
+
+    private final ExpressionNode expression;
+
+    public ExpressionStatementNode(ExpressionNode expression) {
+        this.expression = expression;
+    }
+
+    @Override
+    public boolean execute(GLangScope scope) {
+        expression.execute(scope);
+        return false;
+    }
+
+    @Override
+    void write(ProgramWriter out) {
+        out.writeTag(Tag.EXPRESSION_STATEMENT);
+        out.writeNode(expression);
+    }
+
+    @Override
+    public String toString() {
+        return expression + ";";
+    }
+}
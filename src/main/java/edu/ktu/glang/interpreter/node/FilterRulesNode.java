@@ -0,0 +1,47 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+public class FilterRulesNode extends StatementNode {
+
+    private final VariableNode target;
+    private final List<Map<String, Object>> rules;
+
+    // Filter rules consist of string literals only, so they are built once by the compiler
+    public FilterRulesNode(VariableNode target, List<Map<String, Object>> rules) {
+        this.target = target;
+        this.rules = rules;
+    }
+
+    @Override
+    public boolean execute(GLangScope scope) {
+        target.set(scope, rules);
+        return false;
+    }
+
+    @Override
+    void write(ProgramWriter out) {
+        out.writeTag(Tag.FILTER_RULES);
+        out.writeNode(target);
+        out.writeInt(rules.size());
+        for (Map<String, Object> rule : rules) {
+            out.writeString((String) rule.get("type"));
+            out.writeString((String) rule.get("property"));
+            out.writeString((String) rule.get("value"));
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner elements = new StringJoiner(", ", "let " + target + " = [", "];");
+        for (Map<String, Object> rule : rules) {
+            elements.add(String.format("{ type = \"%s\", property = \"%s\", value = \"%s\" }",
+                    rule.get("type"), rule.get("property"), rule.get("value")));
+        }
+        return elements.toString();
+    }
+}
@@ -0,0 +1,52 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+import edu.ktu.glang.interpreter.exception.GLangException;
+
+import java.util.Iterator;
+
+public class ForEachLoopNode extends StatementNode {
+
+    private final VariableNode target;
+    private final ExpressionNode elements;
+    private final BlockNode body;
+
+    public ForEachLoopNode(VariableNode target, ExpressionNode elements, BlockNode body) {
+        this.target = target;
+        this.elements = elements;
+        this.body = body;
+    }
+
+    @Override
+    public boolean execute(GLangScope scope) {
+        Iterator<?> iterator = iterator(elements.execute(scope));
+        while (iterator.hasNext()) {
+            scope.getInterpreter().checkpoint();
+            target.set(scope, iterator.next());
+            if (body.execute(scope)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static Iterator<?> iterator(Object elements) {
+        if (elements instanceof Iterable<?> iterable) {
+            return iterable.iterator();
+        }
+        throw new GLangException("Cannot iterate over " + elements + ".");
+    }
+
+    @Override
+    void write(ProgramWriter out) {
+        out.writeTag(Tag.FOR_EACH);
+        out.writeNode(target);
+        out.writeNode(elements);
+        out.writeNode(body);
+    }
+
+    @Override
+    public String toString() {
+        return "for (" + target + " : " + elements + ") {\n" + body.indent() + "}";
+    }
+}
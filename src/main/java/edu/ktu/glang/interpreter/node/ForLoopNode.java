@@ -0,0 +1,46 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+
+public class ForLoopNode extends StatementNode {
+
+    private final StatementNode initialization;
+    private final ExpressionNode condition;
+    private final StatementNode increment;
+    private final BlockNode body;
+
+    public ForLoopNode(StatementNode initialization, ExpressionNode condition, StatementNode increment, BlockNode body) {
+        this.initialization = initialization;
+        this.condition = condition;
+        this.increment = increment;
+        this.body = body;
+    }
+
+    @Override
+    public boolean execute(GLangScope scope) {
+        initialization.execute(scope);
+        while (condition.executeBoolean(scope)) {
+            scope.getInterpreter().checkpoint();
+            if (body.execute(scope)) {
+                return true;
+            }
+            increment.execute(scope);
+        }
+        return false;
+    }
+
+    @Override
+    void write(ProgramWriter out) {
+        out.writeTag(Tag.FOR);
+        out.writeNode(initialization);
+        out.writeNode(condition);
+        out.writeNode(increment);
+        out.writeNode(body);
+    }
+
+    @Override
+    public String toString() {
+        String header = initialization + " " + condition + "; " + increment;
+        return "for (" + header.substring(0, header.length() - 1) + ") {\n" + body.indent() + "}";
+    }
+}
@@ -0,0 +1,63 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+
+public class FunctionNode {
+
+    private final String name;
+    private String[] parameters;
+    private BlockNode body;
+    // Slot of the memo table holding the results of a pure function, -1 when they are not memoized
+    private int memoSlot = -1;
+
+    public FunctionNode(String name, String[] parameters) {
+        this.name = name;
+        this.parameters = parameters;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    String[] getParameters() {
+        return parameters;
+    }
+
+    BlockNode getBody() {
+        return body;
+    }
+
+    // Parameters occupy the first slots of the frame, in declaration order
+    public int getParameterCount() {
+        return parameters.length;
+    }
+
+    // A function declared again in a later program of a session keeps its node, so earlier calls run the new
+    // declaration
+    public void setParameters(String[] parameters) {
+        this.parameters = parameters;
+    }
+
+    // The body is attached after all functions of the program are declared, so calls can refer to any of them
+    public void setBody(BlockNode body) {
+        this.body = body;
+    }
+
+    public int getMemoSlot() {
+        return memoSlot;
+    }
+
+    public void setMemoSlot(int memoSlot) {
+        this.memoSlot = memoSlot;
+    }
+
+    // Runs the body, the return value is left in the frame
+    public void invoke(GLangScope frame) {
+        body.execute(frame);
+    }
+
+    @Override
+    public String toString() {
+        return "func " + name + "(" + String.join(", ", parameters) + ") {\n" + body.indent() + "}";
+    }
+}
@@ -0,0 +1,49 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+import edu.ktu.glang.interpreter.SymbolTable;
+import edu.ktu.glang.interpreter.exception.GLangVariableNotDeclaredException;
+
+public class GlobalVariableNode extends VariableNode {
+
+    public GlobalVariableNode(String name, int slot) {
+        super(name, slot);
+    }
+
+    @Override
+    public Object execute(GLangScope scope) {
+        Object value = scope.getGlobals().get(slot);
+        if (value == null) {
+            throw new GLangVariableNotDeclaredException(name);
+        }
+        return value;
+    }
+
+    @Override
+    public int executeInt(GLangScope scope) {
+        SymbolTable globals = scope.getGlobals();
+        return globals.isInt(slot) ? globals.getInt(slot) : toInt(execute(scope));
+    }
+
+    @Override
+    public void set(GLangScope scope, Object value) {
+        scope.getGlobals().put(slot, value);
+    }
+
+    @Override
+    public void setInt(GLangScope scope, int value) {
+        scope.getGlobals().putInt(slot, value);
+    }
+
+    @Override
+    public boolean isDeclared(GLangScope scope) {
+        return scope.getGlobals().contains(slot);
+    }
+
+    @Override
+    void write(ProgramWriter out) {
+        out.writeTag(Tag.GLOBAL);
+        out.writeString(name);
+        out.writeInt(slot);
+    }
+}
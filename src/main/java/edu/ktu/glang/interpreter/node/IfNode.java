@@ -0,0 +1,40 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+
+public class IfNode extends StatementNode {
+
+    private final ExpressionNode condition;
+    private final BlockNode thenBlock;
+    private final BlockNode elseBlock;
+
+    public IfNode(ExpressionNode condition, BlockNode thenBlock, BlockNode elseBlock) {
+        this.condition = condition;
+        this.thenBlock = thenBlock;
+        this.elseBlock = elseBlock;
+    }
+
+    @Override
+    public boolean execute(GLangScope scope) {
+        if (condition.executeBoolean(scope)) {
+            return thenBlock.execute(scope);
+        } else if (elseBlock != null) {
+            return elseBlock.execute(scope);
+        }
+        return false;
+    }
+
+    @Override
+    void write(ProgramWriter out) {
+        out.writeTag(Tag.IF);
+        out.writeNode(condition);
+        out.writeNode(thenBlock);
+        out.writeNode(elseBlock);
+    }
+
+    @Override
+    public String toString() {
+        String text = "if (" + condition + ") {\n" + thenBlock.indent() + "}";
+        return elseBlock != null ? text + " else {\n" + elseBlock.indent() + "}" : text;
+    }
+}
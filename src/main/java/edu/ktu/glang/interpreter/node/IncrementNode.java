@@ -0,0 +1,45 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+
+// Covers i++, i--, i += n, i -= n and i = j +/- n
+public class IncrementNode extends StatementNode {
+
+    private final VariableNode target;
+    private final VariableNode source;
+    private final int delta;
+
+    public IncrementNode(VariableNode target, VariableNode source, int delta) {
+        this.target = target;
+        this.source = source;
+        this.delta = delta;
+    }
+
+    @Override
+    public boolean execute(GLangScope scope) {
+        target.setInt(scope, source.executeInt(scope) + delta);
+        return false;
+    }
+
+    @Override
+    void write(ProgramWriter out) {
+        out.writeTag(Tag.INCREMENT);
+        out.writeNode(target);
+        // i++ and i += n read the variable they write
+        out.writeBoolean(source == target);
+        if (source != target) {
+            out.writeNode(source);
+        }
+        out.writeInt(delta);
+    }
+
+    @Override
+    public String toString() {
+        if (target != source) {
+            return target + " = " + source + (delta < 0 ? " - " : " + ") + Math.abs(delta) + ";";
+        } else if (delta == 1 || delta == -1) {
+            return target + (delta < 0 ? "--;" : "++;");
+        }
+        return target + (delta < 0 ? " -= " : " += ") + Math.abs(delta) + ";";
+    }
+}
@@ -0,0 +1,64 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+
+// A call of a small function whose returned expression is run in place of the call: the arguments are evaluated
+// in call order into a frame of their own, which the expression reads, but nothing is pushed on the call stack
+public class InlinedCallNode extends ExpressionNode {
+
+    private final String name;
+    private final ExpressionNode[] arguments;
+    private final ExpressionNode body;
+
+    public InlinedCallNode(String name, ExpressionNode[] arguments, ExpressionNode body) {
+        this.name = name;
+        this.arguments = arguments;
+        this.body = body;
+    }
+
+    @Override
+    public Object execute(GLangScope scope) {
+        return body.execute(frame(scope));
+    }
+
+    @Override
+    public int executeInt(GLangScope scope) {
+        return body.executeInt(frame(scope));
+    }
+
+    @Override
+    public boolean executeBoolean(GLangScope scope) {
+        return body.executeBoolean(frame(scope));
+    }
+
+    @Override
+    public boolean isInt() {
+        return body.isInt();
+    }
+
+    private GLangScope frame(GLangScope scope) {
+        GLangScope frame = new GLangScope(scope.getInterpreter(), arguments.length);
+        for (int i = 0; i < arguments.length; i++) {
+            ExpressionNode argument = arguments[i];
+            if (argument.isInt()) {
+                frame.setInt(i, argument.executeInt(scope));
+            } else {
+                frame.set(i, argument.execute(scope));
+            }
+        }
+        return frame;
+    }
+
+    @Override
+    void write(ProgramWriter out) {
+        out.writeTag(Tag.INLINED_CALL);
+        out.writeString(name);
+        out.writeNodes(arguments);
+        out.writeNode(body);
+    }
+
+    @Override
+    public String toString() {
+        return name + "(" + BlockNode.join(arguments) + ") => " + body;
+    }
+}
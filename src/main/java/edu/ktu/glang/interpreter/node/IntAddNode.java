@@ -0,0 +1,20 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+
+public class IntAddNode extends ArithmeticNode {
+
+    public IntAddNode(ExpressionNode left, ExpressionNode right) {
+        super(left, right);
+    }
+
+    @Override
+    public int executeInt(GLangScope scope) {
+        return left.executeInt(scope) + right.executeInt(scope);
+    }
+
+    @Override
+    protected String operator() {
+        return "+";
+    }
+}
@@ -0,0 +1,20 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+
+public class IntGreaterOrEqualNode extends ComparisonNode {
+
+    public IntGreaterOrEqualNode(ExpressionNode left, ExpressionNode right) {
+        super(left, right);
+    }
+
+    @Override
+    public boolean executeBoolean(GLangScope scope) {
+        return left.executeInt(scope) >= right.executeInt(scope);
+    }
+
+    @Override
+    protected String operator() {
+        return ">=";
+    }
+}
@@ -0,0 +1,38 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+import edu.ktu.glang.interpreter.Profiler;
+
+// A statement of a program compiled with profiling, timed for its source line
+public class LineProfileNode extends StatementNode {
+
+    private final int line;
+    private final StatementNode statement;
+
+    public LineProfileNode(int line, StatementNode statement) {
+        this.line = line;
+        this.statement = statement;
+    }
+
+    @Override
+    public boolean execute(GLangScope scope) {
+        Profiler profiler = scope.getInterpreter().getProfiler();
+        profiler.enterLine(line);
+        try {
+            return statement.execute(scope);
+        } finally {
+            profiler.exitLine();
+        }
+    }
+
+    // Profiling is not part of a compiled program file
+    @Override
+    void write(ProgramWriter out) {
+        statement.write(out);
+    }
+
+    @Override
+    public String toString() {
+        return statement.toString();
+    }
+}
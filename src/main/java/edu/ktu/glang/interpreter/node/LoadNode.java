@@ -0,0 +1,29 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+
+// The load("file") builtin, used when no function named load is declared
+public class LoadNode extends ExpressionNode {
+
+    private final ExpressionNode filename;
+
+    public LoadNode(ExpressionNode filename) {
+        this.filename = filename;
+    }
+
+    @Override
+    public Object execute(GLangScope scope) {
+        return scope.getInterpreter().load(String.valueOf(filename.execute(scope)));
+    }
+
+    @Override
+    void write(ProgramWriter out) {
+        out.writeTag(Tag.LOAD);
+        out.writeNode(filename);
+    }
+
+    @Override
+    public String toString() {
+        return "load(" + filename + ")";
+    }
+}
@@ -0,0 +1,37 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+
+public class LocalVariableNode extends VariableNode {
+
+    public LocalVariableNode(String name, int slot) {
+        super(name, slot);
+    }
+
+    @Override
+    public Object execute(GLangScope scope) {
+        return scope.get(slot);
+    }
+
+    @Override
+    public int executeInt(GLangScope scope) {
+        return scope.isInt(slot) ? scope.getInt(slot) : toInt(scope.get(slot));
+    }
+
+    @Override
+    public void set(GLangScope scope, Object value) {
+        scope.set(slot, value);
+    }
+
+    @Override
+    public void setInt(GLangScope scope, int value) {
+        scope.setInt(slot, value);
+    }
+
+    @Override
+    void write(ProgramWriter out) {
+        out.writeTag(Tag.LOCAL);
+        out.writeString(name);
+        out.writeInt(slot);
+    }
+}
@@ -0,0 +1,31 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+
+// The body of a loop of a program compiled with profiling, which counts the iterations of the loop
+public class LoopProfileNode extends StatementNode {
+
+    private final int line;
+    private final BlockNode body;
+
+    public LoopProfileNode(int line, BlockNode body) {
+        this.line = line;
+        this.body = body;
+    }
+
+    @Override
+    public boolean execute(GLangScope scope) {
+        scope.getInterpreter().getProfiler().iteration(line);
+        return body.execute(scope);
+    }
+
+    @Override
+    void write(ProgramWriter out) {
+        body.write(out);
+    }
+
+    @Override
+    public String toString() {
+        return body.toString();
+    }
+}
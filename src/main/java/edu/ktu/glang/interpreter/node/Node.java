@@ -0,0 +1,10 @@
+package edu.ktu.glang.interpreter.node;
+
+/**
+ * Base class of the lowered program tree produced by {@link edu.ktu.glang.interpreter.ProgramCompiler}.
+ */
+public abstract class Node {
+
+    // Writes the tag of the node and then its fields, see ProgramReader
+    abstract void write(ProgramWriter out);
+}
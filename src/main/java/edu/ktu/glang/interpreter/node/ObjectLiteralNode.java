@@ -0,0 +1,47 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+public class ObjectLiteralNode extends ExpressionNode {
+
+    private final String[] names;
+    private final ExpressionNode[] values;
+
+    public ObjectLiteralNode(String[] names, ExpressionNode[] values) {
+        this.names = names;
+        this.values = values;
+    }
+
+    @Override
+    public Object execute(GLangScope scope) {
+        Map<String, Object> properties = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            properties.put(names[i], values[i].execute(scope));
+        }
+        return properties;
+    }
+
+    @Override
+    void write(ProgramWriter out) {
+        out.writeTag(Tag.OBJECT);
+        out.writeStrings(names);
+        out.writeNodes(values);
+    }
+
+    @Override
+    public String toString() {
+        return record(names, values);
+    }
+
+    static String record(String[] names, ExpressionNode[] values) {
+        StringJoiner properties = new StringJoiner(", ", "{ ", " }");
+        for (int i = 0; i < names.length; i++) {
+            properties.add(names[i] + " = " + values[i]);
+        }
+        return properties.toString();
+    }
+}
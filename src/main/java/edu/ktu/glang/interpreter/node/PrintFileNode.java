@@ -0,0 +1,32 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+
+public class PrintFileNode extends StatementNode {
+
+    private final String filename;
+    private final ExpressionNode expression;
+
+    public PrintFileNode(String filename, ExpressionNode expression) {
+        this.filename = filename;
+        this.expression = expression;
+    }
+
+    @Override
+    public boolean execute(GLangScope scope) {
+        scope.getInterpreter().printToFile(filename, expression.execute(scope));
+        return false;
+    }
+
+    @Override
+    void write(ProgramWriter out) {
+        out.writeTag(Tag.PRINT_FILE);
+        out.writeString(filename);
+        out.writeNode(expression);
+    }
+
+    @Override
+    public String toString() {
+        return "printf(\"" + filename + "\", " + expression + ");";
+    }
+}
@@ -0,0 +1,33 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+
+public class PrintNode extends StatementNode {
+
+    private final ExpressionNode expression;
+
+    public PrintNode(ExpressionNode expression) {
+        this.expression = expression;
+    }
+
+    @Override
+    public boolean execute(GLangScope scope) {
+        if (expression.isInt()) {
+            scope.getInterpreter().print(expression.executeInt(scope));
+        } else {
+            scope.getInterpreter().print(expression.execute(scope));
+        }
+        return false;
+    }
+
+    @Override
+    void write(ProgramWriter out) {
+        out.writeTag(Tag.PRINT);
+        out.writeNode(expression);
+    }
+
+    @Override
+    public String toString() {
+        return "print(" + expression + ");";
+    }
+}
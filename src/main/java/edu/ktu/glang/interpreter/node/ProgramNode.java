@@ -0,0 +1,47 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+
+import java.util.StringJoiner;
+
+public class ProgramNode extends Node {
+
+    private final FunctionNode[] functions;
+    private final BlockNode body;
+    private final String[] globals;
+
+    public ProgramNode(FunctionNode[] functions, BlockNode body, String[] globals) {
+        this.functions = functions;
+        this.body = body;
+        this.globals = globals;
+    }
+
+    // Names of the global slots the program was compiled against
+    public String[] getGlobals() {
+        return globals;
+    }
+
+    public void execute(GLangScope scope) {
+        // A top level return statement stops the program
+        body.execute(scope);
+    }
+
+    @Override
+    void write(ProgramWriter out) {
+        out.writeStrings(globals);
+        out.writeFunctions(functions);
+        out.writeNode(body);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner lines = new StringJoiner("\n");
+        for (FunctionNode function : functions) {
+            lines.add(function.toString());
+        }
+        if (!body.toString().isEmpty()) {
+            lines.add(body.toString());
+        }
+        return lines.toString();
+    }
+}
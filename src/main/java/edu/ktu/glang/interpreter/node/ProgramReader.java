@@ -0,0 +1,214 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.exception.GLangException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decodes a program encoded by {@link ProgramWriter} straight from a buffer, which may be a mapped file.
+ */
+public final class ProgramReader {
+
+    private static final Tag[] TAGS = Tag.values();
+
+    private final ByteBuffer buffer;
+    private String[] strings;
+    private FunctionNode[] functions;
+
+    private ProgramReader(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    public static ProgramNode read(ByteBuffer buffer) {
+        ProgramReader in = new ProgramReader(buffer);
+        in.strings = new String[in.readInt()];
+        for (int i = 0; i < in.strings.length; i++) {
+            byte[] bytes = new byte[in.readInt()];
+            buffer.get(bytes);
+            in.strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        String[] globals = in.readStrings();
+        FunctionNode[] functions = in.readFunctions();
+        BlockNode body = in.readBlock();
+        if (buffer.hasRemaining()) {
+            throw new GLangException("Unexpected data after the end of the program.");
+        }
+        return new ProgramNode(functions, body, globals);
+    }
+
+    private int readInt() {
+        int bits = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte next = buffer.get();
+            bits |= (next & 0x7F) << shift;
+            if (next >= 0) {
+                break;
+            }
+        }
+        return (bits >>> 1) ^ -(bits & 1);
+    }
+
+    private boolean readBoolean() {
+        return buffer.get() != 0;
+    }
+
+    private String readString() {
+        return strings[readInt()];
+    }
+
+    private String[] readStrings() {
+        String[] values = new String[readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = readString();
+        }
+        return values;
+    }
+
+    private FunctionNode[] readFunctions() {
+        functions = new FunctionNode[readInt()];
+        for (int i = 0; i < functions.length; i++) {
+            functions[i] = new FunctionNode(readString(), readStrings());
+            functions[i].setMemoSlot(readInt());
+        }
+        for (FunctionNode function : functions) {
+            function.setBody(readBlock());
+        }
+        return functions;
+    }
+
+    private FunctionNode readFunction() {
+        int index = readInt();
+        return index > 0 ? functions[index - 1] : null;
+    }
+
+    private Node readNode() {
+        int tag = buffer.get();
+        if (tag < 0 || tag >= TAGS.length) {
+            throw new GLangException("Unknown node tag: " + tag);
+        }
+        return switch (TAGS[tag]) {
+            case NULL -> null;
+            case INT -> new ConstantNode(readInt());
+            case STRING -> new ConstantNode(readString());
+            case BOOLEAN -> new ConstantNode(readBoolean());
+            case GLOBAL -> new GlobalVariableNode(readString(), readInt());
+            case LOCAL -> new LocalVariableNode(readString(), readInt());
+            case OPERATION -> readOperation();
+            case EQUAL -> new EqualNode(readExpression(), readExpression(), readBoolean());
+            case CALL -> new CallNode(readString(), readFunction(), readExpressions());
+            case LOAD -> new LoadNode(readExpression());
+            case ARRAY -> new ArrayLiteralNode(readExpressions());
+            case OBJECT -> new ObjectLiteralNode(readStrings(), readExpressions());
+            case RECORD_ARRAY -> readRecordArray();
+            case BLOCK -> new BlockNode(readStatements());
+            case EXPRESSION_STATEMENT -> new ExpressionStatementNode(readExpression());
+            case DECLARE -> new DeclareVariableNode(readString(), (GlobalVariableNode) readNode(), readExpression());
+            case ASSIGN -> new AssignVariableNode(readVariable(), readExpression());
+            case INCREMENT -> readIncrement();
+            case IF -> new IfNode(readExpression(), readBlock(), readBlock());
+            case SWITCH -> readSwitch();
+            case FOR -> new ForLoopNode(readStatement(), readExpression(), readStatement(), readBlock());
+            case FOR_EACH -> new ForEachLoopNode(readVariable(), readExpression(), readBlock());
+            case RETURN -> new ReturnNode(readExpression());
+            case TAIL_CALL -> new TailCallNode(readString(), readFunction(), readExpressions());
+            case INLINED_CALL -> new InlinedCallNode(readString(), readExpressions(), readExpression());
+            case PRINT -> new PrintNode(readExpression());
+            case PRINT_FILE -> new PrintFileNode(readString(), readExpression());
+            case READ_FILE -> new ReadFileNode(readVariable(), readString(), readBoolean());
+            case ZEN_FILTER -> new ZenFilterNode(readVariable(), readVariable(), readVariable());
+            case FILTER_RULES -> readFilterRules();
+        };
+    }
+
+    private ExpressionNode readOperation() {
+        String operator = readString();
+        ExpressionNode left = readExpression();
+        ExpressionNode right = readExpression();
+        return switch (operator) {
+            case "+" -> new IntAddNode(left, right);
+            case "-" -> new IntSubtractNode(left, right);
+            case "*" -> new IntMultiplyNode(left, right);
+            case "/" -> new IntDivideNode(left, right);
+            case "%" -> new IntRemainderNode(left, right);
+            case "==" -> new IntEqualNode(left, right);
+            case "!=" -> new IntNotEqualNode(left, right);
+            case "<" -> new IntLessNode(left, right);
+            case "<=" -> new IntLessOrEqualNode(left, right);
+            case ">" -> new IntGreaterNode(left, right);
+            case ">=" -> new IntGreaterOrEqualNode(left, right);
+            default -> throw new GLangException("Unknown operator: " + operator);
+        };
+    }
+
+    private IncrementNode readIncrement() {
+        VariableNode target = readVariable();
+        VariableNode source = readBoolean() ? target : readVariable();
+        return new IncrementNode(target, source, readInt());
+    }
+
+    private RecordArrayLiteralNode readRecordArray() {
+        String[] names = readStrings();
+        ExpressionNode[][] records = new ExpressionNode[readInt()][];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = readExpressions();
+        }
+        return new RecordArrayLiteralNode(names, records);
+    }
+
+    private SwitchNode readSwitch() {
+        ExpressionNode expression = readExpression();
+        ExpressionNode[] caseValues = readExpressions();
+        BlockNode[] caseBlocks = new BlockNode[caseValues.length];
+        for (int i = 0; i < caseBlocks.length; i++) {
+            caseBlocks[i] = readBlock();
+        }
+        return new SwitchNode(expression, caseValues, caseBlocks, readBlock());
+    }
+
+    private FilterRulesNode readFilterRules() {
+        VariableNode target = readVariable();
+        List<Map<String, Object>> rules = new ArrayList<>();
+        for (int i = readInt(); i > 0; i--) {
+            rules.add(Map.of("type", readString(), "property", readString(), "value", readString()));
+        }
+        return new FilterRulesNode(target, Collections.unmodifiableList(rules));
+    }
+
+    private ExpressionNode readExpression() {
+        return (ExpressionNode) readNode();
+    }
+
+    private ExpressionNode[] readExpressions() {
+        ExpressionNode[] values = new ExpressionNode[readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = readExpression();
+        }
+        return values;
+    }
+
+    private VariableNode readVariable() {
+        return (VariableNode) readNode();
+    }
+
+    private StatementNode readStatement() {
+        return (StatementNode) readNode();
+    }
+
+    private StatementNode[] readStatements() {
+        StatementNode[] values = new StatementNode[readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = readStatement();
+        }
+        return values;
+    }
+
+    private BlockNode readBlock() {
+        return (BlockNode) readNode();
+    }
+}
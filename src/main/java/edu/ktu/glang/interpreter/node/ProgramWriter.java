@@ -0,0 +1,112 @@
+package edu.ktu.glang.interpreter.node;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Encodes a lowered program: a table of every string it uses followed by its nodes, each a tag and its fields.
+ * Ints are stored as zigzag varints and strings as their index in the table. {@link ProgramReader} decodes it.
+ */
+public final class ProgramWriter {
+
+    private final ByteArrayOutputStream nodes = new ByteArrayOutputStream();
+    private final Map<String, Integer> strings = new LinkedHashMap<>();
+    // Calls refer to functions by their position in the program, 0 stands for an undeclared one
+    private final Map<FunctionNode, Integer> functions = new IdentityHashMap<>();
+
+    private ProgramWriter() {
+    }
+
+    public static byte[] write(ProgramNode program) {
+        ProgramWriter out = new ProgramWriter();
+        program.write(out);
+
+        ProgramWriter table = new ProgramWriter();
+        table.writeInt(out.strings.size());
+        for (String string : out.strings.keySet()) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            table.writeInt(bytes.length);
+            table.nodes.writeBytes(bytes);
+        }
+        table.nodes.writeBytes(out.nodes.toByteArray());
+        return table.nodes.toByteArray();
+    }
+
+    void writeTag(Tag tag) {
+        nodes.write(tag.ordinal());
+    }
+
+    void writeInt(int value) {
+        int bits = (value << 1) ^ (value >> 31);
+        while ((bits & ~0x7F) != 0) {
+            nodes.write((bits & 0x7F) | 0x80);
+            bits >>>= 7;
+        }
+        nodes.write(bits);
+    }
+
+    void writeBoolean(boolean value) {
+        nodes.write(value ? 1 : 0);
+    }
+
+    void writeString(String value) {
+        Integer index = strings.get(value);
+        if (index == null) {
+            index = strings.size();
+            strings.put(value, index);
+        }
+        writeInt(index);
+    }
+
+    void writeStrings(String[] values) {
+        writeInt(values.length);
+        for (String value : values) {
+            writeString(value);
+        }
+    }
+
+    void writeNode(Node node) {
+        if (node == null) {
+            writeTag(Tag.NULL);
+        } else {
+            node.write(this);
+        }
+    }
+
+    void writeNodes(Node[] values) {
+        writeInt(values.length);
+        for (Node value : values) {
+            writeNode(value);
+        }
+    }
+
+    // Every signature comes before the first body, so that calls can refer to functions declared later
+    void writeFunctions(FunctionNode[] declared) {
+        writeInt(declared.length);
+        for (FunctionNode function : declared) {
+            functions.put(function, functions.size() + 1);
+            writeString(function.getName());
+            writeStrings(function.getParameters());
+            writeInt(function.getMemoSlot());
+        }
+        for (FunctionNode function : declared) {
+            writeNode(function.getBody());
+        }
+    }
+
+    void writeFunction(FunctionNode function) {
+        if (function == null) {
+            writeInt(0);
+            return;
+        }
+        Integer index = functions.get(function);
+        if (index == null) {
+            // Only programs of an interactive session call functions declared by an earlier program
+            throw new IllegalStateException("Function '" + function.getName() + "' is not declared by the program");
+        }
+        writeInt(index);
+    }
+}
@@ -0,0 +1,35 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+
+public class ReadFileNode extends StatementNode {
+
+    private final VariableNode target;
+    private final String filename;
+    private final boolean lines;
+
+    public ReadFileNode(VariableNode target, String filename, boolean lines) {
+        this.target = target;
+        this.filename = filename;
+        this.lines = lines;
+    }
+
+    @Override
+    public boolean execute(GLangScope scope) {
+        target.set(scope, lines ? scope.getInterpreter().readLines(filename) : scope.getInterpreter().readFile(filename));
+        return false;
+    }
+
+    @Override
+    void write(ProgramWriter out) {
+        out.writeTag(Tag.READ_FILE);
+        out.writeNode(target);
+        out.writeString(filename);
+        out.writeBoolean(lines);
+    }
+
+    @Override
+    public String toString() {
+        return target + " = readf(\"" + filename + (lines ? "\", \"lines\");" : "\");");
+    }
+}
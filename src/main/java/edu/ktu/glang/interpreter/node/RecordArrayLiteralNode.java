@@ -0,0 +1,48 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+import edu.ktu.glang.interpreter.record.RecordArray;
+
+import java.util.StringJoiner;
+
+// Array literal whose elements are all object literals with the same properties
+public class RecordArrayLiteralNode extends ExpressionNode {
+
+    private final String[] names;
+    private final ExpressionNode[][] records;
+
+    public RecordArrayLiteralNode(String[] names, ExpressionNode[][] records) {
+        this.names = names;
+        this.records = records;
+    }
+
+    @Override
+    public Object execute(GLangScope scope) {
+        Object[][] columns = new Object[names.length][records.length];
+        for (int row = 0; row < records.length; row++) {
+            for (int i = 0; i < names.length; i++) {
+                columns[i][row] = records[row][i].execute(scope);
+            }
+        }
+        return RecordArray.of(names, columns);
+    }
+
+    @Override
+    void write(ProgramWriter out) {
+        out.writeTag(Tag.RECORD_ARRAY);
+        out.writeStrings(names);
+        out.writeInt(records.length);
+        for (ExpressionNode[] record : records) {
+            out.writeNodes(record);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner elements = new StringJoiner(", ", "[", "]");
+        for (ExpressionNode[] record : records) {
+            elements.add(ObjectLiteralNode.record(names, record));
+        }
+        return elements.toString();
+    }
+}
@@ -0,0 +1,35 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+
+public class ReturnNode extends StatementNode {
+
+    private final ExpressionNode value;
+
+    public ReturnNode(ExpressionNode value) {
+        this.value = value;
+    }
+
+    @Override
+    public boolean execute(GLangScope scope) {
+        if (value == null) {
+            scope.setReturnValue(null);
+        } else if (value.isInt()) {
+            scope.setReturnInt(value.executeInt(scope));
+        } else {
+            scope.setReturnValue(value.execute(scope));
+        }
+        return true;
+    }
+
+    @Override
+    void write(ProgramWriter out) {
+        out.writeTag(Tag.RETURN);
+        out.writeNode(value);
+    }
+
+    @Override
+    public String toString() {
+        return value != null ? "return " + value + ";" : "return;";
+    }
+}
@@ -0,0 +1,11 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+
+public abstract class StatementNode extends Node {
+
+    /**
+     * Returns true when a return statement was executed, the returned value is then stored in the scope.
+     */
+    public abstract boolean execute(GLangScope scope);
+}
@@ -0,0 +1,58 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+
+import java.util.Objects;
+
+public class SwitchNode extends StatementNode {
+
+    private final ExpressionNode expression;
+    private final ExpressionNode[] caseValues;
+    private final BlockNode[] caseBlocks;
+    private final BlockNode defaultBlock;
+
+    public SwitchNode(ExpressionNode expression, ExpressionNode[] caseValues, BlockNode[] caseBlocks, BlockNode defaultBlock) {
+        this.expression = expression;
+        this.caseValues = caseValues;
+        this.caseBlocks = caseBlocks;
+        this.defaultBlock = defaultBlock;
+    }
+
+    @Override
+    public boolean execute(GLangScope scope) {
+        Object value = expression.execute(scope);
+        // Only the first matching case is executed, there is no fall through
+        for (int i = 0; i < caseValues.length; i++) {
+            if (Objects.equals(value, caseValues[i].execute(scope))) {
+                return caseBlocks[i].execute(scope);
+            }
+        }
+        if (defaultBlock != null) {
+            return defaultBlock.execute(scope);
+        }
+        return false;
+    }
+
+    @Override
+    void write(ProgramWriter out) {
+        out.writeTag(Tag.SWITCH);
+        out.writeNode(expression);
+        out.writeNodes(caseValues);
+        for (BlockNode caseBlock : caseBlocks) {
+            out.writeNode(caseBlock);
+        }
+        out.writeNode(defaultBlock);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("switch (" + expression + ") {\n");
+        for (int i = 0; i < caseValues.length; i++) {
+            text.append(("case " + caseValues[i] + ":\n" + caseBlocks[i].indent()).indent(4));
+        }
+        if (defaultBlock != null) {
+            text.append(("default:\n" + defaultBlock.indent()).indent(4));
+        }
+        return text.append("}").toString();
+    }
+}
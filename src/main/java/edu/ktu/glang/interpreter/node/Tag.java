@@ -0,0 +1,35 @@
+package edu.ktu.glang.interpreter.node;
+
+// Node kinds of a .glc file, stored by ordinal: new tags go last and change ProgramFile.VERSION
+enum Tag {
+    NULL,
+    INT,
+    STRING,
+    BOOLEAN,
+    GLOBAL,
+    LOCAL,
+    OPERATION,
+    EQUAL,
+    CALL,
+    LOAD,
+    ARRAY,
+    OBJECT,
+    RECORD_ARRAY,
+    BLOCK,
+    EXPRESSION_STATEMENT,
+    DECLARE,
+    ASSIGN,
+    INCREMENT,
+    IF,
+    SWITCH,
+    FOR,
+    FOR_EACH,
+    RETURN,
+    TAIL_CALL,
+    PRINT,
+    PRINT_FILE,
+    READ_FILE,
+    ZEN_FILTER,
+    FILTER_RULES,
+    INLINED_CALL
+}
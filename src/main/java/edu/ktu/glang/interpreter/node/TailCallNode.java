@@ -0,0 +1,36 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+
+// return f(...) inside a function: the new frame is handed to the caller, which runs it in place of this one
+public class TailCallNode extends StatementNode {
+
+    private final String name;
+    private final FunctionNode function;
+    private final ExpressionNode[] arguments;
+
+    public TailCallNode(String name, FunctionNode function, ExpressionNode[] arguments) {
+        this.name = name;
+        this.function = function;
+        this.arguments = arguments;
+    }
+
+    @Override
+    public boolean execute(GLangScope scope) {
+        scope.setTailCall(function, CallNode.frame(scope, name, function, arguments));
+        return true;
+    }
+
+    @Override
+    void write(ProgramWriter out) {
+        out.writeTag(Tag.TAIL_CALL);
+        out.writeString(name);
+        out.writeFunction(function);
+        out.writeNodes(arguments);
+    }
+
+    @Override
+    public String toString() {
+        return "return " + name + "(" + BlockNode.join(arguments) + ");";
+    }
+}
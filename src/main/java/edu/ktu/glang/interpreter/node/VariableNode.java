@@ -0,0 +1,28 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+
+// Reads a variable when executed, and is the target of statements writing to it
+public abstract class VariableNode extends ExpressionNode {
+
+    protected final String name;
+    protected final int slot;
+
+    protected VariableNode(String name, int slot) {
+        this.name = name;
+        this.slot = slot;
+    }
+
+    public abstract void set(GLangScope scope, Object value);
+
+    public abstract void setInt(GLangScope scope, int value);
+
+    public boolean isDeclared(GLangScope scope) {
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
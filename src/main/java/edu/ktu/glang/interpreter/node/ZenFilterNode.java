@@ -0,0 +1,41 @@
+package edu.ktu.glang.interpreter.node;
+
+import edu.ktu.glang.interpreter.GLangScope;
+
+import java.util.List;
+import java.util.Map;
+
+public class ZenFilterNode extends StatementNode {
+
+    private final VariableNode target;
+    private final VariableNode users;
+    private final VariableNode rules;
+
+    public ZenFilterNode(VariableNode target, VariableNode users, VariableNode rules) {
+        this.target = target;
+        this.users = users;
+        this.rules = rules;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean execute(GLangScope scope) {
+        Iterable<Map<String, Object>> userList = (Iterable<Map<String, Object>>) users.execute(scope);
+        List<Map<String, Object>> ruleList = (List<Map<String, Object>>) rules.execute(scope);
+        target.set(scope, scope.getInterpreter().zenFilter(userList, ruleList));
+        return false;
+    }
+
+    @Override
+    void write(ProgramWriter out) {
+        out.writeTag(Tag.ZEN_FILTER);
+        out.writeNode(target);
+        out.writeNode(users);
+        out.writeNode(rules);
+    }
+
+    @Override
+    public String toString() {
+        return "let " + target + " = ZenFilter(" + users + ", " + rules + ");";
+    }
+}
@@ -0,0 +1,94 @@
+package edu.ktu.glang.interpreter.output;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+// Encodes output as UTF-8 into a fixed buffer that is written to the channel whenever it fills up
+public class ChannelOutputSink implements OutputSink {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final WritableByteChannel channel;
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ByteBuffer buffer;
+    // Totals of the writes to the channel
+    private long bytesWritten;
+    private long writeNanos;
+
+    public ChannelOutputSink(WritableByteChannel channel) {
+        this(channel, BUFFER_SIZE);
+    }
+
+    public ChannelOutputSink(WritableByteChannel channel, int bufferSize) {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    @Override
+    public void write(CharSequence text) {
+        CharBuffer chars = CharBuffer.wrap(text);
+        while (true) {
+            CoderResult result = encoder.encode(chars, buffer, false);
+            if (result.isOverflow()) {
+                drain();
+            } else if (result.isUnderflow()) {
+                break;
+            } else {
+                throw new IllegalStateException("Cannot encode output: " + result);
+            }
+        }
+    }
+
+    @Override
+    public void flush() {
+        drain();
+    }
+
+    @Override
+    public void close() {
+        // The channel is closed also when the buffered output cannot be written
+        try (channel) {
+            drain();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    // Bytes the output was encoded to so far, also those still in the buffer
+    public long getBytesEncoded() {
+        return bytesWritten + buffer.position();
+    }
+
+    public long getWriteNanos() {
+        return writeNanos;
+    }
+
+    private void drain() {
+        buffer.flip();
+        long start = System.nanoTime();
+        bytesWritten += buffer.remaining();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            writeNanos += System.nanoTime() - start;
+        }
+        buffer.clear();
+    }
+}
@@ -0,0 +1,129 @@
+package edu.ktu.glang.interpreter.output;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+// Files written by printf stay open until the program ends instead of being reopened for every line
+public class FileHandlePool {
+
+    private final Map<String, ChannelOutputSink> byName = new HashMap<>();
+    private final Map<Path, ChannelOutputSink> byPath = new HashMap<>();
+
+    private FlushPolicy flushPolicy = FlushPolicy.valueOf(System.getProperty("glang.printf.flush", "SIZE").toUpperCase());
+    private int flushSize = Integer.getInteger("glang.printf.flushSize", 64 * 1024);
+
+    private long writes;
+    // Of the files closed so far
+    private long bytesWritten;
+    private long writeNanos;
+
+    // Returns the number of bytes the text was encoded to
+    public int write(String filename, CharSequence text) {
+        ChannelOutputSink file = byName.get(filename);
+        if (file == null) {
+            file = open(filename);
+        }
+        long encoded = file.getBytesEncoded();
+        file.write(text);
+        writes++;
+        int bytes = (int) (file.getBytesEncoded() - encoded);
+        if (flushPolicy == FlushPolicy.LINE) {
+            file.flush();
+        }
+        return bytes;
+    }
+
+    // Makes everything printed to the file so far visible to readers
+    public void flush(String filename) {
+        ChannelOutputSink file = byPath.get(path(filename));
+        if (file != null) {
+            file.flush();
+        }
+    }
+
+    public void closeAll() {
+        RuntimeException failure = null;
+        for (ChannelOutputSink file : byPath.values()) {
+            try {
+                file.close();
+            } catch (RuntimeException e) {
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            }
+            bytesWritten += file.getBytesWritten();
+            writeNanos += file.getWriteNanos();
+        }
+        byName.clear();
+        byPath.clear();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    public int size() {
+        return byPath.size();
+    }
+
+    public long getWrites() {
+        return writes;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    // Time spent writing to the files, mostly in flushes of their buffers
+    public long getWriteNanos() {
+        return writeNanos;
+    }
+
+    public FlushPolicy getFlushPolicy() {
+        return flushPolicy;
+    }
+
+    // Applies to files opened afterwards
+    public void setFlushPolicy(FlushPolicy flushPolicy) {
+        this.flushPolicy = flushPolicy;
+    }
+
+    public int getFlushSize() {
+        return flushSize;
+    }
+
+    // Applies to files opened afterwards
+    public void setFlushSize(int flushSize) {
+        if (flushSize <= 0) {
+            throw new IllegalArgumentException("Flush size must be positive: " + flushSize);
+        }
+        this.flushSize = flushSize;
+    }
+
+    private ChannelOutputSink open(String filename) {
+        Path path = path(filename);
+        ChannelOutputSink file = byPath.get(path);
+        if (file == null) {
+            try {
+                FileChannel channel = FileChannel.open(path,
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+                file = new ChannelOutputSink(channel, flushPolicy == FlushPolicy.END ? FlushPolicy.END_BUFFER_SIZE : flushSize);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            byPath.put(path, file);
+        }
+        byName.put(filename, file);
+        return file;
+    }
+
+    private static Path path(String filename) {
+        return Path.of(filename).toAbsolutePath().normalize();
+    }
+}
@@ -0,0 +1,13 @@
+package edu.ktu.glang.interpreter.output;
+
+// When lines written with printf reach the file
+public enum FlushPolicy {
+    // After every line, as if the file was opened and closed for each printf
+    LINE,
+    // Whenever the buffered lines reach the flush size
+    SIZE,
+    // When the program ends; only a full buffer of END_BUFFER_SIZE bytes is written earlier
+    END;
+
+    public static final int END_BUFFER_SIZE = 1024 * 1024;
+}
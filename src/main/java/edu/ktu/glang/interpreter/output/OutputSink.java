@@ -0,0 +1,17 @@
+package edu.ktu.glang.interpreter.output;
+
+import java.io.Closeable;
+
+// Receives program output as it is printed. The text passed to write is only valid during the call.
+public interface OutputSink extends Closeable {
+
+    void write(CharSequence text);
+
+    default void flush() {
+    }
+
+    @Override
+    default void close() {
+        flush();
+    }
+}
@@ -0,0 +1,17 @@
+package edu.ktu.glang.interpreter.output;
+
+// Keeps the whole output in memory, toString returns it
+public class StringOutputSink implements OutputSink {
+
+    private final StringBuilder output = new StringBuilder();
+
+    @Override
+    public void write(CharSequence text) {
+        output.append(text);
+    }
+
+    @Override
+    public String toString() {
+        return output.toString();
+    }
+}
@@ -0,0 +1,52 @@
+package edu.ktu.glang.interpreter.output;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+public class WriterOutputSink implements OutputSink {
+
+    private final Writer writer;
+    private final boolean flushEveryLine;
+
+    public WriterOutputSink(Writer writer) {
+        this(writer, false);
+    }
+
+    // Flushing every line suits a terminal, where output should appear as soon as it is printed
+    public WriterOutputSink(Writer writer, boolean flushEveryLine) {
+        this.writer = writer instanceof BufferedWriter ? writer : new BufferedWriter(writer);
+        this.flushEveryLine = flushEveryLine;
+    }
+
+    @Override
+    public void write(CharSequence text) {
+        try {
+            writer.append(text);
+            if (flushEveryLine) {
+                writer.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void flush() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
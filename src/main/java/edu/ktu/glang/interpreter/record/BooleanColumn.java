@@ -0,0 +1,48 @@
+package edu.ktu.glang.interpreter.record;
+
+import edu.ktu.glang.interpreter.filter.RulePredicate;
+
+import java.util.BitSet;
+import java.util.function.IntPredicate;
+
+class BooleanColumn extends Column {
+
+    private final BitSet values;
+
+    BooleanColumn(BitSet values) {
+        this.values = values;
+    }
+
+    static BooleanColumn of(Object[] values) {
+        BitSet bits = new BitSet(values.length);
+        for (int i = 0; i < values.length; i++) {
+            bits.set(i, (Boolean) values[i]);
+        }
+        return new BooleanColumn(bits);
+    }
+
+    @Override
+    Object get(int row) {
+        return values.get(row);
+    }
+
+    @Override
+    void append(StringBuilder builder, int row) {
+        builder.append(values.get(row));
+    }
+
+    @Override
+    Column select(int[] rows) {
+        BitSet selected = new BitSet(rows.length);
+        for (int i = 0; i < rows.length; i++) {
+            selected.set(i, values.get(rows[i]));
+        }
+        return new BooleanColumn(selected);
+    }
+
+    @Override
+    IntPredicate matcher(RulePredicate predicate) {
+        boolean value = predicate.getBooleanValue();
+        return row -> values.get(row) == value;
+    }
+}
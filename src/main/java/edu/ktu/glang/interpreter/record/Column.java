@@ -0,0 +1,36 @@
+package edu.ktu.glang.interpreter.record;
+
+import edu.ktu.glang.interpreter.filter.RulePredicate;
+
+import java.util.function.IntPredicate;
+
+abstract class Column {
+
+    abstract Object get(int row);
+
+    abstract void append(StringBuilder builder, int row);
+
+    abstract Column select(int[] rows);
+
+    abstract IntPredicate matcher(RulePredicate predicate);
+
+    static Column of(Object[] values) {
+        if (allInstancesOf(values, Integer.class)) {
+            return IntColumn.of(values);
+        } else if (allInstancesOf(values, Boolean.class)) {
+            return BooleanColumn.of(values);
+        } else if (allInstancesOf(values, String.class)) {
+            return StringColumn.of(values);
+        }
+        return new ObjectColumn(values);
+    }
+
+    private static boolean allInstancesOf(Object[] values, Class<?> type) {
+        for (Object value : values) {
+            if (!type.isInstance(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,51 @@
+package edu.ktu.glang.interpreter.record;
+
+import edu.ktu.glang.interpreter.filter.RulePredicate;
+
+import java.util.function.IntPredicate;
+
+class IntColumn extends Column {
+
+    private final int[] values;
+
+    IntColumn(int[] values) {
+        this.values = values;
+    }
+
+    static IntColumn of(Object[] values) {
+        int[] ints = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            ints[i] = (Integer) values[i];
+        }
+        return new IntColumn(ints);
+    }
+
+    @Override
+    Object get(int row) {
+        return values[row];
+    }
+
+    @Override
+    void append(StringBuilder builder, int row) {
+        builder.append(values[row]);
+    }
+
+    @Override
+    Column select(int[] rows) {
+        int[] selected = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            selected[i] = values[rows[i]];
+        }
+        return new IntColumn(selected);
+    }
+
+    @Override
+    IntPredicate matcher(RulePredicate predicate) {
+        if (predicate.getIntValue() == null) {
+            // Same error as comparing against a value that is not a number row by row
+            return row -> predicate.matches(values[row]);
+        }
+        int value = predicate.getIntValue();
+        return row -> values[row] == value;
+    }
+}
@@ -0,0 +1,39 @@
+package edu.ktu.glang.interpreter.record;
+
+import edu.ktu.glang.interpreter.filter.RulePredicate;
+
+import java.util.function.IntPredicate;
+
+// Fallback for properties holding arrays, records or values of mixed types
+class ObjectColumn extends Column {
+
+    private final Object[] values;
+
+    ObjectColumn(Object[] values) {
+        this.values = values;
+    }
+
+    @Override
+    Object get(int row) {
+        return values[row];
+    }
+
+    @Override
+    void append(StringBuilder builder, int row) {
+        builder.append(values[row]);
+    }
+
+    @Override
+    Column select(int[] rows) {
+        Object[] selected = new Object[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            selected[i] = values[rows[i]];
+        }
+        return new ObjectColumn(selected);
+    }
+
+    @Override
+    IntPredicate matcher(RulePredicate predicate) {
+        return row -> predicate.matches(values[row]);
+    }
+}
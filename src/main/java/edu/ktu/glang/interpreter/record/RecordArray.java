@@ -0,0 +1,140 @@
+package edu.ktu.glang.interpreter.record;
+
+import edu.ktu.glang.interpreter.filter.RulePredicate;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.IntPredicate;
+
+// Immutable array of records sharing the same properties, stored column by column
+public class RecordArray extends AbstractList<Map<String, Object>> implements RandomAccess {
+
+    // Property names in the order a HashMap with the same keys iterates them, so records print the same
+    private final String[] names;
+    private final Map<String, Integer> columnIndexes;
+    private final Column[] columns;
+    private final int size;
+
+    private RecordArray(String[] names, Map<String, Integer> columnIndexes, Column[] columns, int size) {
+        this.names = names;
+        this.columnIndexes = columnIndexes;
+        this.columns = columns;
+        this.size = size;
+    }
+
+    // Columns hold the values of each property in the order the names are given; names must be distinct
+    public static RecordArray of(String[] names, Object[][] columnValues) {
+        return of(names, columnValues, columnValues[0].length);
+    }
+
+    // The size is given separately so that records without properties can be stored as well
+    public static RecordArray of(String[] names, Object[][] columnValues, int size) {
+        Map<String, Integer> sourceIndexes = new HashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            if (sourceIndexes.put(names[i], i) != null) {
+                throw new IllegalArgumentException("Duplicate property: " + names[i]);
+            }
+        }
+
+        String[] orderedNames = sourceIndexes.keySet().toArray(String[]::new);
+        Map<String, Integer> columnIndexes = new HashMap<>();
+        Column[] columns = new Column[orderedNames.length];
+        for (int i = 0; i < orderedNames.length; i++) {
+            columnIndexes.put(orderedNames[i], i);
+            columns[i] = Column.of(columnValues[sourceIndexes.get(orderedNames[i])]);
+        }
+        return new RecordArray(orderedNames, columnIndexes, columns, size);
+    }
+
+    // Joins arrays whose records have the same properties, or returns null when they differ
+    public static RecordArray concat(List<RecordArray> arrays) {
+        String[] names = arrays.get(0).names;
+        int size = 0;
+        for (RecordArray array : arrays) {
+            if (array.names.length != names.length || !array.columnIndexes.keySet().containsAll(Arrays.asList(names))) {
+                return null;
+            }
+            size += array.size;
+        }
+
+        Object[][] columnValues = new Object[names.length][size];
+        int offset = 0;
+        for (RecordArray array : arrays) {
+            for (int i = 0; i < names.length; i++) {
+                Column column = array.columns[array.columnIndexes.get(names[i])];
+                for (int row = 0; row < array.size; row++) {
+                    columnValues[i][offset + row] = column.get(row);
+                }
+            }
+            offset += array.size;
+        }
+        return of(names, columnValues, size);
+    }
+
+    @Override
+    public Map<String, Object> get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + size);
+        }
+        return new RecordView(this, index);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    public RecordArray select(int[] rows) {
+        Column[] selected = new Column[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            selected[i] = columns[i].select(rows);
+        }
+        return new RecordArray(names, columnIndexes, selected, rows.length);
+    }
+
+    public IntPredicate matcher(RulePredicate predicate) {
+        Integer column = columnIndexes.get(predicate.getProperty());
+        return column != null ? columns[column].matcher(predicate) : row -> false;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int row = 0; row < size; row++) {
+            if (row > 0) {
+                builder.append(", ");
+            }
+            appendRecord(builder, row);
+        }
+        return builder.append("]").toString();
+    }
+
+    public void appendRecord(StringBuilder builder, int row) {
+        builder.append("{");
+        for (int i = 0; i < columns.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(names[i]).append("=");
+            columns[i].append(builder, row);
+        }
+        builder.append("}");
+    }
+
+    String[] getNames() {
+        return names;
+    }
+
+    int columnIndex(Object name) {
+        Integer column = columnIndexes.get(name);
+        return column != null ? column : -1;
+    }
+
+    Object get(int row, int column) {
+        return columns[column].get(row);
+    }
+}
@@ -0,0 +1,75 @@
+package edu.ktu.glang.interpreter.record;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+// Read-only record backed by one row of a RecordArray
+class RecordView extends AbstractMap<String, Object> {
+
+    private final RecordArray array;
+    private final int row;
+
+    RecordView(RecordArray array, int row) {
+        this.array = array;
+        this.row = row;
+    }
+
+    @Override
+    public Object get(Object key) {
+        int column = array.columnIndex(key);
+        return column >= 0 ? array.get(row, column) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return array.columnIndex(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return array.getNames().length;
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new Iterator<>() {
+                    private int column;
+
+                    @Override
+                    public boolean hasNext() {
+                        return column < array.getNames().length;
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        Entry<String, Object> entry = new SimpleImmutableEntry<>(array.getNames()[column], array.get(row, column));
+                        column++;
+                        return entry;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return RecordView.this.size();
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        array.appendRecord(builder, row);
+        return builder.toString();
+    }
+}
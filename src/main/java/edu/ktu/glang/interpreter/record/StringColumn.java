@@ -0,0 +1,77 @@
+package edu.ktu.glang.interpreter.record;
+
+import edu.ktu.glang.interpreter.filter.RulePredicate;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+// Dictionary encoded: every distinct string is stored once and rows keep its code
+class StringColumn extends Column {
+
+    private final String[] dictionary;
+    private final int[] codes;
+
+    StringColumn(String[] dictionary, int[] codes) {
+        this.dictionary = dictionary;
+        this.codes = codes;
+    }
+
+    static StringColumn of(Object[] values) {
+        Map<String, Integer> dictionary = new HashMap<>();
+        int[] codes = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            codes[i] = dictionary.computeIfAbsent((String) values[i], value -> dictionary.size());
+        }
+        String[] strings = new String[dictionary.size()];
+        dictionary.forEach((value, code) -> strings[code] = value);
+        return new StringColumn(strings, codes);
+    }
+
+    @Override
+    Object get(int row) {
+        return dictionary[codes[row]];
+    }
+
+    @Override
+    void append(StringBuilder builder, int row) {
+        builder.append(dictionary[codes[row]]);
+    }
+
+    @Override
+    Column select(int[] rows) {
+        int[] selected = new int[rows.length];
+        for (int i = 0; i < rows.length; i++) {
+            selected[i] = codes[rows[i]];
+        }
+        if (rows.length >= dictionary.length / 2) {
+            return new StringColumn(dictionary, selected);
+        }
+
+        // A few rows keep only their own strings, not the whole dictionary
+        int[] newCodes = new int[dictionary.length];
+        Arrays.fill(newCodes, -1);
+        String[] strings = new String[rows.length];
+        int size = 0;
+        for (int i = 0; i < selected.length; i++) {
+            int code = selected[i];
+            if (newCodes[code] < 0) {
+                strings[size] = dictionary[code];
+                newCodes[code] = size++;
+            }
+            selected[i] = newCodes[code];
+        }
+        return new StringColumn(Arrays.copyOf(strings, size), selected);
+    }
+
+    @Override
+    IntPredicate matcher(RulePredicate predicate) {
+        // Compare every distinct string once instead of every row
+        boolean[] matching = new boolean[dictionary.length];
+        for (int i = 0; i < dictionary.length; i++) {
+            matching[i] = predicate.matches(dictionary[i]);
+        }
+        return row -> matching[codes[row]];
+    }
+}
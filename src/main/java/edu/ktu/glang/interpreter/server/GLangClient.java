@@ -0,0 +1,90 @@
+package edu.ktu.glang.interpreter.server;
+
+import edu.ktu.glang.interpreter.exception.GLangException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Sends scripts to a {@link GLangServer} over one connection and streams their output back. Run from the
+ * command line it sends a file, or standard input, and prints the output.
+ */
+public class GLangClient implements Closeable {
+
+    private final SocketChannel connection;
+    private final DataInputStream input;
+    private final DataOutputStream output;
+
+    public GLangClient(SocketAddress address) throws IOException {
+        this.connection = SocketChannel.open(address instanceof UnixDomainSocketAddress
+                ? StandardProtocolFamily.UNIX
+                : StandardProtocolFamily.INET);
+        this.connection.connect(address);
+        this.input = new DataInputStream(Channels.newInputStream(connection));
+        this.output = new DataOutputStream(Channels.newOutputStream(connection));
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 2) {
+            System.err.println("Usage: GLangClient <port|socket path> [filename]");
+            System.exit(1);
+        }
+        String program = args.length == 2
+                ? Files.readString(Path.of(args[1]))
+                : new String(System.in.readAllBytes(), StandardCharsets.UTF_8);
+        try (GLangClient client = new GLangClient(GLangServer.address(args[0]))) {
+            client.execute(program, System.out);
+        } catch (GLangException e) {
+            System.out.flush();
+            System.err.println("<ERROR> " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    // Writes the output to the stream as it arrives, a script that fails throws with the server's message
+    public void execute(String program, OutputStream out) throws IOException {
+        byte[] bytes = program.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+        output.flush();
+
+        while (true) {
+            byte type = input.readByte();
+            byte[] payload = input.readNBytes(input.readInt());
+            switch (type) {
+                case GLangServer.OUTPUT -> {
+                    out.write(payload);
+                    out.flush();
+                }
+                case GLangServer.DONE -> {
+                    return;
+                }
+                case GLangServer.ERROR -> throw new GLangException(new String(payload, StandardCharsets.UTF_8));
+                default -> throw new IOException("Unknown frame type: " + type);
+            }
+        }
+    }
+
+    public String execute(String program) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        execute(program, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void close() throws IOException {
+        connection.close();
+    }
+}
@@ -0,0 +1,210 @@
+package edu.ktu.glang.interpreter.server;
+
+import edu.ktu.glang.interpreter.GLangEngine;
+import edu.ktu.glang.interpreter.ProgramCache;
+import edu.ktu.glang.interpreter.output.ChannelOutputSink;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs scripts sent over a local socket, either a Unix domain socket or a TCP port on the loopback address,
+ * in one long-lived JVM whose parser and program cache stay warm between scripts. Every connection is served
+ * on a virtual thread and can send any number of scripts, one after another.
+ * <p>
+ * A request is the length of the UTF-8 encoded script as a 4-byte big-endian int followed by the script. The
+ * response is a sequence of frames, each a type byte, a 4-byte length and that many bytes: {@code O} frames
+ * carry output as it is printed and the response ends with either a {@code D} frame (done, empty) or an
+ * {@code E} frame holding the error message. A request longer than the maximum script size gets an
+ * {@code E} frame and the connection is closed. Scripts run on a {@link GLangEngine} and are stopped when
+ * they run past the timeout.
+ * <p>
+ * Scripts run with the permissions of the user running the server, and {@code printf}, {@code readf} and
+ * {@code load} reach any file that user can. Anyone who can connect to the socket can therefore read and
+ * write those files.
+ */
+public class GLangServer implements Closeable {
+
+    static final byte OUTPUT = 'O';
+    static final byte DONE = 'D';
+    static final byte ERROR = 'E';
+
+    // Output is sent whenever this much of it is buffered, and when the script ends
+    private static final int OUTPUT_BUFFER_SIZE = 8 * 1024;
+
+    private final ServerSocketChannel server;
+    private final SocketAddress address;
+    private final GLangEngine engine;
+    private final Duration timeout;
+    private final int maxScriptSize;
+    private final ExecutorService connections = Executors.newVirtualThreadPerTaskExecutor();
+
+    public GLangServer(SocketAddress address, ProgramCache programCache) throws IOException {
+        this(address, programCache, timeout(Integer.getInteger("glang.server.timeout", 60)),
+                Integer.getInteger("glang.server.maxScriptSize", 16 * 1024 * 1024));
+    }
+
+    // A null timeout lets scripts run until they end
+    public GLangServer(SocketAddress address, ProgramCache programCache, Duration timeout, int maxScriptSize)
+            throws IOException {
+        this.server = ServerSocketChannel.open(address instanceof UnixDomainSocketAddress
+                ? StandardProtocolFamily.UNIX
+                : StandardProtocolFamily.INET);
+        this.server.bind(address);
+        this.address = server.getLocalAddress();
+        this.engine = new GLangEngine(programCache);
+        this.timeout = timeout;
+        this.maxScriptSize = maxScriptSize;
+    }
+
+    private static Duration timeout(int seconds) {
+        return seconds > 0 ? Duration.ofSeconds(seconds) : null;
+    }
+
+    // A port number stands for that port on the loopback address, anything else for a socket file
+    public static SocketAddress address(String address) {
+        if (address.matches("\\d+")) {
+            return new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(address));
+        }
+        return UnixDomainSocketAddress.of(address);
+    }
+
+    public SocketAddress getAddress() {
+        return address;
+    }
+
+    // Accepts connections until the server is closed
+    public void serve() throws IOException {
+        while (true) {
+            SocketChannel connection;
+            try {
+                connection = server.accept();
+            } catch (AsynchronousCloseException e) {
+                return;
+            }
+            connections.execute(() -> handle(connection));
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+        connections.shutdownNow();
+        engine.close();
+        if (address instanceof UnixDomainSocketAddress unix) {
+            Files.deleteIfExists(unix.getPath());
+        }
+    }
+
+    private void handle(SocketChannel connection) {
+        try (connection) {
+            DataInputStream input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(connection)));
+            FrameChannel frames = new FrameChannel(connection);
+            ChannelOutputSink output = new ChannelOutputSink(frames, OUTPUT_BUFFER_SIZE);
+            while (true) {
+                int length;
+                try {
+                    length = input.readInt();
+                } catch (EOFException e) {
+                    return;
+                }
+                // The script that follows cannot be skipped, so the connection ends with the error
+                if (length < 0 || length > maxScriptSize) {
+                    frames.send(ERROR, String.format("Script length %d is not between 0 and %d bytes.",
+                            length, maxScriptSize).getBytes(StandardCharsets.UTF_8));
+                    return;
+                }
+                byte[] script = input.readNBytes(length);
+                if (script.length < length) {
+                    return;
+                }
+                run(new String(script, StandardCharsets.UTF_8), output, frames);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            // The client went away, nothing is left to answer
+        } catch (InterruptedException e) {
+            // The server is closing
+        }
+    }
+
+    private void run(String program, ChannelOutputSink output, FrameChannel frames)
+            throws IOException, InterruptedException {
+        // Output printed before a failure is flushed when the program ends, before the error is sent
+        GLangEngine.Result result = engine.run(program, output, timeout);
+        if (result.error() instanceof UncheckedIOException e) {
+            throw e;
+        }
+        String error = switch (result.status()) {
+            case COMPLETED -> null;
+            case FAILED -> result.error().getMessage() != null ? result.error().getMessage() : result.error().toString();
+            case TIMED_OUT -> String.format("Script did not end within %d ms.", timeout.toMillis());
+            case CANCELLED -> "Script was cancelled.";
+        };
+        if (error == null) {
+            frames.send(DONE, new byte[0]);
+        } else {
+            frames.send(ERROR, error.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    // Wraps every write into an output frame
+    private static final class FrameChannel implements WritableByteChannel {
+
+        private final SocketChannel connection;
+        private final ByteBuffer header = ByteBuffer.allocate(5);
+
+        private FrameChannel(SocketChannel connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public int write(ByteBuffer bytes) throws IOException {
+            int length = bytes.remaining();
+            send(OUTPUT, bytes);
+            return length;
+        }
+
+        void send(byte type, byte[] bytes) throws IOException {
+            send(type, ByteBuffer.wrap(bytes));
+        }
+
+        private void send(byte type, ByteBuffer bytes) throws IOException {
+            header.clear();
+            header.put(type).putInt(bytes.remaining()).flip();
+            ByteBuffer[] frame = {header, bytes};
+            while (header.hasRemaining() || bytes.hasRemaining()) {
+                connection.write(frame);
+            }
+        }
+
+        @Override
+        public boolean isOpen() {
+            return connection.isOpen();
+        }
+
+        @Override
+        public void close() {
+            // The connection outlives the scripts sent over it
+        }
+    }
+}
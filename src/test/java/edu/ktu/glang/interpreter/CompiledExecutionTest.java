@@ -0,0 +1,85 @@
+package edu.ktu.glang.interpreter;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CompiledExecutionTest {
+
+    @Test
+    void compiled_sample_matches_interpreter(@TempDir Path directory) throws IOException {
+        String sample = Files.readString(Path.of("samples/test.glang"));
+        String program = sample
+                .replace("\"Data.txt\"", quote(Path.of("Data.txt").toAbsolutePath()))
+                .replace("\"test.txt\"", quote(directory.resolve("test.txt")));
+
+        String interpreted = GLangInterpreter.execute(program);
+        String compiled = GLangInterpreter.executeCompiled(program);
+
+        assertEquals(interpreted, compiled);
+    }
+
+    @Test
+    void compiled_recursive_function() {
+        String program = """
+                         func fib(n) {
+                             if (n <= 1) {
+                                 return n;
+                             }
+                             return fib(n - 1) + fib(n - 2);
+                         }
+                         print(fib(20));
+                         """;
+
+        String expected = """
+                          6765
+                          """;
+
+        assertEquals(expected, GLangInterpreter.executeCompiled(program));
+    }
+
+    @Test
+    void compiled_function_declared_twice_uses_the_last_declaration() {
+        String program = """
+                         func f(n) {
+                             return n + 1;
+                         }
+                         func f(n) {
+                             return n + 2;
+                         }
+                         print(f(1));
+                         """;
+
+        assertEquals("3\n", GLangInterpreter.execute(program));
+        assertEquals("3\n", GLangInterpreter.executeCompiled(program));
+    }
+
+    @Test
+    void compiled_undeclared_variable_throws_exception() {
+        String program = """
+                         print(b);
+                         """;
+
+        assertThrows(RuntimeException.class, () -> GLangInterpreter.executeCompiled(program));
+    }
+
+    @Test
+    void compiled_assignment_to_undeclared_variable_throws_exception() {
+        String program = """
+                         a = 5;
+                         print(a);
+                         """;
+
+        assertThrows(RuntimeException.class, () -> GLangInterpreter.executeCompiled(program));
+    }
+
+    private static String quote(Path path) {
+        return "\"" + path.toString().replace("\\", "/") + "\"";
+    }
+}
@@ -0,0 +1,72 @@
+package edu.ktu.glang.interpreter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ControlFlowTest {
+
+    @Test
+    void if_else_executes_whole_blocks() {
+        String program = """
+                         int a = 3;
+                         if (a > 5) {
+                             print(1);
+                             print(2);
+                         } else {
+                             print(3);
+                             print(4);
+                         }
+                         """;
+
+        String expected = """
+                          3
+                          4
+                          """;
+
+        String actual = GLangInterpreter.execute(program);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void return_from_loop_inside_function() {
+        String program = """
+                         func firstAbove(limit) {
+                             for (int i = 0; i < 100; i++) {
+                                 if (i > limit) {
+                                     return i;
+                                 }
+                             }
+                             return 0;
+                         }
+                         print(firstAbove(7));
+                         """;
+
+        String expected = """
+                          8
+                          """;
+
+        String actual = GLangInterpreter.execute(program);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void function_can_be_called_before_declaration() {
+        String program = """
+                         print(square(4));
+                         func square(n) {
+                             return n * n;
+                         }
+                         """;
+
+        String expected = """
+                          16
+                          """;
+
+        String actual = GLangInterpreter.execute(program);
+
+        assertEquals(expected, actual);
+    }
+}
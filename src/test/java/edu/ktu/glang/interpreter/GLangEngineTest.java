@@ -0,0 +1,66 @@
+package edu.ktu.glang.interpreter;
+
+import edu.ktu.glang.interpreter.exception.GLangVariableNotDeclaredException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GLangEngineTest {
+
+    @Test
+    void scripts_run_concurrently_with_their_own_variables() throws InterruptedException {
+        List<String> programs = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            // Every script declares the same global, which would fail if any state were shared
+            programs.add("int n = " + (i % 100) + "; for (int i = 0; i < 100; i++) { n += 1; } print(n);");
+        }
+
+        try (GLangEngine engine = new GLangEngine(new ProgramCache(128))) {
+            List<GLangEngine.Result> results = engine.runAll(programs, Duration.ofMinutes(1));
+            for (int i = 0; i < programs.size(); i++) {
+                assertEquals(GLangEngine.Status.COMPLETED, results.get(i).status());
+                assertEquals((i % 100 + 100) + "\n", results.get(i).output());
+            }
+            // Scripts waiting for the same source to compile share the compilation
+            assertEquals(100, engine.getProgramCache().getMisses());
+        }
+    }
+
+    @Test
+    void scripts_past_their_timeout_are_stopped() throws InterruptedException {
+        List<String> programs = List.of(
+                "for (int i = 0; i < 1; i += 0) { }",
+                "print(undeclared);",
+                "print(1);");
+
+        try (GLangEngine engine = new GLangEngine()) {
+            List<GLangEngine.Result> results = engine.runAll(programs, Duration.ofMillis(200));
+            assertEquals(GLangEngine.Status.TIMED_OUT, results.get(0).status());
+            assertEquals(GLangEngine.Status.FAILED, results.get(1).status());
+            assertInstanceOf(GLangVariableNotDeclaredException.class, results.get(1).error());
+            assertEquals(new GLangEngine.Result(GLangEngine.Status.COMPLETED, "1\n", null), results.get(2));
+        }
+    }
+
+    @Test
+    void cancelled_scripts_stop() throws Exception {
+        try (GLangEngine engine = new GLangEngine()) {
+            Future<String> spinning = engine.submit("""
+                                                    func spin(n) {
+                                                        return spin(n + 1);
+                                                    }
+                                                    spin(0);
+                                                    """, null);
+            Thread.sleep(100);
+            assertTrue(spinning.cancel(true));
+            assertEquals("2\n", engine.submit("print(2);", null).get());
+        }
+    }
+}
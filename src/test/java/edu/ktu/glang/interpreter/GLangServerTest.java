@@ -0,0 +1,110 @@
+package edu.ktu.glang.interpreter;
+
+import edu.ktu.glang.interpreter.exception.GLangException;
+import edu.ktu.glang.interpreter.server.GLangClient;
+import edu.ktu.glang.interpreter.server.GLangServer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GLangServerTest {
+
+    @Test
+    void scripts_run_over_tcp() throws Exception {
+        serve(GLangServer.address("0"));
+    }
+
+    @Test
+    void scripts_run_over_unix_socket(@TempDir Path directory) throws Exception {
+        Path socket = directory.resolve("glang.sock");
+        serve(GLangServer.address(socket.toString()));
+        assertFalse(Files.exists(socket));
+    }
+
+    @Test
+    void invalid_lengths_and_long_scripts_get_errors() throws Exception {
+        GLangServer server = new GLangServer(GLangServer.address("0"), new ProgramCache(16), Duration.ofMillis(200), 1024);
+        Thread thread = Thread.ofVirtual().start(() -> {
+            try {
+                server.serve();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        try (server) {
+            assertEquals("Script length -1 is not between 0 and 1024 bytes.", sendLength(server, -1));
+            assertEquals("Script length 1025 is not between 0 and 1024 bytes.", sendLength(server, 1025));
+
+            try (GLangClient client = new GLangClient(server.getAddress())) {
+                GLangException exception = assertThrows(GLangException.class, () -> client.execute("""
+                        int total = 0;
+                        for (int i = 0; i < 2000000000; i++) {
+                            total = total + 1;
+                        }
+                        """));
+                assertEquals("Script did not end within 200 ms.", exception.getMessage());
+                // The connection serves the next script once the one that timed out has stopped
+                assertEquals("3\n", client.execute("print(1 + 2);"));
+            }
+        }
+        thread.join();
+    }
+
+    // Sends only a script length and returns the error it is answered with
+    private static String sendLength(GLangServer server, int length) throws IOException {
+        try (SocketChannel connection = SocketChannel.open(server.getAddress())) {
+            DataOutputStream output = new DataOutputStream(Channels.newOutputStream(connection));
+            output.writeInt(length);
+            output.flush();
+            DataInputStream input = new DataInputStream(Channels.newInputStream(connection));
+            assertEquals('E', input.readByte());
+            String error = new String(input.readNBytes(input.readInt()), StandardCharsets.UTF_8);
+            assertEquals(-1, input.read());
+            return error;
+        }
+    }
+
+    private static void serve(SocketAddress address) throws Exception {
+        GLangServer server = new GLangServer(address, new ProgramCache(16));
+        Thread thread = Thread.ofVirtual().start(() -> {
+            try {
+                server.serve();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        try (server; GLangClient client = new GLangClient(server.getAddress())) {
+            assertEquals("3\n", client.execute("int a = 1; print(a + 2);"));
+            // Every script gets its own variables, so a can be declared again
+            assertEquals("3\n", client.execute("int a = 1; print(a + 2);"));
+
+            GLangException exception = assertThrows(GLangException.class, () -> client.execute("print(1); print(b);"));
+            assertEquals("Variable 'b' is not declared.", exception.getMessage());
+            exception = assertThrows(GLangException.class, () -> client.execute("print(1"));
+            assertEquals("Syntax error at line 1, position 7: no viable alternative at input 'print(1'", exception.getMessage());
+
+            StringBuilder program = new StringBuilder();
+            for (int i = 0; i < 5000; i++) {
+                program.append("print(").append(i).append(");\n");
+            }
+            assertEquals(GLangInterpreter.execute(program.toString()), client.execute(program.toString()));
+        }
+        thread.join();
+    }
+}
@@ -0,0 +1,52 @@
+package edu.ktu.glang.interpreter;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class IntAllocationTest {
+
+    private static final String LOOP = """
+                                       int sum = 0;
+                                       for (int i = 0; i < %d; i++) {
+                                           sum = sum + i %% 1000;
+                                       }
+                                       print(sum);
+                                       """;
+
+    @Test
+    void int_loop_does_not_allocate_per_iteration() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported());
+
+        // Warm up, so class loading and JIT do not count towards either run
+        GLangInterpreter.execute(String.format(LOOP, 1_000_000));
+
+        long small = allocatedBytes(threads, 1_000);
+        long large = allocatedBytes(threads, 1_000_000);
+
+        // Boxing sum and i on every iteration would allocate tens of megabytes here
+        assertTrue(large - small < 100_000, "Loop allocated " + (large - small) + " bytes more for 999000 extra iterations");
+    }
+
+    @Test
+    void int_loop_result() {
+        String expected = """
+                          499500000
+                          """;
+
+        assertEquals(expected, GLangInterpreter.execute(String.format(LOOP, 1_000_000)));
+    }
+
+    private static long allocatedBytes(com.sun.management.ThreadMXBean threads, int iterations) {
+        String program = String.format(LOOP, iterations);
+        long threadId = Thread.currentThread().threadId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        GLangInterpreter.execute(program);
+        return threads.getThreadAllocatedBytes(threadId) - before;
+    }
+}
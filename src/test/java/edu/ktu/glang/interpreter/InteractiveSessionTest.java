@@ -0,0 +1,62 @@
+package edu.ktu.glang.interpreter;
+
+import edu.ktu.glang.interpreter.output.StringOutputSink;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InteractiveSessionTest {
+
+    @Test
+    void functions_and_variables_survive_between_inputs() {
+        StringOutputSink output = new StringOutputSink();
+        InteractiveSession session = new InteractiveSession(output);
+
+        assertFalse(session.execute("func square(x) {"));
+        assertFalse(session.execute("    /* the result"));
+        assertFalse(session.execute("       is returned */ return x * x;"));
+        assertTrue(session.execute("}"));
+        assertFalse(session.isPending());
+        assertFalse(session.execute("int a = square(3) +"));
+        assertTrue(session.execute("0;"));
+        assertFalse(session.execute("print("));
+        assertTrue(session.execute("square(a));"));
+        assertTrue(session.execute("print(a);"));
+
+        assertEquals("81\n9\n", output.toString());
+    }
+
+    @Test
+    void earlier_functions_call_a_function_declared_again() {
+        StringOutputSink output = new StringOutputSink();
+        InteractiveSession session = new InteractiveSession(output);
+
+        assertTrue(session.execute("func f(n) { return n + 2; }"));
+        assertTrue(session.execute("func g(n) { return f(n); }"));
+        assertTrue(session.execute("print(g(1));"));
+        assertTrue(session.execute("func f(n) { return n + 101; }"));
+        assertTrue(session.execute("print(g(1));"));
+
+        assertEquals("3\n102\n", output.toString());
+    }
+
+    @Test
+    void syntax_error_discards_pending_statement() {
+        StringOutputSink output = new StringOutputSink();
+        InteractiveSession session = new InteractiveSession(output);
+
+        assertFalse(session.execute("if (1 == 1) {"));
+        ParseCancellationException exception = assertThrows(ParseCancellationException.class,
+                () -> session.execute("print(+); }"));
+        assertEquals("Syntax error at line 2, position 6: no viable alternative at input 'print(+'",
+                exception.getMessage());
+        assertFalse(session.isPending());
+        assertTrue(session.execute("print(1);"));
+
+        assertEquals("1\n", output.toString());
+    }
+}
@@ -0,0 +1,114 @@
+package edu.ktu.glang.interpreter;
+
+import edu.ktu.glang.interpreter.exception.GLangException;
+import edu.ktu.glang.interpreter.filter.ZenFilter;
+import edu.ktu.glang.interpreter.input.RecordFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LoadTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void load_filters_json_lines() throws IOException {
+        Path file = directory.resolve("users.jsonl");
+        Files.writeString(file, """
+                                {"name": "Alice", "age": 25}
+                                {"name": "Bob", "age": 30}
+
+                                {"age": 30, "name": "alice"}
+                                """);
+        String program = """
+                         users = load("%s");
+                         let rules = [{ type = "int", property = "age", value = "30" }];
+                         let result = ZenFilter(users, rules);
+                         print(result);
+                         """.formatted(file.toString().replace("\\", "/"));
+
+        String expected = """
+                          {name=Bob, age=30}
+                          {name=alice, age=30}
+                          """;
+
+        assertEquals(expected, GLangInterpreter.execute(program));
+        assertEquals(expected, GLangInterpreter.executeCompiled(program));
+    }
+
+    @Test
+    void load_types_csv_values() throws IOException {
+        Path file = directory.resolve("users.csv");
+        Files.writeString(file, "name,age,active\r\n\"Smith, John\",41,true\r\n\"say \"\"hi\"\"\",007,no\r\n");
+        String program = """
+                         for (user : load("%s")) {
+                             print(user);
+                         }
+                         """.formatted(file.toString().replace("\\", "/"));
+
+        assertEquals("""
+                     {name=Smith, John, active=true, age=41}
+                     {name=say "hi", active=no, age=7}
+                     """, GLangInterpreter.execute(program));
+    }
+
+    @Test
+    void chunked_filter_matches_filter_of_maps() throws IOException {
+        Path file = directory.resolve("users.ndjson");
+        List<Map<String, Object>> users = new ArrayList<>();
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            Map<String, Object> user = new HashMap<>();
+            user.put("name", "User\"" + i % 10);
+            user.put("age", i % 50);
+            lines.append("{\"name\": \"User\\\"").append(i % 10).append("\", \"age\": ").append(i % 50);
+            if (i % 500 == 0) {
+                // Records with other properties start a new run of columns
+                user.put("active", false);
+                lines.append(", \"active\": false");
+            }
+            lines.append("}\n");
+            users.add(user);
+        }
+        Files.writeString(file, lines);
+        List<Map<String, Object>> rules = List.of(rule("age", "7"), rule("name", "user\"7"));
+
+        ZenFilter zenFilter = new ZenFilter();
+        List<Map<String, Object>> expected = zenFilter.filter(users, rules);
+        assertEquals(40, expected.size());
+        assertEquals(expected, zenFilter.filter(new RecordFile(file, 1024), rules));
+        assertEquals(users, records(new RecordFile(file, 1024)));
+    }
+
+    @Test
+    void invalid_line_throws_exception() throws IOException {
+        Path file = directory.resolve("users.jsonl");
+        Files.writeString(file, "{\"name\": \"Alice\"}\n{\"name\": }\n");
+
+        GLangException exception = assertThrows(GLangException.class,
+                () -> records(new RecordFile(file)));
+        assertEquals("Invalid JSON in " + file + ": {\"name\": }", exception.getMessage());
+        assertThrows(GLangException.class, () -> new RecordFile(directory.resolve("users.txt")));
+    }
+
+    private static List<Map<String, Object>> records(RecordFile file) {
+        List<Map<String, Object>> records = new ArrayList<>();
+        file.forEach(records::add);
+        return records;
+    }
+
+    private static Map<String, Object> rule(String property, String value) {
+        return Map.of("property", property, "value", value);
+    }
+}
@@ -0,0 +1,110 @@
+package edu.ktu.glang.interpreter;
+
+import edu.ktu.glang.interpreter.exception.GLangException;
+import edu.ktu.glang.interpreter.output.StringOutputSink;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MemoizationTest {
+
+    private static final String FUNCTIONS = """
+            func fib(n) {
+                if (n < 2) {
+                    return n;
+                }
+                return fib(n - 1) + fib(n - 2);
+            }
+            @nomemo
+            func slowFib(n) {
+                if (n < 2) {
+                    return n;
+                }
+                return slowFib(n - 1) + slowFib(n - 2);
+            }
+            func twice(n) {
+                return fib(n) * 2;
+            }
+            func square(n) {
+                if (n < 0) {
+                    return n * n;
+                }
+                return n * n;
+            }
+            @memo
+            func cube(n) {
+                if (n < 0) {
+                    return n * n * n;
+                }
+                return n * n * n;
+            }
+            int calls = 0;
+            func counted(n) {
+                calls++;
+                return n;
+            }
+            func logged(n) {
+                print(n);
+                return n;
+            }
+            """;
+
+    @Test
+    void pure_functions_are_memoized() {
+        StringOutputSink output = new StringOutputSink();
+        InteractiveSession session = new InteractiveSession(output);
+        session.execute(FUNCTIONS);
+        session.execute("print(fib(40));");
+        session.execute("print(twice(40));");
+        session.execute("print(slowFib(10));");
+
+        assertEquals("102334155\n204668310\n55\n", output.toString());
+        MemoTable memoTable = session.getInterpreter().getMemoTable();
+        assertEquals(41, memoTable.getMisses("fib"));
+        assertEquals(39, memoTable.getHits("fib"));
+        assertEquals(1, memoTable.getMisses("twice"));
+        assertEquals(0, memoTable.getMisses("slowFib"));
+    }
+
+    @Test
+    void functions_calling_no_function_are_memoized_only_when_annotated() {
+        StringOutputSink output = new StringOutputSink();
+        InteractiveSession session = new InteractiveSession(output);
+        session.execute(FUNCTIONS);
+        session.execute("print(square(3) + square(3));");
+        session.execute("print(cube(3) + cube(3));");
+
+        assertEquals("18\n54\n", output.toString());
+        MemoTable memoTable = session.getInterpreter().getMemoTable();
+        assertEquals(0, memoTable.getMisses("square"));
+        assertEquals(1, memoTable.getMisses("cube"));
+        assertEquals(1, memoTable.getHits("cube"));
+    }
+
+    @Test
+    void impure_functions_run_every_time() {
+        String program = FUNCTIONS + """
+                                     logged(1);
+                                     logged(1);
+                                     counted(1);
+                                     counted(1);
+                                     print(calls);
+                                     """;
+
+        assertEquals("1\n1\n2\n", GLangInterpreter.execute(program));
+        assertEquals("1\n1\n2\n", GLangInterpreter.executeCompiled(program));
+    }
+
+    @Test
+    void compiled_pure_functions_are_memoized() {
+        assertEquals("102334155\n", GLangInterpreter.executeCompiled(FUNCTIONS + "print(fib(40));"));
+    }
+
+    @Test
+    void unknown_annotation_throws_exception() {
+        GLangException exception = assertThrows(GLangException.class,
+                () -> GLangInterpreter.execute("@cache func one() { return 1; }"));
+        assertEquals("Unknown annotation: @cache", exception.getMessage());
+    }
+}
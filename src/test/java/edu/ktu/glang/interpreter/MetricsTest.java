@@ -0,0 +1,144 @@
+package edu.ktu.glang.interpreter;
+
+import edu.ktu.glang.interpreter.metrics.GLangMetrics;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MetricsTest {
+
+    @TempDir
+    Path directory;
+
+    private String program() throws IOException {
+        Path users = directory.resolve("users.jsonl");
+        Files.writeString(users, """
+                                 {"name": "Alice", "age": 25}
+                                 {"name": "Bob", "age": 30}
+                                 {"name": "Carol", "age": 30}
+                                 """);
+        return """
+               @memo
+               func square(n) {
+                   if (n < 0) {
+                       return 0;
+                   }
+                   return n * n;
+               }
+               users = load("%1$s");
+               let rules = [{ type = "int", property = "age", value = "30" }];
+               let result = ZenFilter(users, rules);
+               print(result);
+               for (int i = 0; i < 3; i++) {
+                   printf("%2$s", square(2));
+               }
+               string line = readf("%2$s");
+               print(line);
+               """.formatted(path(users), path(directory.resolve("out.txt")));
+    }
+
+    @Test
+    void counters_add_up_every_script() throws IOException {
+        GLangMetrics metrics = GLangMetrics.get();
+        long parsed = metrics.getScriptsParsed();
+        long executed = metrics.getScriptsExecuted();
+        long output = metrics.getOutputCharacters();
+        long filters = metrics.getZenFilterCalls();
+        long inputRows = metrics.getZenFilterInputRows();
+        long outputRows = metrics.getZenFilterOutputRows();
+        long writes = metrics.getFileWrites();
+        long bytes = metrics.getFileWriteBytes();
+        long reads = metrics.getFileReads();
+        long hits = metrics.getProgramCacheHits();
+        long misses = metrics.getProgramCacheMisses();
+        long memoHits = metrics.getMemoHits();
+
+        String program = program();
+        String expected = "{name=Bob, age=30}\n{name=Carol, age=30}\n4\n";
+        assertEquals(expected, GLangInterpreter.execute(program));
+        assertEquals(expected, GLangInterpreter.execute(program));
+
+        assertEquals(1, metrics.getScriptsParsed() - parsed);
+        assertEquals(2, metrics.getScriptsExecuted() - executed);
+        assertEquals(2 * expected.length(), metrics.getOutputCharacters() - output);
+        assertEquals(2, metrics.getZenFilterCalls() - filters);
+        assertEquals(6, metrics.getZenFilterInputRows() - inputRows);
+        assertEquals(4, metrics.getZenFilterOutputRows() - outputRows);
+        assertEquals(6, metrics.getFileWrites() - writes);
+        assertEquals(12, metrics.getFileWriteBytes() - bytes);
+        assertEquals(2, metrics.getFileReads() - reads);
+        assertEquals(1, metrics.getProgramCacheHits() - hits);
+        assertEquals(1, metrics.getProgramCacheMisses() - misses);
+        assertEquals(4, metrics.getMemoHits() - memoHits);
+        assertTrue(metrics.getProgramCacheHitRate() > 0);
+    }
+
+    @Test
+    void operations_are_recorded_as_jfr_events() throws IOException {
+        String program = program();
+        Path file = directory.resolve("recording.jfr");
+        try (Recording recording = new Recording()) {
+            for (String event : List.of("Parse", "ProgramCache", "Execution", "ZenFilter", "FileWrite", "FileRead")) {
+                recording.enable("edu.ktu.glang." + event).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+            GLangInterpreter.execute(program);
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        assertEquals(1, count(events, "Parse"));
+        assertEquals(3, count(events, "FileWrite"));
+        assertEquals(2, event(events, "FileWrite").getLong("bytes"));
+        assertEquals(1, count(events, "FileRead"));
+        RecordedEvent filter = event(events, "ZenFilter");
+        assertEquals(3, filter.getLong("inputRows"));
+        assertEquals(2, filter.getLong("outputRows"));
+        assertTrue(filter.getBoolean("fromFile"));
+        assertEquals(false, event(events, "ProgramCache").getBoolean("hit"));
+        RecordedEvent execution = event(events, "Execution");
+        assertEquals(42, execution.getLong("outputCharacters"));
+        assertEquals(2, execution.getLong("memoHits"));
+        assertEquals(1, execution.getLong("memoMisses"));
+    }
+
+    @Test
+    void counters_are_published_over_jmx() throws Exception {
+        GLangMetrics.register();
+        GLangMetrics.register();
+        GLangInterpreter.execute("print(1);");
+
+        Object executed = ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(new ObjectName(GLangMetrics.OBJECT_NAME), "ScriptsExecuted");
+        assertEquals(GLangMetrics.get().getScriptsExecuted(), executed);
+    }
+
+    private static long count(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals("edu.ktu.glang." + name)).count();
+    }
+
+    private static RecordedEvent event(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(event -> event.getEventType().getName().equals("edu.ktu.glang." + name))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static String path(Path file) {
+        return file.toString().replace("\\", "/");
+    }
+}
@@ -0,0 +1,135 @@
+package edu.ktu.glang.interpreter;
+
+import org.antlr.v4.runtime.CharStreams;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OptimizerTest {
+
+    private static String optimize(String program) {
+        return new ProgramCompiler(new SymbolTable(), true)
+                .compile(GLangInterpreter.parse(CharStreams.fromString(program)))
+                .toString();
+    }
+
+    @Test
+    void constants_are_folded_and_dead_branches_removed() {
+        String program = """
+                         int limit = 2 * (3 + 4) - 1;
+                         for (int i = 0; i < 10 * 2; i++) {
+                             print(i % (4 / 2));
+                         }
+                         if (1 + 1 == 2) {
+                             print("two");
+                         } else {
+                             print("not two");
+                         }
+                         if ("a" != "a") {
+                             print("never");
+                         }
+                         """;
+
+        assertEquals("""
+                     int limit = 13;
+                     for (int i = 0; i < 20; i++) {
+                         print(i % 2);
+                     }
+                     print("two");
+                     """.strip(), optimize(program));
+    }
+
+    @Test
+    void small_functions_are_inlined() {
+        String program = """
+                         func square(x) {
+                             return x * x;
+                         }
+                         func scale(x, factor) {
+                             return x * factor + offset;
+                         }
+                         func fib(n) {
+                             if (n < 2) {
+                                 return n;
+                             }
+                             return fib(n - 1) + fib(n - 2);
+                         }
+                         int offset = square(3);
+                         func area(w, h) {
+                             return square(w) * h;
+                         }
+                         print(scale(fib(offset), 2));
+                         print(square(fib(2)));
+                         """;
+
+        assertEquals("""
+                     func square(x) {
+                         return x * x;
+                     }
+                     func scale(x, factor) {
+                         return (x * factor) + offset;
+                     }
+                     func fib(n) {
+                         if (n < 2) {
+                             return n;
+                         }
+                         return fib(n - 1) + fib(n - 2);
+                     }
+                     func area(w, h) {
+                         return (w * w) * h;
+                     }
+                     int offset = 9;
+                     print(scale(fib(offset), 2) => (x * factor) + offset);
+                     print(square(fib(2)) => x * x);
+                     """.strip(), optimize(program));
+        assertEquals("77\n1\n", GLangInterpreter.execute(program));
+    }
+
+    @Test
+    void inlined_calls_evaluate_arguments_before_the_body_in_call_order() {
+        String program = """
+                         int g = 0;
+                         int x = 100;
+                         func bump() {
+                             g = 10;
+                             return 6;
+                         }
+                         func setx() {
+                             x = 2;
+                             return 1;
+                         }
+                         func addg(a) {
+                             return g + a;
+                         }
+                         func sub(a, b) {
+                             return b - a;
+                         }
+                         print(addg(bump()));
+                         print(sub(x, setx()));
+                         """;
+
+        assertEquals("16\n-99\n", GLangInterpreter.execute(program));
+        assertEquals("16\n-99\n", GLangInterpreter.executeCompiled(program));
+    }
+
+    @Test
+    void failing_operations_fail_when_executed() {
+        String program = """
+                         func half(x) {
+                             return x / 2;
+                         }
+                         print(half(7));
+                         print(1 / 0);
+                         """;
+
+        assertThrows(ArithmeticException.class, () -> GLangInterpreter.execute(program));
+        assertEquals("""
+                     func half(x) {
+                         return x / 2;
+                     }
+                     print(3);
+                     print(1 / 0);
+                     """.strip(), optimize(program));
+    }
+}
@@ -0,0 +1,118 @@
+package edu.ktu.glang.interpreter;
+
+import edu.ktu.glang.interpreter.output.ChannelOutputSink;
+import edu.ktu.glang.interpreter.output.WriterOutputSink;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OutputSinkTest {
+
+    private static final String PROGRAM = """
+                                          string name = "Ąžuolas";
+                                          users = [{ name = "Alice", age = 25 }, { name = "Bob", age = 30 }];
+                                          for (int i = 0; i < 3; i++) {
+                                              print(i);
+                                          }
+                                          print(name);
+                                          print(users);
+                                          """;
+
+    @Test
+    void writer_sink_receives_same_output_as_string() {
+        StringWriter writer = new StringWriter();
+
+        GLangInterpreter.execute(PROGRAM, new WriterOutputSink(writer));
+
+        assertEquals(GLangInterpreter.execute(PROGRAM), writer.toString());
+    }
+
+    @Test
+    void channel_sink_encodes_utf8_across_buffer_boundaries() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        GLangInterpreter.execute(PROGRAM, new ChannelOutputSink(Channels.newChannel(bytes), 7));
+
+        assertEquals(GLangInterpreter.execute(PROGRAM), bytes.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void output_is_streamed_while_program_runs() {
+        String program = """
+                         for (int i = 0; i < 1000000; i++) {
+                             print(i);
+                         }
+                         """;
+        CountingChannel channel = new CountingChannel();
+
+        GLangInterpreter.execute(program, new ChannelOutputSink(channel));
+
+        // 10 one-digit numbers, 90 two-digit ones and so on, each followed by a new line
+        assertEquals(6_888_890, channel.bytes);
+        assertTrue(channel.writes > 100);
+    }
+
+    @Test
+    void channel_is_closed_when_buffered_output_cannot_be_written() {
+        FailingChannel channel = new FailingChannel();
+        ChannelOutputSink sink = new ChannelOutputSink(channel);
+        sink.write("lost");
+
+        assertThrows(UncheckedIOException.class, sink::close);
+        assertFalse(channel.isOpen());
+    }
+
+    private static class FailingChannel implements WritableByteChannel {
+        private boolean open = true;
+
+        @Override
+        public int write(ByteBuffer source) throws IOException {
+            throw new IOException("Disk full");
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+    }
+
+    private static class CountingChannel implements WritableByteChannel {
+        private long bytes;
+        private int writes;
+
+        @Override
+        public int write(ByteBuffer source) {
+            int remaining = source.remaining();
+            source.position(source.limit());
+            bytes += remaining;
+            writes++;
+            return remaining;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
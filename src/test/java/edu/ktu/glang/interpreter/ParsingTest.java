@@ -0,0 +1,76 @@
+package edu.ktu.glang.interpreter;
+
+import edu.ktu.glang.GLangParser;
+import org.antlr.v4.runtime.CharStreams;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.misc.ParseCancellationException;
+import org.antlr.v4.runtime.tree.ParseTree;
+import org.antlr.v4.runtime.tree.Trees;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ParsingTest {
+
+    @Test
+    void program_is_parsed_after_warm_up() {
+        GLangInterpreter.warmUp();
+
+        String program = """
+                         func next(x) { return x + 1; }
+                         int a = 5;
+                         print(a);
+                         print(next(a));
+                         """;
+
+        String expected = """
+                          5
+                          6
+                          """;
+
+        assertEquals(expected, GLangInterpreter.execute(program));
+    }
+
+    @Test
+    void warm_up_program_touches_every_rule() {
+        Set<String> rules = new TreeSet<>(List.of(GLangParser.ruleNames));
+        // print(x) is ambiguous and always parses as the printStatement listed before it
+        rules.remove("printArrayStatement");
+        for (ParseTree tree : Trees.getDescendants(GLangInterpreter.parse(CharStreams.fromString(GLangInterpreter.WARM_UP_PROGRAM)))) {
+            if (tree instanceof ParserRuleContext rule) {
+                rules.remove(GLangParser.ruleNames[rule.getRuleIndex()]);
+            }
+        }
+
+        assertEquals(Set.of(), rules);
+    }
+
+    @Test
+    void syntax_error_is_reported_after_fallback() {
+        String program = """
+                         int a = 5;
+                         print(a +);
+                         """;
+
+        ParseCancellationException e = assertThrows(ParseCancellationException.class, () -> GLangInterpreter.execute(program));
+        assertEquals("Syntax error at line 2, position 9: no viable alternative at input 'print(a+)'", e.getMessage());
+    }
+
+    @Test
+    void incomplete_program_is_a_syntax_error() {
+        String program = """
+                         int a = 5;
+                         if (a == 5) {
+                         """;
+
+        ParseCancellationException e = assertThrows(ParseCancellationException.class, () -> GLangInterpreter.execute(program));
+        assertTrue(e.getMessage().startsWith("Syntax error at line 3, position 0: "), e.getMessage());
+        assertThrows(ParseCancellationException.class, () -> GLangInterpreter.executeCompiled(program));
+    }
+}
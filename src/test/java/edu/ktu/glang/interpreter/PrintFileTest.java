@@ -0,0 +1,89 @@
+package edu.ktu.glang.interpreter;
+
+import edu.ktu.glang.interpreter.output.FileHandlePool;
+import edu.ktu.glang.interpreter.output.FlushPolicy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PrintFileTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void printf_in_loop_appends_every_line() throws IOException {
+        Path file = directory.resolve("out.txt");
+        Files.writeString(file, "existing\n");
+        String program = """
+                         for (int i = 0; i < 1000; i++) {
+                             printf("%1$s", i);
+                         }
+                         printf("%1$s", "done");
+                         """.formatted(path(file));
+
+        assertEquals("", GLangInterpreter.execute(program));
+
+        StringBuilder expected = new StringBuilder("existing\n");
+        for (int i = 0; i < 1000; i++) {
+            expected.append(i).append("\n");
+        }
+        expected.append("done\n");
+        assertEquals(expected.toString(), Files.readString(file));
+    }
+
+    @Test
+    void readf_sees_lines_printed_before() {
+        String program = """
+                         printf("%1$s", "first");
+                         string line = readf("%1$s");
+                         print(line);
+                         """.formatted(path(directory.resolve("lines.txt")));
+
+        assertEquals("first\n", GLangInterpreter.execute(program));
+    }
+
+    @Test
+    void flush_policy_decides_when_lines_reach_file() throws IOException {
+        Path lineFile = directory.resolve("line.txt");
+        Path endFile = directory.resolve("end.txt");
+        FileHandlePool files = new FileHandlePool();
+
+        files.setFlushPolicy(FlushPolicy.LINE);
+        files.write(lineFile.toString(), "line\n");
+        files.setFlushPolicy(FlushPolicy.END);
+        files.write(endFile.toString(), "end\n");
+        files.write(directory.resolve(".").resolve("end.txt").toString(), "same file\n");
+
+        assertEquals("line\n", Files.readString(lineFile));
+        assertEquals("", Files.readString(endFile));
+        assertEquals(2, files.size());
+
+        files.closeAll();
+
+        assertEquals("end\nsame file\n", Files.readString(endFile));
+        assertEquals(0, files.size());
+    }
+
+    @Test
+    void writes_return_the_encoded_bytes() {
+        FileHandlePool files = new FileHandlePool();
+        String file = directory.resolve("utf8.txt").toString();
+
+        assertEquals(7, files.write(file, "ąčę\n"));
+        files.setFlushPolicy(FlushPolicy.LINE);
+        assertEquals(3, files.write(file, "ok\n"));
+        files.closeAll();
+
+        assertEquals(10, files.getBytesWritten());
+    }
+
+    private static String path(Path path) {
+        return path.toAbsolutePath().toString().replace("\\", "/");
+    }
+}
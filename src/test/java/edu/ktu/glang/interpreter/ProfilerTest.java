@@ -0,0 +1,99 @@
+package edu.ktu.glang.interpreter;
+
+import edu.ktu.glang.interpreter.output.StringOutputSink;
+import org.antlr.v4.runtime.CharStreams;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ProfilerTest {
+
+    private static final String PROGRAM = """
+            @nomemo
+            func fib(n) {
+                if (n < 2) {
+                    return n;
+                }
+                return fib(n - 1) + fib(n - 2);
+            }
+            @nomemo
+            func add(a, b) {
+                return a + b;
+            }
+            int total = 0;
+            for (int i = 0; i < 10; i++) {
+                total = add(total, i);
+            }
+            print(total);
+            print(fib(10));
+            """;
+
+    private static Profiler profile(String program, StringOutputSink output) {
+        SymbolTable symbolTable = new SymbolTable();
+        InterpreterVisitor interpreter = new InterpreterVisitor(symbolTable, output);
+        interpreter.execute(new ProgramCompiler(symbolTable, false, true)
+                .compile(GLangInterpreter.parse(CharStreams.fromString(program))));
+        return interpreter.getProfiler();
+    }
+
+    @Test
+    void lines_functions_and_loops_are_counted() {
+        StringOutputSink output = new StringOutputSink();
+        Profiler profiler = profile(PROGRAM, output);
+
+        assertEquals("45\n55\n", output.toString());
+        assertEquals(177, profiler.getCalls("fib"));
+        assertEquals(10, profiler.getCalls("add"));
+        assertEquals(1, profiler.getCalls(Profiler.TOP_LEVEL));
+        assertEquals(177, profiler.getCount(3));
+        assertEquals(89, profiler.getCount(4));
+        assertEquals(10, profiler.getCount(14));
+        assertEquals(10, profiler.getIterations(13));
+        assertEquals(0, profiler.getIterations(14));
+
+        String report = profiler.report(List.of(PROGRAM.split("\n")));
+        assertTrue(report.contains("return fib(n - 1) + fib(n - 2);"), report);
+        assertTrue(report.contains("for (int i = 0; i < 10; i++) {"), report);
+        assertTrue(report.contains("memo cache of memoized functions and calls inlined by the optimizer are not counted"), report);
+    }
+
+    @Test
+    void call_paths_are_written_as_collapsed_stacks() throws IOException {
+        Profiler profiler = profile("""
+                @nomemo
+                func spin(n) {
+                    int sum = 0;
+                    for (int i = 0; i < n; i++) {
+                        sum = sum + i % 7;
+                    }
+                    return sum;
+                }
+                @nomemo
+                func outer(n) {
+                    return spin(n) + 1;
+                }
+                print(outer(200000));
+                """, new StringOutputSink());
+
+        StringWriter stacks = new StringWriter();
+        profiler.writeCollapsedStacks(stacks);
+        assertTrue(stacks.toString().lines().anyMatch(line -> line.matches("<main>;outer;spin \\d+")), stacks.toString());
+    }
+
+    @Test
+    void profiled_programs_print_like_unprofiled_ones() {
+        SymbolTable symbolTable = new SymbolTable();
+        String program = new ProgramCompiler(symbolTable, false, true)
+                .compile(GLangInterpreter.parse(CharStreams.fromString(PROGRAM)))
+                .toString();
+
+        assertEquals(new ProgramCompiler(new SymbolTable(), false)
+                .compile(GLangInterpreter.parse(CharStreams.fromString(PROGRAM)))
+                .toString(), program);
+    }
+}
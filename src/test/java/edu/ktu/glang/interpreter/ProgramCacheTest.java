@@ -0,0 +1,59 @@
+package edu.ktu.glang.interpreter;
+
+import edu.ktu.glang.interpreter.node.FunctionNode;
+import edu.ktu.glang.interpreter.node.ProgramNode;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class ProgramCacheTest {
+
+    @Test
+    void repeated_execution_uses_cached_program() {
+        String program = """
+                         int a = 40;
+                         users = [{ name = "Alice", age = 25}];
+                         print(a + 2);
+                         """;
+
+        String expected = """
+                          42
+                          """;
+
+        ProgramCache cache = GLangInterpreter.getProgramCache();
+        long hits = cache.getHits();
+        long misses = cache.getMisses();
+
+        assertEquals(expected, GLangInterpreter.execute(program));
+        assertEquals(expected, GLangInterpreter.execute(program));
+
+        assertEquals(misses + 1, cache.getMisses());
+        assertEquals(hits + 1, cache.getHits());
+    }
+
+    @Test
+    void least_recently_used_program_is_evicted() {
+        ProgramCache cache = new ProgramCache(2);
+        AtomicInteger compilations = new AtomicInteger();
+
+        ProgramNode first = cache.getOrCompile("print(1);", source -> compile(compilations));
+        cache.getOrCompile("print(2);", source -> compile(compilations));
+        assertSame(first, cache.getOrCompile("print(1);", source -> compile(compilations)));
+        cache.getOrCompile("print(3);", source -> compile(compilations));
+        cache.getOrCompile("print(2);", source -> compile(compilations));
+
+        assertEquals(4, compilations.get());
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getHits());
+        assertEquals(4, cache.getMisses());
+        assertEquals(2, cache.getEvictions());
+    }
+
+    private static ProgramNode compile(AtomicInteger compilations) {
+        compilations.incrementAndGet();
+        return new ProgramNode(new FunctionNode[0], null, new String[0]);
+    }
+}
@@ -0,0 +1,120 @@
+package edu.ktu.glang.interpreter;
+
+import edu.ktu.glang.interpreter.exception.GLangException;
+import edu.ktu.glang.interpreter.node.ProgramNode;
+import edu.ktu.glang.interpreter.output.StringOutputSink;
+import org.antlr.v4.runtime.CharStreams;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ProgramFileTest {
+
+    private static final String PROGRAM = """
+            func fib(n) {
+                if (n <= 1) {
+                    return n;
+                }
+                return fib(n - 1) + fib(n - 2);
+            }
+            func count(n, total) {
+                if (n == 0) {
+                    return total;
+                }
+                return count(n - 1, total + 1);
+            }
+            @nomemo
+            func greet(name) {
+                print("Hello");
+                return name;
+            }
+            int limit = 2 * 5;
+            string name = greet("GLang");
+            for (int i = 0; i < limit; i++) {
+                limit -= 1;
+            }
+            switch (limit) {
+                case 5:
+                    print(fib(20));
+                default:
+                    print(0);
+            }
+            if (name == "GLang") {
+                print(count(1000, 0));
+            } else {
+                print(name);
+            }
+            numbers = [1, 2, limit];
+            for (n : numbers) {
+                print(n);
+            }
+            users = [{ name = "Alice", age = 25 }, { name = "Bob", age = 30 }];
+            let rules = [{ type = "string", property = "name", value = "Bob" }];
+            let result = ZenFilter(users, rules);
+            print(result);
+            """;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void compiled_program_runs_like_its_source() throws IOException {
+        Path file = ProgramFile.pathOf(Files.writeString(directory.resolve("program.glang"), PROGRAM));
+        assertEquals(directory.resolve("program.glc"), file);
+        assertEquals(file, GLangInterpreter.compileFile(directory.resolve("program.glang").toString()));
+
+        ProgramNode program = ProgramFile.read(file);
+        SymbolTable symbolTable = new SymbolTable();
+        symbolTable.bind(program.getGlobals());
+        String output = new InterpreterVisitor(symbolTable, new StringOutputSink()).execute(program);
+
+        assertEquals(GLangInterpreter.execute(PROGRAM), output);
+        assertEquals(new ProgramCompiler(new SymbolTable()).compile(GLangInterpreter.parse(CharStreams.fromString(PROGRAM)))
+                .toString(), program.toString());
+    }
+
+    @Test
+    void stale_program_is_rejected() throws IOException {
+        Path source = Files.writeString(directory.resolve("program.glang"), PROGRAM);
+        Path file = GLangInterpreter.compileFile(source.toString());
+        Files.writeString(source, PROGRAM + "print(1);");
+
+        GLangException exception = assertThrows(GLangException.class, () -> ProgramFile.read(file));
+        assertEquals(file + " is stale: program.glang changed since it was compiled. Compile it again.",
+                exception.getMessage());
+
+        // Without its source the program still runs
+        Files.delete(source);
+        ProgramFile.read(file);
+    }
+
+    @Test
+    void corrupted_or_foreign_program_is_rejected() throws IOException {
+        Path file = GLangInterpreter.compileFile(
+                Files.writeString(directory.resolve("program.glang"), PROGRAM).toString());
+        byte[] bytes = Files.readAllBytes(file);
+
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(file, bytes);
+        assertEquals(file + " is corrupted. Compile it again.",
+                assertThrows(GLangException.class, () -> ProgramFile.read(file)).getMessage());
+
+        Files.write(file, new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+        assertEquals(file + " is not a compiled GLang program.",
+                assertThrows(GLangException.class, () -> ProgramFile.read(file)).getMessage());
+
+        bytes[bytes.length / 2] ^= 1;
+        ByteBuffer.wrap(bytes).putInt(Integer.BYTES, ProgramFile.VERSION + 1);
+        Files.write(file, bytes);
+        assertEquals(String.format("%s was compiled for format version %d, this interpreter reads version %d. "
+                        + "Compile it again.", file, ProgramFile.VERSION + 1, ProgramFile.VERSION),
+                assertThrows(GLangException.class, () -> ProgramFile.read(file)).getMessage());
+    }
+}
@@ -0,0 +1,86 @@
+package edu.ktu.glang.interpreter;
+
+import edu.ktu.glang.interpreter.input.MappedLines;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReadLinesTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readf_lines_iterates_every_line() throws IOException {
+        Path file = directory.resolve("data.txt");
+        Files.writeString(file, "first\nsecond\r\nthird");
+        String program = """
+                         string lines = readf("%1$s", "lines");
+                         int count = 0;
+                         for (string line : lines) {
+                             print(line);
+                             count++;
+                         }
+                         print(count);
+                         string first = readf("%1$s");
+                         print(first);
+                         """.formatted(file.toString().replace("\\", "/"));
+
+        String expected = """
+                          first
+                          second
+                          third
+                          3
+                          first
+                          """;
+
+        assertEquals(expected, GLangInterpreter.execute(program));
+        assertEquals(expected, GLangInterpreter.executeCompiled(program));
+    }
+
+    @Test
+    void for_each_iterates_array() {
+        String program = """
+                         numbers = [1, 2, 3];
+                         int sum = 0;
+                         for (n : numbers) {
+                             sum = sum + n;
+                         }
+                         print(sum);
+                         """;
+
+        assertEquals("6\n", GLangInterpreter.execute(program));
+        assertEquals("6\n", GLangInterpreter.executeCompiled(program));
+    }
+
+    @Test
+    void lines_match_buffered_reader_across_windows() throws IOException {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            content.append("line ").append(i).append(" ąčę".repeat(i % 7));
+            content.append(i % 3 == 0 ? "\r\n" : i % 5 == 0 ? "\r" : "\n");
+            if (i % 500 == 0) {
+                content.append("x".repeat(300)).append("\n\n");
+            }
+        }
+        Path file = directory.resolve("large.txt");
+        Files.writeString(file, content);
+
+        List<String> expected = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(file)) {
+            reader.lines().forEach(expected::add);
+        }
+        List<String> actual = new ArrayList<>();
+        new MappedLines(file, 64).forEach(actual::add);
+
+        assertEquals(expected, actual);
+    }
+}
@@ -0,0 +1,99 @@
+package edu.ktu.glang.interpreter;
+
+import edu.ktu.glang.interpreter.record.RecordArray;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+class RecordArrayTest {
+
+    @Test
+    void records_print_like_maps(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("users.txt");
+        String program = """
+                         users = [{ name = "Alice", age = 25, city = "Kaunas" }, { name = "Bob", age = 30, city = "Vilnius" }];
+                         print(users);
+                         printf("%s", users);
+                         """.formatted(file.toString().replace('\\', '/'));
+
+        String expected = """
+                          {city=Kaunas, name=Alice, age=25}
+                          {city=Vilnius, name=Bob, age=30}
+                          """;
+
+        assertEquals(expected, GLangInterpreter.execute(program));
+        assertEquals("[{city=Kaunas, name=Alice, age=25}, {city=Vilnius, name=Bob, age=30}]\n", Files.readString(file));
+    }
+
+    @Test
+    void records_with_different_properties_are_not_columnar() {
+        String program = """
+                         users = [{ name = "Alice", age = 25 }, { age = 30, name = "Bob" }];
+                         print(users);
+                         """;
+
+        String expected = """
+                          {name=Alice, age=25}
+                          {name=Bob, age=30}
+                          """;
+
+        assertEquals(expected, GLangInterpreter.execute(program));
+    }
+
+    @Test
+    void columns_behave_like_maps() {
+        Object[][] columns = {
+                {"Alice", "Bob", "alice", "Carol"},
+                {25, 30, 30, 41},
+                {true, false, true, true},
+                {List.of(1), "mixed", 3, List.of()}
+        };
+        String[] names = {"name", "age", "admin", "tags"};
+        RecordArray records = RecordArray.of(names, columns);
+
+        List<Map<String, Object>> maps = new ArrayList<>();
+        for (int row = 0; row < 4; row++) {
+            Map<String, Object> map = new HashMap<>();
+            for (int i = 0; i < names.length; i++) {
+                map.put(names[i], columns[i][row]);
+            }
+            maps.add(map);
+        }
+
+        assertEquals(maps, records);
+        assertEquals(records, maps);
+        assertEquals(maps.toString(), records.toString());
+        assertEquals(maps.hashCode(), records.hashCode());
+        assertEquals(30, records.get(1).get("age"));
+    }
+
+    @Test
+    void filter_keeps_columnar_form() {
+        String program = """
+                         users = [{ name = "Alice", age = 25 }, { name = "Bob", age = 30 }, { name = "ALICE", age = 30 }];
+                         let rules = [{ type = "string", property = "name", value = "alice" }, { type = "int", property = "age", value = "30" }];
+                         let result = ZenFilter(users, rules);
+                         print(result);
+                         """;
+
+        String expected = """
+                          {name=ALICE, age=30}
+                          """;
+
+        assertEquals(expected, GLangInterpreter.execute(program));
+
+        InterpreterVisitor interpreter = new InterpreterVisitor(new SymbolTable());
+        RecordArray users = RecordArray.of(new String[]{"name", "age"}, new Object[][]{{"Alice", "Bob"}, {25, 30}});
+        assertInstanceOf(RecordArray.class, interpreter.zenFilter(users, List.of(Map.of("property", "age", "value", "30"))));
+    }
+}
@@ -0,0 +1,117 @@
+package edu.ktu.glang.interpreter;
+
+import edu.ktu.glang.interpreter.exception.GLangException;
+import edu.ktu.glang.interpreter.output.StringOutputSink;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecursionTest {
+
+    private static final String FUNCTIONS = """
+            func down(n) {
+                if (n == 0) {
+                    return 0;
+                }
+                return 1 + down(n - 1);
+            }
+            func count(n, total) {
+                if (n == 0) {
+                    return total;
+                }
+                return count(n - 1, total + 1);
+            }
+            func even(n) {
+                if (n == 0) {
+                    return 1;
+                }
+                return (odd(n - 1));
+            }
+            func odd(n) {
+                if (n == 0) {
+                    return 0;
+                }
+                return even(n - 1);
+            }
+            """;
+
+    @Test
+    void deep_recursion_runs_past_the_jvm_stack() {
+        String program = FUNCTIONS + """
+                                     print(down(50000));
+                                     """;
+
+        assertEquals("50000\n", GLangInterpreter.execute(program));
+    }
+
+    @Test
+    void running_out_of_a_small_thread_stack_is_reported() throws InterruptedException {
+        String program = FUNCTIONS + """
+                                     print(down(50000));
+                                     """;
+        // Parses the program into the cache, so the small thread only runs it
+        assertEquals("50000\n", GLangInterpreter.execute(program));
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        // The thread cannot hold the nested calls it makes before they move to a segment thread
+        Thread thread = new Thread(null, () -> {
+            try {
+                GLangInterpreter.execute(program);
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        }, "small-stack", 128 * 1024);
+        thread.start();
+        thread.join();
+
+        assertInstanceOf(GLangException.class, failure.get());
+        assertEquals("Stack overflow: too many nested calls.", failure.get().getMessage());
+    }
+
+    @Test
+    void repeated_deep_calls_reuse_segment_threads() {
+        String program = FUNCTIONS + """
+                                     int total = 0;
+                                     for (int i = 0; i < 2000; i++) {
+                                         total = total + down(100) + down(1000);
+                                     }
+                                     print(total);
+                                     """;
+
+        assertEquals("2200000\n", GLangInterpreter.execute(program));
+        long segments = Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().equals("glang-stack"))
+                .count();
+        assertTrue(segments < 10, segments + " segment threads");
+    }
+
+    @Test
+    void tail_calls_do_not_nest() {
+        String program = FUNCTIONS + """
+                                     print(count(1000000, 0));
+                                     print(even(300001));
+                                     """;
+
+        assertEquals("1000000\n0\n", GLangInterpreter.execute(program));
+        assertEquals("1000000\n", GLangInterpreter.executeCompiled(FUNCTIONS + "print(count(1000000, 0));"));
+    }
+
+    @Test
+    void frame_budget_limits_recursion() {
+        StringOutputSink output = new StringOutputSink();
+        InteractiveSession session = new InteractiveSession(output);
+        session.getInterpreter().getCallStack().setMaxDepth(1000);
+        session.execute(FUNCTIONS);
+
+        GLangException exception = assertThrows(GLangException.class, () -> session.execute("print(down(1000));"));
+        assertEquals("Stack overflow: more than 1000 nested calls in 'down'.", exception.getMessage());
+        assertEquals(0, session.getInterpreter().getCallStack().getDepth());
+        session.execute("print(down(999));");
+        session.execute("print(count(5000, 0));");
+        assertEquals("999\n5000\n", output.toString());
+    }
+}
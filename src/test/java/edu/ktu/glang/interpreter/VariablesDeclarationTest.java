@@ -1,5 +1,6 @@
 package edu.ktu.glang.interpreter;
 
+import edu.ktu.glang.interpreter.exception.GLangVariableNotDeclaredException;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -35,4 +36,54 @@ public class VariablesDeclarationTest {
                     GLangInterpreter.execute(program);
                 });
     }
+
+    @Test
+    void undeclared_boolean_assignment_throws_exception() {
+        String program = """
+                         flag = true;
+                         """;
+
+        assertThrows(GLangVariableNotDeclaredException.class, () -> GLangInterpreter.execute(program));
+        assertThrows(GLangVariableNotDeclaredException.class, () -> GLangInterpreter.executeCompiled(program));
+    }
+
+    @Test
+    void collection_can_be_assigned_to_a_new_variable() {
+        String program = """
+                         users = [{ name = "Alice", age = 25},
+                                  { name = "Bob", age = 26}];
+                         let rules = [{ type = "int", property = "age", value = "26"}];
+                         let found = ZenFilter(users, rules);
+                         print(found);
+                         """;
+
+        String expected = """
+                          {name=Bob, age=26}
+                          """;
+
+        assertEquals(expected, GLangInterpreter.execute(program));
+        assertEquals(expected, GLangInterpreter.executeCompiled(program));
+    }
+
+    @Test
+    void function_parameter_shadows_global_variable_only_when_read() {
+        String program = """
+                         int n = 10;
+                         func twice(n) {
+                             n = n * 2;
+                             n++;
+                             return n;
+                         }
+                         print(twice(3));
+                         print(n);
+                         """;
+
+        String expected = """
+                          3
+                          7
+                          """;
+
+        assertEquals(expected, GLangInterpreter.execute(program));
+        assertEquals(expected, GLangInterpreter.executeCompiled(program));
+    }
 }
@@ -0,0 +1,104 @@
+package edu.ktu.glang.interpreter;
+
+import edu.ktu.glang.interpreter.filter.ZenFilter;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ZenFilterTest {
+
+    @Test
+    void filter_matches_all_rules() {
+        String program = """
+                         users = [{ name = "Alice", age = 25 }, { name = "Bob", age = 25 }, { name = "alice", age = 30 }, { name = "Alice", age = 30 }];
+                         let rules = [{ type = "string", property = "name", value = "ALICE" }, { type = "int", property = "age", value = "30" }];
+                         let result = ZenFilter(users, rules);
+                         print(result);
+                         """;
+
+        String expected = """
+                          {name=alice, age=30}
+                          {name=Alice, age=30}
+                          """;
+
+        assertEquals(expected, GLangInterpreter.execute(program));
+    }
+
+    @Test
+    void indexed_filter_returns_same_records_as_scan() {
+        GLangArray<Map<String, Object>> users = new GLangArray<>();
+        for (int i = 0; i < 1000; i++) {
+            Map<String, Object> user = new HashMap<>();
+            user.put("name", i % 3 == 0 ? "User" + i % 10 : "USER" + i % 10);
+            user.put("age", i % 7 == 0 ? String.valueOf(i % 50) : i % 50);
+            user.put("active", i % 2 == 0);
+            users.add(user);
+        }
+        List<Map<String, Object>> rules = List.of(rule("age", "7"), rule("name", "user7"), rule("active", "false"));
+
+        ZenFilter scan = new ZenFilter();
+        scan.setIndexThreshold(Integer.MAX_VALUE);
+        ZenFilter indexed = new ZenFilter();
+        indexed.setIndexThreshold(0);
+
+        List<Map<String, Object>> expected = scan.filter(users, rules);
+        assertEquals(expected, indexed.filter(users, rules));
+        assertEquals(expected, indexed.filter(users, List.of(rules.get(2), rules.get(0), rules.get(1))));
+        assertEquals(20, expected.size());
+        assertSame(users.getIndex("age"), users.getIndex("age"));
+    }
+
+    @Test
+    void parallel_filter_keeps_input_order() {
+        GLangArray<Map<String, Object>> users = new GLangArray<>();
+        for (int i = 0; i < 50_000; i++) {
+            users.add(Map.of("id", i, "group", "g" + i % 3));
+        }
+        List<Map<String, Object>> rules = List.of(rule("group", "G1"));
+
+        ZenFilter sequential = new ZenFilter();
+        sequential.setIndexThreshold(Integer.MAX_VALUE);
+        sequential.setParallelThreshold(Integer.MAX_VALUE);
+        ZenFilter parallel = new ZenFilter();
+        parallel.setIndexThreshold(Integer.MAX_VALUE);
+        parallel.setParallelThreshold(0);
+
+        List<Map<String, Object>> expected = sequential.filter(users, rules);
+        assertEquals(expected, parallel.filter(users, rules));
+        assertEquals(16_667, expected.size());
+    }
+
+    @Test
+    void index_is_rebuilt_after_modification() {
+        GLangArray<Map<String, Object>> users = new GLangArray<>();
+        users.add(Map.of("name", "Alice"));
+        ZenFilter filter = new ZenFilter();
+        filter.setIndexThreshold(0);
+        List<Map<String, Object>> rules = List.of(rule("name", "bob"));
+
+        assertEquals(0, filter.filter(users, rules).size());
+        users.add(Map.of("name", "Bob"));
+        assertEquals(List.of(Map.of("name", "Bob")), filter.filter(users, rules));
+    }
+
+    @Test
+    void int_property_compared_with_text_throws_exception() {
+        String program = """
+                         users = [{ name = "Alice", age = 25 }];
+                         let rules = [{ type = "int", property = "age", value = "old" }];
+                         let result = ZenFilter(users, rules);
+                         """;
+
+        assertThrows(NumberFormatException.class, () -> GLangInterpreter.execute(program));
+    }
+
+    private static Map<String, Object> rule(String property, String value) {
+        return Map.of("type", "", "property", property, "value", value);
+    }
+}